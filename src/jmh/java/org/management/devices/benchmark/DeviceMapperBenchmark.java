@@ -0,0 +1,68 @@
+package org.management.devices.benchmark;
+
+import org.management.devices.domain.Device;
+import org.management.devices.domain.DeviceState;
+import org.management.devices.dto.DeviceCreateRequest;
+import org.management.devices.dto.DeviceResponse;
+import org.management.devices.mapper.DeviceMapper;
+import org.management.devices.mapper.DeviceMapperImpl;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.Instant;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * MapStruct conversions done once per request on every create and read path.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class DeviceMapperBenchmark {
+
+    private DeviceMapper mapper;
+    private DeviceCreateRequest request;
+    private DeviceCreateRequest requestWithoutState;
+    private Device device;
+
+    @Setup
+    public void setUp() {
+        mapper = new DeviceMapperImpl();
+        request = new DeviceCreateRequest("iPhone 15", "Apple", DeviceState.IN_USE);
+        requestWithoutState = new DeviceCreateRequest("iPhone 15", "Apple", null);
+        device = new Device();
+        device.setId(UUID.randomUUID());
+        device.setName("iPhone 15");
+        device.setBrand("Apple");
+        device.setState(DeviceState.AVAILABLE);
+        device.setCreatedAt(Instant.now());
+        device.setVersion(3L);
+    }
+
+    @Benchmark
+    public Device toEntity() {
+        return mapper.toEntity(request);
+    }
+
+    @Benchmark
+    public Device toEntityWithDefaultState() {
+        return mapper.toEntity(requestWithoutState);
+    }
+
+    @Benchmark
+    public DeviceResponse toResponse() {
+        return mapper.toResponse(device);
+    }
+}
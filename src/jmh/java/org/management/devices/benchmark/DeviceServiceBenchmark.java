@@ -0,0 +1,105 @@
+package org.management.devices.benchmark;
+
+import org.management.devices.domain.DeviceState;
+import org.management.devices.dto.DeviceCreateRequest;
+import org.management.devices.dto.DevicePage;
+import org.management.devices.dto.DeviceResponse;
+import org.management.devices.dto.DeviceUpdateRequest;
+import org.management.devices.index.DeviceBitmapIndex;
+import org.management.devices.mapper.DeviceMapperImpl;
+import org.management.devices.service.DeviceServiceImpl;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.beans.factory.support.StaticListableBeanFactory;
+
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link DeviceServiceImpl} operations over {@link InMemoryDeviceRepository}, without caching, events or a database,
+ * so the numbers cover mapping, cursor handling and the service's own logic. The store is reseeded before every
+ * iteration so write benchmarks do not drift the data set.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class DeviceServiceBenchmark {
+
+    private static final int BRANDS = 20;
+    private static final int PAGE_SIZE = 100;
+
+    @Param({"10000"})
+    public int devices;
+
+    private DeviceServiceImpl service;
+    private UUID[] ids;
+    private String secondPageCursor;
+    private int next;
+
+    @Setup(Level.Iteration)
+    public void seed() {
+        service = new DeviceServiceImpl(
+                InMemoryDeviceRepository.create(),
+                new DeviceMapperImpl(),
+                event -> {
+                },
+                new StaticListableBeanFactory().getBeanProvider(DeviceBitmapIndex.class));
+
+        DeviceState[] states = DeviceState.values();
+        ids = new UUID[devices];
+        for (int i = 0; i < devices; i++) {
+            ids[i] = service.create(new DeviceCreateRequest("Device " + i, "Brand-" + (i % BRANDS), states[i % states.length])).id();
+        }
+        secondPageCursor = service.getAll(null, PAGE_SIZE).nextCursor();
+        next = 0;
+    }
+
+    private UUID nextId() {
+        UUID id = ids[next];
+        next = (next + 1) % ids.length;
+        return id;
+    }
+
+    @Benchmark
+    public DeviceResponse getById() {
+        return service.getById(nextId());
+    }
+
+    @Benchmark
+    public DevicePage getAllFirstPage() {
+        return service.getAll(null, PAGE_SIZE);
+    }
+
+    @Benchmark
+    public DevicePage getAllAfterCursor() {
+        return service.getAll(secondPageCursor, PAGE_SIZE);
+    }
+
+    @Benchmark
+    public DevicePage getByBrandAndState() {
+        return service.getByBrandAndState("Brand-7", "available", null, PAGE_SIZE);
+    }
+
+    @Benchmark
+    public DeviceResponse create() {
+        return service.create(new DeviceCreateRequest("Benchmark device", "Brand-1", null));
+    }
+
+    @Benchmark
+    public DeviceResponse partialUpdate() {
+        return service.partialUpdate(nextId(), null, new DeviceUpdateRequest(null, null, DeviceState.INACTIVE));
+    }
+}
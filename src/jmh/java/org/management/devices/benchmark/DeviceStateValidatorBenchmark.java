@@ -0,0 +1,49 @@
+package org.management.devices.benchmark;
+
+import org.management.devices.domain.DeviceState;
+import org.management.devices.dto.DeviceCreateRequest;
+import org.management.devices.dto.ValidDeviceState;
+import org.management.devices.dto.ValidDeviceStateValidator;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link ValidDeviceStateValidator#isValid} runs for the state field of every create and update request.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class DeviceStateValidatorBenchmark {
+
+    @Param({"AVAILABLE", "INACTIVE", "NULL"})
+    public String state;
+
+    private ValidDeviceStateValidator validator;
+    private DeviceState value;
+
+    @Setup
+    public void setUp() throws NoSuchFieldException {
+        validator = new ValidDeviceStateValidator();
+        validator.initialize(DeviceCreateRequest.class.getDeclaredField("state").getAnnotation(ValidDeviceState.class));
+        value = state.equals("NULL") ? null : DeviceState.valueOf(state);
+    }
+
+    @Benchmark
+    public boolean isValid() {
+        return validator.isValid(value, null);
+    }
+}
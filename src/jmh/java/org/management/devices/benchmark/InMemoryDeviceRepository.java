@@ -0,0 +1,138 @@
+package org.management.devices.benchmark;
+
+import org.management.devices.domain.Device;
+import org.management.devices.domain.DeviceState;
+import org.management.devices.dto.DeviceResponse;
+import org.management.devices.repository.DeviceRepository;
+import org.management.devices.repository.DeviceRowChange;
+import org.springframework.data.domain.Pageable;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.time.Instant;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Optional;
+import java.util.TreeMap;
+import java.util.UUID;
+import java.util.function.Predicate;
+
+/**
+ * Heap-backed stand-in for {@link DeviceRepository}, so service benchmarks measure the service rather than a
+ * database. Only the methods {@code DeviceServiceImpl} calls are supported; they follow the semantics of the SQL
+ * they replace, including the IN_USE guard of the conditional update and delete.
+ */
+final class InMemoryDeviceRepository implements InvocationHandler {
+
+    private record Key(Instant createdAt, UUID id) {
+    }
+
+    private static final Comparator<Key> ORDER = Comparator.comparing(Key::createdAt).thenComparing(Key::id);
+
+    private final Map<UUID, Device> byId = new HashMap<>();
+    private final NavigableMap<Key, Device> byCreation = new TreeMap<>(ORDER);
+    private Instant clock = Instant.parse("2024-01-01T00:00:00Z");
+
+    static DeviceRepository create() {
+        return (DeviceRepository) Proxy.newProxyInstance(DeviceRepository.class.getClassLoader(),
+                new Class<?>[]{DeviceRepository.class}, new InMemoryDeviceRepository());
+    }
+
+    @Override
+    public Object invoke(Object proxy, Method method, Object[] args) {
+        return switch (method.getName()) {
+            case "save" -> save((Device) args[0]);
+            case "findResponseById" -> Optional.ofNullable(byId.get((UUID) args[0])).map(InMemoryDeviceRepository::toResponse);
+            case "existsById" -> byId.containsKey((UUID) args[0]);
+            case "findPage" -> page(null, null, (Pageable) args[0], device -> true);
+            case "findPageAfter" -> page((Instant) args[0], (UUID) args[1], (Pageable) args[2], device -> true);
+            case "findPageByBrand" -> page(null, null, (Pageable) args[1], brand((String) args[0]));
+            case "findPageByBrandAfter" -> page((Instant) args[1], (UUID) args[2], (Pageable) args[3], brand((String) args[0]));
+            case "findPageByState" -> page(null, null, (Pageable) args[1], state((DeviceState) args[0]));
+            case "findPageByStateAfter" -> page((Instant) args[1], (UUID) args[2], (Pageable) args[3], state((DeviceState) args[0]));
+            case "findPageByBrandAndState" -> page(null, null, (Pageable) args[2],
+                    brand((String) args[0]).and(state((DeviceState) args[1])));
+            case "findPageByBrandAndStateAfter" -> page((Instant) args[2], (UUID) args[3], (Pageable) args[4],
+                    brand((String) args[0]).and(state((DeviceState) args[1])));
+            case "updateIfMatches" -> updateIfMatches((UUID) args[0], (Long) args[1], (String) args[2], (String) args[3],
+                    (DeviceState) args[4]);
+            case "deleteIfNotInUse" -> deleteIfNotInUse((UUID) args[0]);
+            case "hashCode" -> System.identityHashCode(proxy);
+            case "equals" -> proxy == args[0];
+            case "toString" -> "InMemoryDeviceRepository";
+            default -> throw new UnsupportedOperationException(method.getName());
+        };
+    }
+
+    private Device save(Device device) {
+        if (device.getId() == null) {
+            device.setId(UUID.randomUUID());
+            clock = clock.plusMillis(1);
+            device.setCreatedAt(clock);
+            device.setVersion(0L);
+        }
+        byId.put(device.getId(), device);
+        byCreation.put(new Key(device.getCreatedAt(), device.getId()), device);
+        return device;
+    }
+
+    private List<DeviceResponse> page(Instant createdAt, UUID id, Pageable pageable, Predicate<Device> filter) {
+        NavigableMap<Key, Device> range = createdAt == null ? byCreation : byCreation.tailMap(new Key(createdAt, id), false);
+        return range.values().stream()
+                .filter(filter)
+                .limit(pageable.getPageSize())
+                .map(InMemoryDeviceRepository::toResponse)
+                .toList();
+    }
+
+    private Optional<DeviceRowChange> updateIfMatches(UUID id, Long expectedVersion, String name, String brand, DeviceState state) {
+        Device device = byId.get(id);
+        if (device == null || (expectedVersion != null && !expectedVersion.equals(device.getVersion()))) {
+            return Optional.empty();
+        }
+        boolean guarded = device.getState() == DeviceState.IN_USE
+                && ((name != null && !name.equals(device.getName())) || (brand != null && !brand.equals(device.getBrand())));
+        if (guarded) {
+            return Optional.empty();
+        }
+        DeviceResponse previous = toResponse(device);
+        if (name != null) {
+            device.setName(name);
+        }
+        if (brand != null) {
+            device.setBrand(brand);
+        }
+        if (state != null) {
+            device.setState(state);
+        }
+        device.setVersion(device.getVersion() + 1);
+        return Optional.of(new DeviceRowChange(previous, toResponse(device)));
+    }
+
+    private Optional<DeviceResponse> deleteIfNotInUse(UUID id) {
+        Device device = byId.get(id);
+        if (device == null || device.getState() == DeviceState.IN_USE) {
+            return Optional.empty();
+        }
+        byId.remove(id);
+        byCreation.remove(new Key(device.getCreatedAt(), id));
+        return Optional.of(toResponse(device));
+    }
+
+    private static Predicate<Device> brand(String brand) {
+        return device -> device.getBrand().equals(brand);
+    }
+
+    private static Predicate<Device> state(DeviceState state) {
+        return device -> device.getState() == state;
+    }
+
+    private static DeviceResponse toResponse(Device device) {
+        return new DeviceResponse(device.getId(), device.getName(), device.getBrand(), device.getState(),
+                device.getCreatedAt(), device.getVersion());
+    }
+}
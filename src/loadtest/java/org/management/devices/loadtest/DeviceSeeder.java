@@ -0,0 +1,58 @@
+package org.management.devices.loadtest;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Fills the devices table with generated rows. Rows are produced by {@code generate_series} inside the database,
+ * so seeding costs one statement per chunk rather than one round trip per device, and millions of devices take
+ * seconds to tens of seconds depending on the machine.
+ */
+@Slf4j
+final class DeviceSeeder {
+
+    private static final long CHUNK_SIZE = 500_000;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    DeviceSeeder(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /**
+     * Inserts {@code devices} devices spread evenly over {@code brands} brands and the three states, with creation
+     * times one millisecond apart.
+     */
+    void seed(long devices, int brands) {
+        long started = System.nanoTime();
+        for (long from = 1; from <= devices; from += CHUNK_SIZE) {
+            long to = Math.min(from + CHUNK_SIZE - 1, devices);
+            jdbcTemplate.update("""
+                    INSERT INTO devices (id, name, brand, state, created_at, version)
+                    SELECT gen_random_uuid(),
+                           'Device ' || n,
+                           'Brand-' || (n % ?),
+                           (ARRAY['AVAILABLE', 'IN_USE', 'INACTIVE'])[n % 3 + 1],
+                           TIMESTAMPTZ '2024-01-01 00:00:00+00' + n * INTERVAL '1 millisecond',
+                           0
+                    FROM generate_series(?::bigint, ?::bigint) AS n""", brands, from, to);
+            log.info("Seeded {} of {} devices", to, devices);
+        }
+        jdbcTemplate.execute("ANALYZE devices");
+        log.info("Seeded {} devices in {} ms", devices, (System.nanoTime() - started) / 1_000_000);
+    }
+
+    /**
+     * A random sample of up to {@code size} ids that are not IN_USE, used as targets of reads and patches.
+     */
+    List<UUID> sampleIds(long devices, int size) {
+        double percent = Math.min(100.0, 100.0 * size * 2 / Math.max(devices, 1));
+        return jdbcTemplate.queryForList("""
+                SELECT id FROM devices TABLESAMPLE BERNOULLI (?)
+                WHERE state <> 'IN_USE'
+                LIMIT ?""", UUID.class, percent, size);
+    }
+}
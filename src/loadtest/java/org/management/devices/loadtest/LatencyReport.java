@@ -0,0 +1,101 @@
+package org.management.devices.loadtest;
+
+import org.HdrHistogram.Histogram;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Map;
+
+/**
+ * Prints a percentile summary per operation and writes each full histogram as an {@code .hgrm} file (milliseconds),
+ * which the HdrHistogram plotter and most dashboards read directly.
+ * {@link #compare} sets the runs of several stacks side by side.
+ */
+final class LatencyReport {
+
+    private static final double NANOS_PER_MILLI = 1_000_000.0;
+
+    private LatencyReport() {
+    }
+
+    static void write(LoadHarnessOptions options, String stack, Path reportDir, WorkloadDriver driver,
+                      Map<Operation, Histogram> histograms, PrintStream out) throws IOException {
+        double seconds = options.duration().toMillis() / 1000.0;
+        out.printf("%n%s stack%n", stack);
+        out.printf("%-10s %10s %10s %9s %9s %9s %9s %9s %9s%n",
+                "operation", "requests", "req/s", "errors", "p50 ms", "p90 ms", "p99 ms", "p99.9 ms", "max ms");
+
+        long totalRequests = 0;
+        Files.createDirectories(reportDir);
+        for (Map.Entry<Operation, Histogram> entry : histograms.entrySet()) {
+            Operation operation = entry.getKey();
+            Histogram histogram = entry.getValue();
+            if (histogram.getTotalCount() == 0) {
+                continue;
+            }
+            totalRequests += histogram.getTotalCount();
+            out.printf("%-10s %10d %10.1f %9d %9.2f %9.2f %9.2f %9.2f %9.2f%n",
+                    operation.optionName(),
+                    histogram.getTotalCount(),
+                    histogram.getTotalCount() / seconds,
+                    driver.errors(operation),
+                    millis(histogram.getValueAtPercentile(50)),
+                    millis(histogram.getValueAtPercentile(90)),
+                    millis(histogram.getValueAtPercentile(99)),
+                    millis(histogram.getValueAtPercentile(99.9)),
+                    millis(histogram.getMaxValue()));
+
+            Path file = reportDir.resolve(operation.optionName() + ".hgrm");
+            try (PrintStream hgrm = new PrintStream(Files.newOutputStream(file))) {
+                histogram.outputPercentileDistribution(hgrm, NANOS_PER_MILLI);
+            }
+        }
+        out.printf("%ntotal %d requests, %.1f req/s with %d clients over %s; histograms in %s%n",
+                totalRequests, totalRequests / seconds, options.clients(), options.duration(), reportDir);
+    }
+
+    /**
+     * One row per operation and stack, so throughput and tail latency of the stacks can be read off next to each
+     * other. Every stack after the first is followed by its figures relative to the first one.
+     */
+    static void compare(LoadHarnessOptions options, Map<String, Map<Operation, Histogram>> results, PrintStream out) {
+        double seconds = options.duration().toMillis() / 1000.0;
+        out.printf("%ncomparison with %d clients over %s%n", options.clients(), options.duration());
+        out.printf("%-10s %-10s %10s %9s %9s %9s%n", "operation", "stack", "req/s", "p50 ms", "p99 ms", "p99.9 ms");
+        for (Operation operation : Operation.values()) {
+            Histogram baseline = null;
+            for (Map.Entry<String, Map<Operation, Histogram>> run : results.entrySet()) {
+                Histogram histogram = run.getValue().get(operation);
+                if (histogram == null || histogram.getTotalCount() == 0) {
+                    continue;
+                }
+                out.printf("%-10s %-10s %10.1f %9.2f %9.2f %9.2f%n",
+                        operation.optionName(),
+                        run.getKey(),
+                        histogram.getTotalCount() / seconds,
+                        millis(histogram.getValueAtPercentile(50)),
+                        millis(histogram.getValueAtPercentile(99)),
+                        millis(histogram.getValueAtPercentile(99.9)));
+                if (baseline == null) {
+                    baseline = histogram;
+                } else {
+                    out.printf("%-10s %-10s %9.2fx %8.2fx %8.2fx %8.2fx%n", "", "vs first",
+                            (double) histogram.getTotalCount() / baseline.getTotalCount(),
+                            ratio(histogram.getValueAtPercentile(50), baseline.getValueAtPercentile(50)),
+                            ratio(histogram.getValueAtPercentile(99), baseline.getValueAtPercentile(99)),
+                            ratio(histogram.getValueAtPercentile(99.9), baseline.getValueAtPercentile(99.9)));
+                }
+            }
+        }
+    }
+
+    private static double ratio(long value, long baseline) {
+        return baseline == 0 ? 0 : (double) value / baseline;
+    }
+
+    private static double millis(long nanos) {
+        return nanos / NANOS_PER_MILLI;
+    }
+}
@@ -0,0 +1,89 @@
+package org.management.devices.loadtest;
+
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+import lombok.extern.slf4j.Slf4j;
+import org.HdrHistogram.Histogram;
+import org.management.devices.DeviceManagementApiApplication;
+import org.management.devices.index.DeviceBitmapIndex;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.net.URI;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Offline end-to-end load test: starts an embedded PostgreSQL, boots the application against it on a random port,
+ * seeds the devices table and drives the workload described by {@link LoadHarnessOptions} over HTTP. Every run
+ * starts from a fresh database, so runs of different builds or configurations are comparable.
+ * <p>
+ * With several {@code --stacks} the whole cycle is repeated per stack and a side-by-side comparison is printed
+ * after the individual reports.
+ */
+@Slf4j
+public final class LoadHarness {
+
+    private static final int TARGET_SAMPLE_SIZE = 100_000;
+
+    private LoadHarness() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        LoadHarnessOptions options = LoadHarnessOptions.parse(args);
+
+        Map<String, Map<Operation, Histogram>> results = new LinkedHashMap<>();
+        for (String stack : options.stacks()) {
+            Path reportDir = options.stacks().size() > 1 ? options.reportDir().resolve(stack) : options.reportDir();
+            results.put(stack, run(options, stack, reportDir));
+        }
+        if (results.size() > 1) {
+            LatencyReport.compare(options, results, System.out);
+        }
+    }
+
+    private static Map<Operation, Histogram> run(LoadHarnessOptions options, String stack, Path reportDir) throws Exception {
+        try (EmbeddedPostgres postgres = EmbeddedPostgres.builder()
+                .setServerConfig("max_connections", "300")
+                .start()) {
+            List<String> appArgs = new ArrayList<>(List.of(
+                    "--spring.datasource.url=" + postgres.getJdbcUrl("postgres", "postgres"),
+                    "--spring.datasource.username=postgres",
+                    "--spring.datasource.password=",
+                    "--server.port=0",
+                    "--logging.level.root=WARN",
+                    "--logging.level.org.management.devices.loadtest=INFO"));
+            if (stack.equals(LoadHarnessOptions.REACTIVE)) {
+                appArgs.add("--spring.profiles.include=reactive");
+            }
+            // Later arguments win, so options given on the command line override the defaults above
+            appArgs.addAll(options.appArgs());
+
+            try (ConfigurableApplicationContext context =
+                         SpringApplication.run(DeviceManagementApiApplication.class, appArgs.toArray(String[]::new))) {
+                DeviceSeeder seeder = new DeviceSeeder(context.getBean(JdbcTemplate.class));
+                seeder.seed(options.devices(), options.brands());
+                // The bitmap index, when enabled, was built at startup from the still empty table
+                context.getBeanProvider(DeviceBitmapIndex.class).ifAvailable(DeviceBitmapIndex::rebuild);
+
+                List<UUID> targets = seeder.sampleIds(options.devices(), TARGET_SAMPLE_SIZE);
+                if (targets.isEmpty()) {
+                    throw new IllegalStateException("No devices to target; --devices must be positive");
+                }
+
+                int port = ((WebServerApplicationContext) context).getWebServer().getPort();
+                log.info("Driving {} clients against the {} stack on port {} ({} warmup, {} measured)",
+                        options.clients(), stack, port, options.warmup(), options.duration());
+                WorkloadDriver driver = new WorkloadDriver(URI.create("http://localhost:" + port), options, targets);
+                Map<Operation, Histogram> histograms = driver.run();
+                LatencyReport.write(options, stack, reportDir, driver, histograms, System.out);
+                return histograms;
+            }
+        }
+    }
+}
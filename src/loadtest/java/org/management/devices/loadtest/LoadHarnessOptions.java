@@ -0,0 +1,110 @@
+package org.management.devices.loadtest;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Command line of {@link LoadHarness}. Options are {@code --name=value}; {@code --spring.*}, {@code --devices.*}
+ * and {@code --server.*} options are handed to the application unchanged, e.g.
+ * {@code --spring.profiles.active=virtual-threads} to measure a configuration against the same baseline.
+ * {@code --stacks=servlet,reactive} runs the workload once per web stack, each against a freshly seeded database.
+ *
+ * @param devices   number of devices seeded before the run
+ * @param brands    number of distinct brands among the seeded devices
+ * @param clients   concurrent clients, each sending one request at a time
+ * @param warmup    load applied before latencies are recorded
+ * @param duration  measured run time
+ * @param mix       relative weight of each operation
+ * @param reportDir directory the per-operation {@code .hgrm} histograms are written to
+ * @param stacks    web stacks to measure, in order: {@code servlet} (Spring MVC and JDBC) and/or {@code reactive}
+ *                  (WebFlux and R2DBC, the reactive profile)
+ * @param appArgs   arguments passed to the application
+ */
+record LoadHarnessOptions(
+        long devices,
+        int brands,
+        int clients,
+        Duration warmup,
+        Duration duration,
+        Map<Operation, Integer> mix,
+        Path reportDir,
+        List<String> stacks,
+        List<String> appArgs
+) {
+
+    static final String SERVLET = "servlet";
+    static final String REACTIVE = "reactive";
+
+    private static final String DEFAULT_MIX = "getById:60,filter:25,create:8,patch:5,delete:2";
+
+    static LoadHarnessOptions parse(String[] args) {
+        long devices = 1_000_000;
+        int brands = 100;
+        int clients = 64;
+        Duration warmup = Duration.ofSeconds(15);
+        Duration duration = Duration.ofSeconds(60);
+        String mix = DEFAULT_MIX;
+        Path reportDir = Path.of("target", "loadtest");
+        List<String> stacks = List.of(SERVLET);
+        List<String> appArgs = new ArrayList<>();
+
+        for (String arg : args) {
+            int eq = arg.indexOf('=');
+            if (!arg.startsWith("--") || eq < 0) {
+                throw new IllegalArgumentException("Expected --name=value but got: " + arg);
+            }
+            String name = arg.substring(2, eq);
+            String value = arg.substring(eq + 1);
+            if (name.startsWith("spring.") || name.startsWith("devices.") || name.startsWith("server.")) {
+                appArgs.add(arg);
+                continue;
+            }
+            switch (name) {
+                case "devices" -> devices = Long.parseLong(value);
+                case "brands" -> brands = Integer.parseInt(value);
+                case "clients" -> clients = Integer.parseInt(value);
+                case "warmup" -> warmup = Duration.parse("PT" + value.toUpperCase());
+                case "duration" -> duration = Duration.parse("PT" + value.toUpperCase());
+                case "mix" -> mix = value;
+                case "report-dir" -> reportDir = Path.of(value);
+                case "stacks" -> stacks = parseStacks(value);
+                default -> throw new IllegalArgumentException("Unknown option: --" + name);
+            }
+        }
+        return new LoadHarnessOptions(devices, brands, clients, warmup, duration, parseMix(mix), reportDir, stacks, appArgs);
+    }
+
+    private static List<String> parseStacks(String value) {
+        List<String> stacks = new ArrayList<>();
+        for (String stack : value.split(",")) {
+            String name = stack.trim();
+            if (!name.equals(SERVLET) && !name.equals(REACTIVE)) {
+                throw new IllegalArgumentException("Unknown stack '" + name + "' in --stacks; valid stacks: servlet, reactive");
+            }
+            stacks.add(name);
+        }
+        return stacks;
+    }
+
+    /**
+     * Parses {@code getById:60,filter:25,...}; operations that are not listed get weight 0.
+     */
+    private static Map<Operation, Integer> parseMix(String mix) {
+        Map<Operation, Integer> weights = new EnumMap<>(Operation.class);
+        for (String entry : mix.split(",")) {
+            String[] parts = entry.trim().split(":");
+            if (parts.length != 2) {
+                throw new IllegalArgumentException("Expected operation:weight in --mix but got: " + entry);
+            }
+            weights.put(Operation.fromName(parts[0]), Integer.parseInt(parts[1]));
+        }
+        if (weights.values().stream().mapToInt(Integer::intValue).sum() <= 0) {
+            throw new IllegalArgumentException("--mix needs at least one operation with a positive weight");
+        }
+        return weights;
+    }
+}
@@ -0,0 +1,32 @@
+package org.management.devices.loadtest;
+
+import java.util.Arrays;
+
+/**
+ * The request types of the workload, named as in {@code --mix}.
+ */
+enum Operation {
+    GET_BY_ID("getById"),
+    FILTER("filter"),
+    CREATE("create"),
+    PATCH("patch"),
+    DELETE("delete");
+
+    private final String optionName;
+
+    Operation(String optionName) {
+        this.optionName = optionName;
+    }
+
+    String optionName() {
+        return optionName;
+    }
+
+    static Operation fromName(String name) {
+        return Arrays.stream(values())
+                .filter(operation -> operation.optionName.equals(name))
+                .findFirst()
+                .orElseThrow(() -> new IllegalArgumentException("Unknown operation '" + name + "'; valid operations: "
+                        + Arrays.stream(values()).map(Operation::optionName).toList()));
+    }
+}
@@ -0,0 +1,179 @@
+package org.management.devices.loadtest;
+
+import lombok.extern.slf4j.Slf4j;
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.Recorder;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Closed-loop workload: every client is a virtual thread that sends one request, waits for the response and sends
+ * the next, picking the operation by the weights of {@code --mix}. Latencies of the measured phase are recorded per
+ * operation in HdrHistograms; warmup requests are sent but not recorded.
+ * <p>
+ * Deletes only target devices the workload created itself, so reads and patches keep hitting existing devices.
+ * When no such device is left, the delete slot is spent on a create instead.
+ */
+@Slf4j
+final class WorkloadDriver {
+
+    private static final Pattern ID = Pattern.compile("\"id\"\\s*:\\s*\"([0-9a-f-]{36})\"");
+    private static final String[] STATES = {"AVAILABLE", "INACTIVE"};
+
+    private final HttpClient client;
+    private final URI baseUri;
+    private final LoadHarnessOptions options;
+    private final List<UUID> targets;
+    private final Operation[] schedule;
+
+    private final Map<Operation, Recorder> recorders = new EnumMap<>(Operation.class);
+    private final Map<Operation, LongAdder> errors = new EnumMap<>(Operation.class);
+    private final Queue<UUID> created = new ConcurrentLinkedQueue<>();
+    private volatile boolean recording;
+
+    WorkloadDriver(URI baseUri, LoadHarnessOptions options, List<UUID> targets) {
+        this.client = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .executor(Executors.newVirtualThreadPerTaskExecutor())
+                .build();
+        this.baseUri = baseUri;
+        this.options = options;
+        this.targets = targets;
+        this.schedule = schedule(options.mix());
+        for (Operation operation : Operation.values()) {
+            recorders.put(operation, new Recorder(3));
+            errors.put(operation, new LongAdder());
+        }
+    }
+
+    /**
+     * Runs warmup and measurement and returns the measured histogram of every operation.
+     */
+    Map<Operation, Histogram> run() throws InterruptedException {
+        long warmupEnd = System.nanoTime() + options.warmup().toNanos();
+        long end = warmupEnd + options.duration().toNanos();
+
+        try (ExecutorService clients = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < options.clients(); i++) {
+                clients.submit(() -> clientLoop(end));
+            }
+            sleepUntil(warmupEnd);
+            for (Recorder recorder : recorders.values()) {
+                recorder.reset();
+            }
+            recording = true;
+            log.info("Warmup finished; measuring for {}", options.duration());
+        }
+
+        Map<Operation, Histogram> histograms = new EnumMap<>(Operation.class);
+        recorders.forEach((operation, recorder) -> histograms.put(operation, recorder.getIntervalHistogram()));
+        return histograms;
+    }
+
+    long errors(Operation operation) {
+        return errors.get(operation).sum();
+    }
+
+    private void clientLoop(long end) {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        while (System.nanoTime() < end) {
+            Operation operation = schedule[random.nextInt(schedule.length)];
+            UUID deleteTarget = null;
+            if (operation == Operation.DELETE) {
+                deleteTarget = created.poll();
+                if (deleteTarget == null) {
+                    operation = Operation.CREATE;
+                }
+            }
+
+            HttpRequest request = request(operation, deleteTarget, random);
+            long started = System.nanoTime();
+            try {
+                HttpResponse<String> response = client.send(request, HttpResponse.BodyHandlers.ofString());
+                long latency = System.nanoTime() - started;
+                if (response.statusCode() >= 400) {
+                    errors.get(operation).increment();
+                } else if (operation == Operation.CREATE) {
+                    Matcher id = ID.matcher(response.body());
+                    if (id.find()) {
+                        created.add(UUID.fromString(id.group(1)));
+                    }
+                }
+                if (recording) {
+                    recorders.get(operation).recordValue(latency);
+                }
+            } catch (IOException e) {
+                errors.get(operation).increment();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+    }
+
+    private HttpRequest request(Operation operation, UUID deleteTarget, ThreadLocalRandom random) {
+        return switch (operation) {
+            case GET_BY_ID -> HttpRequest.newBuilder(uri("/devices/" + randomTarget(random))).GET().build();
+            case FILTER -> HttpRequest.newBuilder(uri("/devices?brand=Brand-" + random.nextInt(options.brands())
+                    + "&state=" + STATES[random.nextInt(STATES.length)] + "&limit=50")).GET().build();
+            case CREATE -> json(HttpRequest.newBuilder(uri("/devices")), "POST",
+                    "{\"name\":\"Load device\",\"brand\":\"Brand-" + random.nextInt(options.brands()) + "\"}");
+            case PATCH -> json(HttpRequest.newBuilder(uri("/devices/" + randomTarget(random))), "PATCH",
+                    "{\"state\":\"" + STATES[random.nextInt(STATES.length)] + "\"}");
+            case DELETE -> HttpRequest.newBuilder(uri("/devices/" + deleteTarget)).DELETE().build();
+        };
+    }
+
+    private HttpRequest json(HttpRequest.Builder builder, String method, String body) {
+        return builder.header("Content-Type", "application/json")
+                .method(method, HttpRequest.BodyPublishers.ofString(body))
+                .build();
+    }
+
+    private URI uri(String path) {
+        return baseUri.resolve(path);
+    }
+
+    private UUID randomTarget(ThreadLocalRandom random) {
+        return targets.get(random.nextInt(targets.size()));
+    }
+
+    /**
+     * Expands the weights into a lookup table so picking an operation is a single random index.
+     */
+    private static Operation[] schedule(Map<Operation, Integer> mix) {
+        int total = mix.values().stream().mapToInt(Integer::intValue).sum();
+        Operation[] schedule = new Operation[total];
+        int i = 0;
+        for (Map.Entry<Operation, Integer> entry : mix.entrySet()) {
+            for (int n = 0; n < entry.getValue(); n++) {
+                schedule[i++] = entry.getKey();
+            }
+        }
+        return schedule;
+    }
+
+    private static void sleepUntil(long deadline) throws InterruptedException {
+        long remaining = deadline - System.nanoTime();
+        if (remaining > 0) {
+            Thread.sleep(Duration.ofNanos(remaining));
+        }
+    }
+}
@@ -0,0 +1,32 @@
+package org.management.devices.cache;
+
+import lombok.RequiredArgsConstructor;
+import org.management.devices.config.CacheConfig;
+import org.management.devices.event.DeviceChangeEvent;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+/**
+ * Keeps the device cache in line with committed writes, whichever path made them (single, batch or bulk): every
+ * changed device is evicted and reloaded by its next lookup.
+ * <p>
+ * The changed row is not written through. After-commit listeners of concurrent writes to one device run on their
+ * request threads in any order, so a late event could overwrite a newer row, or cache a deleted device again, for
+ * the whole TTL. Evictions commute; whichever order they run in, the next lookup reads the committed row.
+ */
+@Component
+@RequiredArgsConstructor
+public class DeviceCacheSynchronizer {
+
+    private final CacheManager cacheManager;
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onDeviceChange(DeviceChangeEvent event) {
+        Cache cache = cacheManager.getCache(CacheConfig.DEVICES_CACHE);
+        if (cache != null) {
+            cache.evict(event.deviceId());
+        }
+    }
+}
@@ -0,0 +1,176 @@
+package org.management.devices.cache;
+
+import lombok.extern.slf4j.Slf4j;
+import org.management.devices.config.CacheConfig;
+import org.management.devices.config.DeviceInvalidationProperties;
+import org.management.devices.datasource.ReadYourWrites;
+import org.management.devices.dto.DeviceResponse;
+import org.management.devices.index.DeviceBitmapIndex;
+import org.management.devices.repository.DeviceRepository;
+import org.postgresql.PGConnection;
+import org.postgresql.PGNotification;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.stereotype.Component;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.LinkedHashSet;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Keeps the in-process device cache and bitmap index of every node in line with the writes of the others.
+ * <p>
+ * Each committed change sends a {@code NOTIFY} carrying the device id and this node's {@link #nodeId()}, from within
+ * the writing transaction so it is delivered exactly when the change commits: {@link DeviceInvalidationPublisher}
+ * sends it for the JDBC services, the reactive service over R2DBC. Every node holds one dedicated connection, outside
+ * the pool, that {@code LISTEN}s on the channel: other nodes' changes evict the device from the cache and reload it
+ * into the bitmap index from the primary. The payload carries no brand or state, so they also invalidate every
+ * rendered list page. Changes of this node are skipped, its listeners already applied them.
+ * <p>
+ * Notifications sent while the listener is disconnected are lost, so after every reconnect the cache is cleared and
+ * the index rebuilt. Fleet statistics are not refreshed per notification; their periodic recount covers other nodes.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(prefix = "devices.invalidation", name = "enabled", havingValue = "true")
+public class DeviceInvalidationBus implements SmartLifecycle {
+
+    private final String nodeId = UUID.randomUUID().toString();
+
+    private final DeviceRepository deviceRepository;
+
+    private final CacheManager cacheManager;
+
+    private final ObjectProvider<DeviceBitmapIndex> bitmapIndex;
+
+    private final DeviceListGenerations listGenerations;
+
+    private final DataSourceProperties dataSourceProperties;
+
+    private final DeviceInvalidationProperties properties;
+
+    private volatile boolean running;
+
+    private Thread listener;
+
+    public DeviceInvalidationBus(DeviceRepository deviceRepository, CacheManager cacheManager,
+                                 ObjectProvider<DeviceBitmapIndex> bitmapIndex, DeviceListGenerations listGenerations,
+                                 DataSourceProperties dataSourceProperties, DeviceInvalidationProperties properties) {
+        this.deviceRepository = deviceRepository;
+        this.cacheManager = cacheManager;
+        this.bitmapIndex = bitmapIndex;
+        this.listGenerations = listGenerations;
+        this.dataSourceProperties = dataSourceProperties;
+        this.properties = properties;
+    }
+
+    /**
+     * Origin of this node's notifications; the listener skips them.
+     */
+    public String nodeId() {
+        return nodeId;
+    }
+
+    @Override
+    public void start() {
+        running = true;
+        listener = Thread.ofPlatform().daemon().name("device-invalidation-listener").start(this::listen);
+    }
+
+    @Override
+    public void stop() {
+        running = false;
+        listener.interrupt();
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    private void listen() {
+        boolean reconnecting = false;
+        while (running) {
+            try (Connection connection = DriverManager.getConnection(dataSourceProperties.determineUrl(),
+                    dataSourceProperties.determineUsername(), dataSourceProperties.determinePassword())) {
+                try (Statement statement = connection.createStatement()) {
+                    statement.execute("LISTEN \"" + properties.channel().replace("\"", "\"\"") + "\"");
+                }
+                if (reconnecting) {
+                    flushAll();
+                    log.info("Device invalidation listener reconnected; local caches flushed");
+                }
+                reconnecting = true;
+
+                PGConnection notifications = connection.unwrap(PGConnection.class);
+                int timeoutMillis = (int) properties.pollTimeout().toMillis();
+                while (running) {
+                    PGNotification[] received = notifications.getNotifications(timeoutMillis);
+                    if (received != null && received.length > 0) {
+                        invalidate(received);
+                    }
+                }
+            } catch (SQLException | RuntimeException e) {
+                if (!running) {
+                    return;
+                }
+                log.warn("Device invalidation listener failed; reconnecting in {}", properties.reconnectDelay(), e);
+                reconnecting = true;
+                try {
+                    Thread.sleep(properties.reconnectDelay());
+                } catch (InterruptedException interrupted) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+            }
+        }
+    }
+
+    private void invalidate(PGNotification[] notifications) {
+        Set<UUID> changed = new LinkedHashSet<>();
+        for (PGNotification notification : notifications) {
+            String payload = notification.getParameter();
+            int separator = payload.indexOf(':');
+            if (separator > 0 && !payload.substring(0, separator).equals(nodeId)) {
+                changed.add(UUID.fromString(payload.substring(separator + 1)));
+            }
+        }
+        if (changed.isEmpty()) {
+            return;
+        }
+        listGenerations.invalidateAll();
+
+        Cache cache = cacheManager.getCache(CacheConfig.DEVICES_CACHE);
+        DeviceBitmapIndex index = bitmapIndex.getIfAvailable();
+        for (UUID id : changed) {
+            if (cache != null) {
+                cache.evict(id);
+            }
+            if (index != null) {
+                // A replica may not have replayed the change yet
+                DeviceResponse current = ReadYourWrites.onPrimary(() -> deviceRepository.findResponseById(id)).orElse(null);
+                index.refresh(id, current);
+            }
+        }
+    }
+
+    private void flushAll() {
+        listGenerations.invalidateAll();
+        Cache cache = cacheManager.getCache(CacheConfig.DEVICES_CACHE);
+        if (cache != null) {
+            cache.clear();
+        }
+        DeviceBitmapIndex index = bitmapIndex.getIfAvailable();
+        if (index != null) {
+            index.rebuild();
+        }
+    }
+}
@@ -0,0 +1,37 @@
+package org.management.devices.cache;
+
+import org.management.devices.config.DeviceInvalidationProperties;
+import org.management.devices.event.BeforeCommitBatcher;
+import org.management.devices.event.DeviceChangeEvent;
+import org.management.devices.repository.DeviceNotificationRepository;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashSet;
+import java.util.UUID;
+
+/**
+ * Sends the {@link DeviceInvalidationBus} notifications of the JDBC services' changes, as one statement just before
+ * the writing transaction commits. The reactive profile has no JDBC transaction to join; its service sends them in
+ * its R2DBC transaction instead.
+ */
+@Component
+@ConditionalOnProperty(prefix = "devices.invalidation", name = "enabled", havingValue = "true")
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+public class DeviceInvalidationPublisher {
+
+    private final BeforeCommitBatcher<UUID> pending;
+
+    public DeviceInvalidationPublisher(DeviceNotificationRepository notificationRepository,
+                                       DeviceInvalidationBus invalidationBus, DeviceInvalidationProperties properties) {
+        this.pending = new BeforeCommitBatcher<>(ids -> notificationRepository.notifyChanged(
+                properties.channel(), invalidationBus.nodeId(), new LinkedHashSet<>(ids)));
+    }
+
+    @EventListener
+    public void onDeviceChange(DeviceChangeEvent event) {
+        pending.add(event.deviceId());
+    }
+}
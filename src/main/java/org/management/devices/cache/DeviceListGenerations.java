@@ -0,0 +1,94 @@
+package org.management.devices.cache;
+
+import org.management.devices.domain.DeviceState;
+import org.management.devices.dto.DeviceResponse;
+import org.management.devices.event.DeviceChangeEvent;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * A change counter per list filter of {@code GET /devices}: no filter, brand, state, and brand and state. A committed
+ * change moves the counters of exactly the filters its device matched before or matches after it, so anything
+ * derived from a filter's result is current as long as its generation is.
+ * <p>
+ * A reader takes the generation <em>before</em> it queries. If a change commits while it runs, the result is tagged
+ * with the older generation and is stale from the start, never the other way round. Counters only exist for brands
+ * and states that were written, so arbitrary filters in requests cannot grow the map.
+ * <p>
+ * Counters start over with every process. Anything handed out beyond it, such as an entity tag, must be qualified by
+ * the {@link #epoch() epoch} so a restarted node cannot mistake an old generation for its own.
+ */
+@Component
+public class DeviceListGenerations {
+
+    private final Map<ListFilter, AtomicLong> generations = new ConcurrentHashMap<>();
+
+    /**
+     * Moved by {@link #invalidateAll()}; part of every filter's generation.
+     */
+    private final AtomicLong global = new AtomicLong();
+
+    private final String epoch = Long.toHexString(ThreadLocalRandom.current().nextLong() & Long.MAX_VALUE);
+
+    public long generation(String brand, DeviceState state) {
+        AtomicLong counter = generations.get(new ListFilter(brand, state));
+        return global.get() + (counter != null ? counter.get() : 0);
+    }
+
+    /**
+     * The generation of a filter as given in a request, where empty means absent; {@code null} when {@code state} is
+     * not a {@link DeviceState}, which no list can be derived from.
+     */
+    public Long generationOf(String brand, String state) {
+        DeviceState stateFilter;
+        try {
+            stateFilter = state != null && !state.isEmpty() ? DeviceState.valueOf(state.toUpperCase()) : null;
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+        return generation(brand != null && !brand.isEmpty() ? brand : null, stateFilter);
+    }
+
+    /**
+     * Random per process; distinguishes this process's generations from those of earlier runs and other nodes.
+     */
+    public String epoch() {
+        return epoch;
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onDeviceChange(DeviceChangeEvent event) {
+        if (event.previous() != null) {
+            advance(event.previous());
+        }
+        if (event.current() != null) {
+            advance(event.current());
+        }
+    }
+
+    /**
+     * For changes whose devices are unknown, such as another node's writes.
+     */
+    public void invalidateAll() {
+        global.incrementAndGet();
+    }
+
+    private void advance(DeviceResponse device) {
+        advance(new ListFilter(null, null));
+        advance(new ListFilter(device.brand(), null));
+        advance(new ListFilter(null, device.state()));
+        advance(new ListFilter(device.brand(), device.state()));
+    }
+
+    private void advance(ListFilter filter) {
+        generations.computeIfAbsent(filter, key -> new AtomicLong()).incrementAndGet();
+    }
+
+    private record ListFilter(String brand, DeviceState state) {
+    }
+}
@@ -0,0 +1,119 @@
+package org.management.devices.cache;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.management.devices.config.DeviceListCacheProperties;
+import org.management.devices.config.DeviceReplicaProperties;
+import org.management.devices.datasource.ReadYourWrites;
+import org.management.devices.domain.DeviceState;
+import org.management.devices.dto.DevicePage;
+import org.management.devices.dto.DeviceResponse;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.List;
+import java.util.function.Supplier;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Holds {@code GET /devices} pages as rendered JSON, plus a gzip variant, per brand, state, cursor and page size. A
+ * hit is written to the response as is: no query, no mapping, no serialization, no compression.
+ * <p>
+ * Every segment remembers the {@link DeviceListGenerations generation} of its filter from before it was loaded and
+ * is only served while that generation is current. A write therefore invalidates exactly the segments of the
+ * filters its device matched before or after it; segments of other brands and states stay valid. Invalidated
+ * segments are not removed eagerly but replaced on their next request, or evicted by size and age.
+ * <p>
+ * With read replicas, segments are loaded on the primary. A replica may not have replayed a change its filter's
+ * generation already counts, and a segment read from it would be served, and tagged, as current to every client,
+ * including those pinned to the primary by their own writes.
+ */
+@Component
+@ConditionalOnProperty(prefix = "devices.list-cache", name = "enabled", havingValue = "true")
+public class DeviceListSegmentCache {
+
+    private static final TypeReference<List<DeviceResponse>> DEVICE_LIST = new TypeReference<>() {
+    };
+
+    private final DeviceListGenerations generations;
+
+    private final ObjectWriter writer;
+
+    private final boolean loadOnPrimary;
+
+    private final Cache<SegmentKey, Segment> segments;
+
+    public DeviceListSegmentCache(DeviceListGenerations generations, ObjectMapper objectMapper,
+                                  DeviceListCacheProperties properties, DeviceReplicaProperties replicaProperties,
+                                  MeterRegistry registry) {
+        this.generations = generations;
+        this.loadOnPrimary = replicaProperties.enabled();
+        this.writer = objectMapper.writerFor(DEVICE_LIST);
+        this.segments = Caffeine.newBuilder()
+                .maximumWeight(properties.maxSize().toBytes())
+                .weigher((SegmentKey key, Segment segment) -> segment.json().length + segment.gzip().length)
+                .expireAfterWrite(properties.ttl())
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(registry, segments, "devices.list");
+    }
+
+    /**
+     * Returns the current segment of the page, rendering it from {@code loader} when there is none. {@code brand}
+     * and {@code state} are the request's filters; a state that is not a {@link DeviceState} is never cached and
+     * left to the loader to reject.
+     */
+    public Segment get(String brand, String state, String cursor, int limit, Supplier<DevicePage> loader) {
+        Long generation = generations.generationOf(brand, state);
+        if (generation == null) {
+            return render(loader.get(), -1);
+        }
+
+        SegmentKey key = new SegmentKey(brand != null ? brand : "", state != null ? state.toUpperCase() : "",
+                cursor != null ? cursor : "", limit);
+        Segment segment = segments.getIfPresent(key);
+        if (segment != null && segment.generation() == generation) {
+            return segment;
+        }
+        segment = render(loadOnPrimary ? ReadYourWrites.onPrimary(loader) : loader.get(), generation);
+        segments.put(key, segment);
+        return segment;
+    }
+
+    private Segment render(DevicePage page, long generation) {
+        try {
+            byte[] json = writer.writeValueAsBytes(page.items());
+            return new Segment(json, gzip(json), page.nextCursor(), generation);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static byte[] gzip(byte[] json) throws IOException {
+        ByteArrayOutputStream compressed = new ByteArrayOutputStream(Math.max(json.length / 4, 64));
+        try (GZIPOutputStream out = new GZIPOutputStream(compressed)) {
+            out.write(json);
+        }
+        return compressed.toByteArray();
+    }
+
+    /**
+     * @param json       the page's devices as a JSON array
+     * @param gzip       {@code json}, gzip-compressed
+     * @param nextCursor cursor of the next page, or {@code null} on the last page
+     * @param generation generation of the filter the page was loaded at, {@code -1} for a page that is not cached
+     */
+    public record Segment(byte[] json, byte[] gzip, String nextCursor, long generation) {
+    }
+
+    private record SegmentKey(String brand, String state, String cursor, int limit) {
+    }
+}
@@ -0,0 +1,25 @@
+package org.management.devices.config;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+@EnableCaching
+public class CacheConfig {
+
+    public static final String DEVICES_CACHE = "devices";
+
+    @Bean
+    public CacheManager cacheManager(DeviceCacheProperties properties) {
+        CaffeineCacheManager cacheManager = new CaffeineCacheManager(DEVICES_CACHE);
+        cacheManager.setCaffeine(Caffeine.newBuilder()
+                .maximumSize(properties.maxSize())
+                .expireAfterWrite(properties.ttl())
+                .recordStats());
+        return cacheManager;
+    }
+}
@@ -0,0 +1,16 @@
+package org.management.devices.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+/**
+ * Limits of {@code POST /devices/batch} and {@code PATCH /devices/bulk}.
+ *
+ * @param chunkSize number of devices inserted per transaction; each chunk is flushed as JDBC batches
+ * @param maxItems  largest batch accepted in a single request; also caps the id list of {@code PATCH /devices/bulk}
+ */
+@ConfigurationProperties("devices.batch")
+public record DeviceBatchProperties(
+        @DefaultValue("1000") int chunkSize,
+        @DefaultValue("100000") int maxItems
+) {}
@@ -0,0 +1,18 @@
+package org.management.devices.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+/**
+ * Sizing of the in-process {@code DeviceResponse} cache in front of {@code GET /devices/{id}}.
+ *
+ * @param maxSize maximum number of cached devices before least-recently-used entries are evicted
+ * @param ttl     time after a write at which an entry expires, bounding staleness against other writers
+ */
+@ConfigurationProperties("devices.cache")
+public record DeviceCacheProperties(
+        @DefaultValue("10000") long maxSize,
+        @DefaultValue("5m") Duration ttl
+) {}
@@ -0,0 +1,24 @@
+package org.management.devices.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+/**
+ * Admission control for {@code /devices} requests, see {@code ConcurrencyLimitFilter}.
+ *
+ * @param enabled               whether requests are admitted through the limiter at all
+ * @param maxConcurrentRequests requests allowed to run at once, including async ones until they complete; size it to a
+ *                              small multiple of the connection pool
+ * @param maxEventStreams       open {@code GET /devices/events} subscriptions, which hold no connection and are not
+ *                              counted as requests
+ * @param acquireTimeout        how long a request may wait for admission before it is answered with 503
+ */
+@ConfigurationProperties("devices.concurrency")
+public record DeviceConcurrencyProperties(
+        @DefaultValue("false") boolean enabled,
+        @DefaultValue("80") int maxConcurrentRequests,
+        @DefaultValue("1000") int maxEventStreams,
+        @DefaultValue("2s") Duration acquireTimeout
+) {}
@@ -0,0 +1,20 @@
+package org.management.devices.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+/**
+ * Change feed served by {@code GET /devices/events}, see {@code DeviceEventFeed}.
+ *
+ * @param subscriberBufferSize events queued per subscriber; a subscriber that falls further behind is disconnected
+ * @param replayCapacity       most recent events kept for subscribers resuming with {@code Last-Event-ID}
+ * @param heartbeatInterval    idle time after which a comment is sent, so dead connections are noticed
+ */
+@ConfigurationProperties("devices.events")
+public record DeviceEventFeedProperties(
+        @DefaultValue("256") int subscriberBufferSize,
+        @DefaultValue("10000") int replayCapacity,
+        @DefaultValue("15s") Duration heartbeatInterval
+) {}
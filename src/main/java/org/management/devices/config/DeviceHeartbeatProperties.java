@@ -0,0 +1,23 @@
+package org.management.devices.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+/**
+ * Write-behind of device heartbeats into {@code devices.last_seen_at}, see {@code DeviceHeartbeatBuffer}.
+ *
+ * @param flushInterval how often buffered heartbeats are written; bounds how far {@code last_seen_at} lags behind
+ * @param batchSize     devices per {@code UPDATE} statement
+ * @param stripes       independently locked partitions of the buffer; rounded up to a power of two
+ * @param maxPending    devices the buffer holds at most; heartbeats of further devices are dropped until a flush
+ *                      makes room
+ */
+@ConfigurationProperties("devices.heartbeat")
+public record DeviceHeartbeatProperties(
+        @DefaultValue("1s") Duration flushInterval,
+        @DefaultValue("1000") int batchSize,
+        @DefaultValue("64") int stripes,
+        @DefaultValue("1000000") int maxPending
+) {}
@@ -0,0 +1,22 @@
+package org.management.devices.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+/**
+ * Cross-node invalidation of the in-process device cache and bitmap index, see {@code DeviceInvalidationBus}.
+ *
+ * @param enabled        send a {@code NOTIFY} for every committed device change and listen for other nodes' changes
+ * @param channel        PostgreSQL notification channel shared by all nodes
+ * @param pollTimeout    how long the listener waits for notifications before checking whether it should stop
+ * @param reconnectDelay pause before the listener reconnects after losing its connection
+ */
+@ConfigurationProperties("devices.invalidation")
+public record DeviceInvalidationProperties(
+        @DefaultValue("false") boolean enabled,
+        @DefaultValue("device_changes") String channel,
+        @DefaultValue("1s") Duration pollTimeout,
+        @DefaultValue("5s") Duration reconnectDelay
+) {}
@@ -0,0 +1,22 @@
+package org.management.devices.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+import org.springframework.util.unit.DataSize;
+
+import java.time.Duration;
+
+/**
+ * Pre-rendered {@code GET /devices} pages, see {@code DeviceListSegmentCache}.
+ *
+ * @param enabled whether list pages are served from rendered segments
+ * @param maxSize upper bound of the JSON and gzip bytes held, after which least-recently-used segments are evicted
+ * @param ttl     time after rendering at which a segment expires, bounding staleness against writes of other nodes
+ *                and lagging replicas
+ */
+@ConfigurationProperties("devices.list-cache")
+public record DeviceListCacheProperties(
+        @DefaultValue("false") boolean enabled,
+        @DefaultValue("64MB") DataSize maxSize,
+        @DefaultValue("5m") Duration ttl
+) {}
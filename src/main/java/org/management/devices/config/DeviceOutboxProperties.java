@@ -0,0 +1,26 @@
+package org.management.devices.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.nio.file.Path;
+import java.time.Duration;
+
+/**
+ * Transactional outbox relaying device changes to other systems, see {@code DeviceOutboxRelay}.
+ *
+ * @param enabled      record every device change in {@code device_outbox} and relay it
+ * @param sink         {@code log} or {@code file}; any other value expects an application-provided
+ *                     {@code DeviceOutboxSink} bean
+ * @param batchSize    outbox rows claimed, handed to the sink and deleted per relay transaction
+ * @param pollInterval pause between two drains of the outbox
+ * @param file         file the {@code file} sink appends one JSON event per line to
+ */
+@ConfigurationProperties("devices.outbox")
+public record DeviceOutboxProperties(
+        @DefaultValue("false") boolean enabled,
+        @DefaultValue("log") String sink,
+        @DefaultValue("500") int batchSize,
+        @DefaultValue("1s") Duration pollInterval,
+        @DefaultValue("devices-outbox.jsonl") Path file
+) {}
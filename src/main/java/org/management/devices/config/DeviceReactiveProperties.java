@@ -0,0 +1,20 @@
+package org.management.devices.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+/**
+ * R2DBC connection of the reactive profile, see {@link ReactiveDataConfig}.
+ *
+ * @param url         R2DBC URL; when empty it is derived from {@code spring.datasource.url}, so both stacks share one
+ *                    database definition
+ * @param maxPoolSize connections in the R2DBC pool, on top of the JDBC pool kept for Flyway and background work
+ * @param fetchSize   rows the database cursor of a list query delivers per round trip; the next rows are only
+ *                    requested once the client has consumed these
+ */
+@ConfigurationProperties("devices.reactive")
+public record DeviceReactiveProperties(
+        String url,
+        @DefaultValue("20") int maxPoolSize,
+        @DefaultValue("256") int fetchSize
+) {}
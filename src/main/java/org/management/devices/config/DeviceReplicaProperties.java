@@ -0,0 +1,38 @@
+package org.management.devices.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * Read replicas for read-only transactions, see {@code ReplicaRoutingDataSource}. Replicas are reached with the
+ * credentials and pool settings of {@code spring.datasource}.
+ *
+ * @param enabled              whether read-only transactions are routed to replicas at all
+ * @param urls                 JDBC URLs of the replicas
+ * @param balancing            how a replica is chosen among the usable ones
+ * @param maxLag               replicas whose replay lag exceeds this are skipped until they catch up
+ * @param lagCheckInterval     how often each replica's health and replay lag are measured
+ * @param readYourWritesWindow how long after a write the same client keeps reading from the primary
+ * @param maximumPoolSize      connection pool size per replica
+ * @param connectionTimeout    how long a read waits for a replica connection before it falls back to the primary
+ */
+@ConfigurationProperties("devices.replicas")
+public record DeviceReplicaProperties(
+        @DefaultValue("false") boolean enabled,
+        @DefaultValue List<String> urls,
+        @DefaultValue("ROUND_ROBIN") Balancing balancing,
+        @DefaultValue("5s") Duration maxLag,
+        @DefaultValue("2s") Duration lagCheckInterval,
+        @DefaultValue("5s") Duration readYourWritesWindow,
+        @DefaultValue("10") int maximumPoolSize,
+        @DefaultValue("1s") Duration connectionTimeout
+) {
+
+    public enum Balancing {
+        ROUND_ROBIN,
+        LEAST_CONNECTIONS
+    }
+}
@@ -0,0 +1,17 @@
+package org.management.devices.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+/**
+ * Fleet statistics served by {@code GET /devices/stats}, see {@code DeviceStatistics}.
+ *
+ * @param reconcileInterval how often the in-memory counters are recounted from the database, correcting writes
+ *                          this node did not observe (other nodes, direct SQL)
+ */
+@ConfigurationProperties("devices.stats")
+public record DeviceStatsProperties(
+        @DefaultValue("5m") Duration reconcileInterval
+) {}
@@ -0,0 +1,25 @@
+package org.management.devices.config;
+
+import io.micrometer.core.aop.TimedAspect;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Meters by layer: controllers are timed by Spring MVC ({@code http.server.requests}, one series per route),
+ * services by {@code @Timed} through {@link TimedAspect} ({@code devices.service}, tagged with class and method),
+ * repository queries by Spring Data ({@code spring.data.repository.invocations}) and the connection pool by Hikari
+ * ({@code hikaricp.connections.*}). Everything is scraped from {@code /actuator/prometheus}.
+ */
+@Configuration
+public class MetricsConfig {
+
+    public static final String SERVICE_TIMER = "devices.service";
+
+    public static final String ERROR_COUNTER = "devices.api.errors";
+
+    @Bean
+    public TimedAspect timedAspect(MeterRegistry registry) {
+        return new TimedAspect(registry);
+    }
+}
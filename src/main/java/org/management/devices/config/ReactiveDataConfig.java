@@ -0,0 +1,68 @@
+package org.management.devices.config;
+
+import io.r2dbc.pool.ConnectionPool;
+import io.r2dbc.pool.ConnectionPoolConfiguration;
+import io.r2dbc.spi.ConnectionFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.r2dbc.ConnectionFactoryBuilder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.r2dbc.connection.R2dbcTransactionManager;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.transaction.reactive.TransactionalOperator;
+import org.springframework.util.StringUtils;
+
+/**
+ * R2DBC access for the reactive profile. Boot's R2DBC auto-configuration is excluded in {@code application.yml}:
+ * it would register an R2DBC transaction manager next to the JPA one and make every {@code @Transactional}
+ * ambiguous, and JPA's own transaction manager backs off as soon as any transaction manager bean exists. The R2DBC
+ * transaction manager is therefore only reachable through {@link #transactionalOperator}, which the reactive service
+ * uses to commit a change together with its outbox row and notification.
+ * <p>
+ * The JDBC data source stays: Flyway, the statistics, the outbox relay and the heartbeat write-behind use it from
+ * their own threads.
+ */
+@Configuration
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+public class ReactiveDataConfig {
+
+    private static final String JDBC_PREFIX = "jdbc:";
+
+    @Bean(destroyMethod = "dispose")
+    public ConnectionPool connectionFactory(DeviceReactiveProperties properties, DataSourceProperties dataSource) {
+        String url = StringUtils.hasText(properties.url()) ? properties.url() : r2dbcUrlOf(dataSource.determineUrl());
+        ConnectionFactory connectionFactory = ConnectionFactoryBuilder.withUrl(url)
+                .username(dataSource.determineUsername())
+                .password(dataSource.determinePassword())
+                .build();
+        return new ConnectionPool(ConnectionPoolConfiguration.builder(connectionFactory)
+                .name("reactive")
+                .maxSize(properties.maxPoolSize())
+                .build());
+    }
+
+    @Bean
+    public DatabaseClient databaseClient(ConnectionFactory connectionFactory) {
+        return DatabaseClient.create(connectionFactory);
+    }
+
+    @Bean
+    public TransactionalOperator transactionalOperator(ConnectionFactory connectionFactory) {
+        return TransactionalOperator.create(new R2dbcTransactionManager(connectionFactory));
+    }
+
+    /**
+     * {@code jdbc:postgresql://host:5432/db?options} becomes {@code r2dbc:postgresql://host:5432/db}; JDBC driver
+     * options mean nothing to the R2DBC driver and are dropped.
+     */
+    static String r2dbcUrlOf(String jdbcUrl) {
+        if (jdbcUrl == null || !jdbcUrl.startsWith(JDBC_PREFIX)) {
+            throw new IllegalStateException("Cannot derive an R2DBC URL from '" + jdbcUrl
+                    + "'; set devices.reactive.url");
+        }
+        String url = "r2dbc:" + jdbcUrl.substring(JDBC_PREFIX.length());
+        int query = url.indexOf('?');
+        return query < 0 ? url : url.substring(0, query);
+    }
+}
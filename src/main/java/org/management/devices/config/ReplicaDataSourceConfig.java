@@ -0,0 +1,70 @@
+package org.management.devices.config;
+
+import com.zaxxer.hikari.HikariConfig;
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.metrics.micrometer.MicrometerMetricsTrackerFactory;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.management.devices.datasource.ReplicaRoutingDataSource;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Replaces the auto-configured pool with a primary pool, one pool per replica and the routing data source in
+ * front of them. The primary pool is still configured through {@code spring.datasource}; Flyway, JPA and the
+ * JDBC templates all use the routing data source, which hands them the primary outside read-only transactions.
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "devices.replicas", name = "enabled", havingValue = "true")
+public class ReplicaDataSourceConfig {
+
+    @Bean
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource primaryDataSource(DataSourceProperties properties) {
+        HikariDataSource dataSource = properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        dataSource.setPoolName("primary");
+        return dataSource;
+    }
+
+    @Bean
+    public ReplicaRoutingDataSource replicaRoutingDataSource(HikariDataSource primaryDataSource,
+                                                             DeviceReplicaProperties properties,
+                                                             ObjectProvider<MeterRegistry> meterRegistry) {
+        List<HikariDataSource> replicas = new ArrayList<>(properties.urls().size());
+        for (int i = 0; i < properties.urls().size(); i++) {
+            HikariConfig config = new HikariConfig();
+            primaryDataSource.copyStateTo(config);
+            config.setJdbcUrl(properties.urls().get(i));
+            config.setPoolName("replica-" + i);
+            config.setMaximumPoolSize(properties.maximumPoolSize());
+            config.setMinimumIdle(Math.min(primaryDataSource.getMinimumIdle(), properties.maximumPoolSize()));
+            config.setConnectionTimeout(properties.connectionTimeout().toMillis());
+            // A replica that is down at startup joins once it is reachable instead of failing the application
+            config.setInitializationFailTimeout(-1);
+            config.setReadOnly(true);
+            config.setMetricRegistry(null);
+            MeterRegistry registry = meterRegistry.getIfAvailable();
+            config.setMetricsTrackerFactory(registry != null ? new MicrometerMetricsTrackerFactory(registry) : null);
+            replicas.add(new HikariDataSource(config));
+        }
+
+        ReplicaRoutingDataSource routingDataSource = new ReplicaRoutingDataSource(primaryDataSource, replicas, properties);
+        routingDataSource.start();
+        return routingDataSource;
+    }
+
+    @Bean
+    @Primary
+    public DataSource dataSource(ReplicaRoutingDataSource replicaRoutingDataSource) {
+        return new LazyConnectionDataSourceProxy(replicaRoutingDataSource);
+    }
+}
@@ -0,0 +1,9 @@
+package org.management.devices.controller;
+
+import org.management.devices.dto.CacheStatsResponse;
+import org.springframework.http.ResponseEntity;
+
+public interface DeviceCacheController {
+
+    ResponseEntity<CacheStatsResponse> getStats();
+}
@@ -0,0 +1,47 @@
+package org.management.devices.controller;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import org.management.devices.config.CacheConfig;
+import org.management.devices.dto.CacheStatsResponse;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.caffeine.CaffeineCache;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController
+@RequestMapping("/devices/cache")
+@RequiredArgsConstructor
+@Tag(name = "Device Cache", description = "Sizing information for the device lookup cache")
+public class DeviceCacheControllerImpl implements DeviceCacheController {
+
+    private final CacheManager cacheManager;
+
+    @Override
+    @GetMapping("/stats")
+    @Operation(summary = "Get device cache statistics", description = "Hit, miss and eviction counts of the GET /devices/{id} cache")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Statistics retrieved successfully",
+                    content = @Content(schema = @Schema(implementation = CacheStatsResponse.class)))
+    })
+    public ResponseEntity<CacheStatsResponse> getStats() {
+        Cache<Object, Object> cache = ((CaffeineCache) cacheManager.getCache(CacheConfig.DEVICES_CACHE)).getNativeCache();
+        CacheStats stats = cache.stats();
+        return ResponseEntity.ok(new CacheStatsResponse(
+                cache.estimatedSize(),
+                stats.hitCount(),
+                stats.missCount(),
+                stats.hitRate(),
+                stats.evictionCount()
+        ));
+    }
+}
@@ -1,9 +1,13 @@
 package org.management.devices.controller;
 
+import org.management.devices.dto.BatchCreateResponse;
+import org.management.devices.dto.BulkUpdateRequest;
+import org.management.devices.dto.BulkUpdateResponse;
 import org.management.devices.dto.DeviceCreateRequest;
 import org.management.devices.dto.DeviceResponse;
 import org.management.devices.dto.DeviceUpdateRequest;
 import org.springframework.http.ResponseEntity;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 import java.util.List;
 import java.util.UUID;
 
@@ -11,13 +15,29 @@ public interface DeviceController {
 
     ResponseEntity<DeviceResponse> create(DeviceCreateRequest request);
 
-    ResponseEntity<DeviceResponse> getById(UUID id);
+    ResponseEntity<BatchCreateResponse> createBatch(List<DeviceCreateRequest> requests);
 
-    ResponseEntity<List<DeviceResponse>> getAll(String brand, String state);
+    ResponseEntity<DeviceResponse> getById(UUID id, String ifNoneMatch);
 
-    ResponseEntity<DeviceResponse> update(UUID id, DeviceUpdateRequest request);
+    /**
+     * The body is a {@code List<DeviceResponse>}, or its pre-rendered JSON when the list cache is enabled.
+     */
+    ResponseEntity<?> getAll(String brand, String state, String cursor, int limit, String acceptEncoding,
+                             String ifNoneMatch);
 
-    ResponseEntity<DeviceResponse> partialUpdate(UUID id, DeviceUpdateRequest request);
+    ResponseEntity<List<DeviceResponse>> search(String query, String cursor, int limit);
+
+    ResponseEntity<StreamingResponseBody> export();
+
+    ResponseEntity<DeviceResponse> update(UUID id, String ifMatch, DeviceUpdateRequest request);
+
+    ResponseEntity<DeviceResponse> partialUpdate(UUID id, String ifMatch, DeviceUpdateRequest request);
+
+    ResponseEntity<BulkUpdateResponse> bulkUpdate(BulkUpdateRequest request);
+
+    ResponseEntity<DeviceResponse> claim(String brand);
+
+    ResponseEntity<DeviceResponse> release(UUID id, String ifMatch);
 
     ResponseEntity<Void> delete(UUID id);
 }
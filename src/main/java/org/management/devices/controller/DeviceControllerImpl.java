@@ -1,6 +1,9 @@
 package org.management.devices.controller;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
 import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.headers.Header;
 import io.swagger.v3.oas.annotations.media.Content;
 import io.swagger.v3.oas.annotations.media.Schema;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
@@ -8,26 +11,57 @@ import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.management.devices.cache.DeviceListGenerations;
+import org.management.devices.cache.DeviceListSegmentCache;
+import org.management.devices.config.DeviceReplicaProperties;
+import org.management.devices.datasource.ReadYourWrites;
+import org.management.devices.dto.BatchCreateResponse;
+import org.management.devices.dto.BulkUpdateRequest;
+import org.management.devices.dto.BulkUpdateResponse;
 import org.management.devices.dto.DeviceCreateRequest;
+import org.management.devices.dto.DevicePage;
 import org.management.devices.dto.DeviceResponse;
 import org.management.devices.dto.DeviceUpdateRequest;
 import org.management.devices.dto.ErrorResponse;
+import org.management.devices.service.DeviceBulkService;
 import org.management.devices.service.DeviceService;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.util.List;
 import java.util.UUID;
 
 @RestController
 @RequestMapping("/devices")
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
 @RequiredArgsConstructor
 @Tag(name = "Device Management", description = "APIs for managing devices")
 public class DeviceControllerImpl implements DeviceController {
 
+    static final String NEXT_CURSOR_HEADER = "X-Next-Cursor";
+    private static final String DEFAULT_PAGE_SIZE = "100";
+    private static final int MAX_PAGE_SIZE = 1000;
+
     private final DeviceService deviceService;
 
+    private final DeviceBulkService deviceBulkService;
+
+    private final ObjectMapper objectMapper;
+
+    private final ObjectProvider<DeviceListSegmentCache> listCache;
+
+    private final DeviceListGenerations listGenerations;
+
+    private final DeviceReplicaProperties replicaProperties;
+
     @Override
     @PostMapping
     @Operation(summary = "Create a new device", description = "Creates a new device with the provided information")
@@ -44,47 +78,153 @@ public class DeviceControllerImpl implements DeviceController {
                 .body(deviceService.create(request));
     }
 
+    @Override
+    @PostMapping("/batch")
+    @Operation(summary = "Create devices in bulk", description = "Validates all devices up front and stores the valid ones " +
+            "in chunks using JDBC batching. The response reports the outcome of every device in request order.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "201", description = "All devices created successfully",
+                    content = @Content(schema = @Schema(implementation = BatchCreateResponse.class))),
+            @ApiResponse(responseCode = "207", description = "Some devices were rejected or could not be stored",
+                    content = @Content(schema = @Schema(implementation = BatchCreateResponse.class))),
+            @ApiResponse(responseCode = "400", description = "Batch exceeds the maximum size",
+                    content = @Content(schema = @Schema(implementation = ErrorResponse.class))),
+            @ApiResponse(responseCode = "500", description = "Internal server error",
+                    content = @Content(schema = @Schema(implementation = ErrorResponse.class)))
+    })
+    public ResponseEntity<BatchCreateResponse> createBatch(@RequestBody List<DeviceCreateRequest> requests) {
+        BatchCreateResponse response = deviceBulkService.createAll(requests);
+        HttpStatus status = response.rejected() == 0 && response.failed() == 0 ? HttpStatus.CREATED : HttpStatus.MULTI_STATUS;
+        return ResponseEntity.status(status).body(response);
+    }
+
     @Override
     @GetMapping("/{id}")
     @Operation(summary = "Get device by ID", description = "Retrieves a specific device by its unique identifier")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Device found",
+                    headers = @Header(name = HttpHeaders.ETAG, description = "Current version of the device"),
                     content = @Content(schema = @Schema(implementation = DeviceResponse.class))),
+            @ApiResponse(responseCode = "304", description = "If-None-Match names the current version"),
             @ApiResponse(responseCode = "404", description = "Device not found",
                     content = @Content(schema = @Schema(implementation = ErrorResponse.class))),
             @ApiResponse(responseCode = "500", description = "Internal server error",
                     content = @Content(schema = @Schema(implementation = ErrorResponse.class)))
     })
-    public ResponseEntity<DeviceResponse> getById(@PathVariable UUID id) {
-        return ResponseEntity.ok(deviceService.getById(id));
+    public ResponseEntity<DeviceResponse> getById(@PathVariable UUID id,
+                                                  @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        DeviceResponse device = deviceService.getById(id);
+        String etag = DeviceETags.of(device);
+        if (DeviceETags.notModified(ifNoneMatch, etag)) {
+            return notModified(etag);
+        }
+        return withETag(device);
     }
 
     @Override
     @GetMapping
-    @Operation(summary = "Get all devices", description = "Retrieves all devices with optional filtering by brand and/or state")
+    @Operation(summary = "Get all devices", description = "Retrieves devices page by page with optional filtering by brand and/or state. " +
+            "Pages are ordered by creation time; pass the X-Next-Cursor header of a response as 'cursor' to fetch the next page.")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Devices retrieved successfully",
+                    headers = {
+                            @Header(name = NEXT_CURSOR_HEADER, description = "Cursor of the next page, absent on the last page"),
+                            @Header(name = HttpHeaders.ETAG, description = "Generation of the filter, absent when reads may lag")
+                    },
                     content = @Content(schema = @Schema(implementation = DeviceResponse.class))),
+            @ApiResponse(responseCode = "304", description = "If-None-Match names the current generation of the filter"),
+            @ApiResponse(responseCode = "400", description = "Invalid cursor",
+                    content = @Content(schema = @Schema(implementation = ErrorResponse.class))),
             @ApiResponse(responseCode = "500", description = "Internal server error",
                     content = @Content(schema = @Schema(implementation = ErrorResponse.class)))
     })
-    public ResponseEntity<List<DeviceResponse>> getAll(@RequestParam(required = false) String brand,
-                                                       @RequestParam(required = false) String state) {
-        if (brand != null && !brand.isEmpty() && state != null && !state.isEmpty()) {
-            return ResponseEntity.ok(deviceService.getByBrandAndState(brand, state));
+    public ResponseEntity<?> getAll(@RequestParam(required = false) String brand,
+                                    @RequestParam(required = false) String state,
+                                    @RequestParam(required = false) String cursor,
+                                    @RequestParam(defaultValue = DEFAULT_PAGE_SIZE) int limit,
+                                    @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding,
+                                    @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        int pageSize = Math.min(Math.max(limit, 1), MAX_PAGE_SIZE);
+        DeviceListSegmentCache segments = listCache.getIfAvailable();
+        boolean gzip = segments != null && acceptsGzip(acceptEncoding);
+
+        // Taken before the query: a change committing meanwhile leaves the page tagged as already outdated
+        Long generation = listETags() ? listGenerations.generationOf(brand, state) : null;
+        if (generation != null) {
+            String etag = DeviceETags.ofList(listGenerations.epoch(), generation, gzip);
+            if (DeviceETags.notModified(ifNoneMatch, etag)) {
+                return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag).varyBy(HttpHeaders.ACCEPT_ENCODING).build();
+            }
         }
 
-        if (brand != null && !brand.isEmpty()) return ResponseEntity.ok(deviceService.getByBrand(brand));
-        if (state != null && !state.isEmpty()) return ResponseEntity.ok(deviceService.getByState(state));
+        if (segments != null) {
+            DeviceListSegmentCache.Segment segment =
+                    segments.get(brand, state, cursor, pageSize, () -> page(brand, state, cursor, pageSize));
+            String etag = generation != null && segment.generation() >= 0
+                    ? DeviceETags.ofList(listGenerations.epoch(), segment.generation(), gzip) : null;
+            return toResponse(segment, gzip, etag);
+        }
+        DevicePage page = page(brand, state, cursor, pageSize);
+        return toResponse(page, generation != null ? DeviceETags.ofList(listGenerations.epoch(), generation, false) : null);
+    }
 
-        return ResponseEntity.ok(deviceService.getAll());
+    @Override
+    @GetMapping("/search")
+    @Operation(summary = "Search devices", description = "Finds devices whose name or brand contains 'q' (case-insensitive) " +
+            "or closely resembles one of its words, best matches first. Backed by trigram indexes; pass the X-Next-Cursor " +
+            "header of a response as 'cursor' to fetch the next page.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Matching devices, best match first",
+                    headers = @Header(name = NEXT_CURSOR_HEADER, description = "Cursor of the next page, absent on the last page"),
+                    content = @Content(schema = @Schema(implementation = DeviceResponse.class))),
+            @ApiResponse(responseCode = "400", description = "Query shorter than three characters, or invalid cursor",
+                    content = @Content(schema = @Schema(implementation = ErrorResponse.class))),
+            @ApiResponse(responseCode = "500", description = "Internal server error",
+                    content = @Content(schema = @Schema(implementation = ErrorResponse.class)))
+    })
+    public ResponseEntity<List<DeviceResponse>> search(@RequestParam("q") String query,
+                                                       @RequestParam(required = false) String cursor,
+                                                       @RequestParam(defaultValue = DEFAULT_PAGE_SIZE) int limit) {
+        int pageSize = Math.min(Math.max(limit, 1), MAX_PAGE_SIZE);
+        return toResponse(deviceService.search(query, cursor, pageSize));
+    }
+
+    @Override
+    @GetMapping(value = "/export", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    @Operation(summary = "Export all devices", description = "Streams the full device inventory as newline-delimited JSON, " +
+            "one device per line, in creation order. Records are written as they are read from the database.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Export streamed successfully",
+                    content = @Content(mediaType = MediaType.APPLICATION_NDJSON_VALUE,
+                            schema = @Schema(implementation = DeviceResponse.class))),
+            @ApiResponse(responseCode = "500", description = "Internal server error",
+                    content = @Content(schema = @Schema(implementation = ErrorResponse.class)))
+    })
+    public ResponseEntity<StreamingResponseBody> export() {
+        ObjectWriter writer = objectMapper.writerFor(DeviceResponse.class);
+        StreamingResponseBody body = outputStream -> {
+            deviceService.exportAll(device -> {
+                try {
+                    outputStream.write(writer.writeValueAsBytes(device));
+                    outputStream.write('\n');
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+            outputStream.flush();
+        };
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .body(body);
     }
 
     @Override
     @PutMapping("/{id}")
-    @Operation(summary = "Update device", description = "Fully updates an existing device (all fields required)")
+    @Operation(summary = "Update device", description = "Fully updates an existing device (all fields required). " +
+            "Send the device's ETag as If-Match to update only if nobody changed it since it was read.")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Device updated successfully",
+                    headers = @Header(name = HttpHeaders.ETAG, description = "New version of the device"),
                     content = @Content(schema = @Schema(implementation = DeviceResponse.class))),
             @ApiResponse(responseCode = "400", description = "Invalid input data",
                     content = @Content(schema = @Schema(implementation = ErrorResponse.class))),
@@ -92,18 +232,24 @@ public class DeviceControllerImpl implements DeviceController {
                     content = @Content(schema = @Schema(implementation = ErrorResponse.class))),
             @ApiResponse(responseCode = "409", description = "Conflict - Cannot update brand of IN_USE device",
                     content = @Content(schema = @Schema(implementation = ErrorResponse.class))),
+            @ApiResponse(responseCode = "412", description = "If-Match does not match the current version",
+                    content = @Content(schema = @Schema(implementation = ErrorResponse.class))),
             @ApiResponse(responseCode = "500", description = "Internal server error",
                     content = @Content(schema = @Schema(implementation = ErrorResponse.class)))
     })
-    public ResponseEntity<DeviceResponse> update(@PathVariable UUID id, @Valid @RequestBody DeviceUpdateRequest request) {
-        return ResponseEntity.ok(deviceService.update(id, request));
+    public ResponseEntity<DeviceResponse> update(@PathVariable UUID id,
+                                                 @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
+                                                 @Valid @RequestBody DeviceUpdateRequest request) {
+        return withETag(deviceService.update(id, DeviceETags.expectedVersion(ifMatch), request));
     }
 
     @Override
     @PatchMapping("/{id}")
-    @Operation(summary = "Partially update device", description = "Partially updates an existing device (only provided fields are updated)")
+    @Operation(summary = "Partially update device", description = "Partially updates an existing device (only provided fields are updated). " +
+            "Send the device's ETag as If-Match to update only if nobody changed it since it was read.")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Device updated successfully",
+                    headers = @Header(name = HttpHeaders.ETAG, description = "New version of the device"),
                     content = @Content(schema = @Schema(implementation = DeviceResponse.class))),
             @ApiResponse(responseCode = "400", description = "Invalid input data",
                     content = @Content(schema = @Schema(implementation = ErrorResponse.class))),
@@ -111,11 +257,74 @@ public class DeviceControllerImpl implements DeviceController {
                     content = @Content(schema = @Schema(implementation = ErrorResponse.class))),
             @ApiResponse(responseCode = "409", description = "Conflict - Cannot update brand of IN_USE device",
                     content = @Content(schema = @Schema(implementation = ErrorResponse.class))),
+            @ApiResponse(responseCode = "412", description = "If-Match does not match the current version",
+                    content = @Content(schema = @Schema(implementation = ErrorResponse.class))),
             @ApiResponse(responseCode = "500", description = "Internal server error",
                     content = @Content(schema = @Schema(implementation = ErrorResponse.class)))
     })
-    public ResponseEntity<DeviceResponse> partialUpdate(@PathVariable UUID id, @Valid @RequestBody DeviceUpdateRequest request) {
-        return ResponseEntity.ok(deviceService.partialUpdate(id, request));
+    public ResponseEntity<DeviceResponse> partialUpdate(@PathVariable UUID id,
+                                                        @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
+                                                        @Valid @RequestBody DeviceUpdateRequest request) {
+        return withETag(deviceService.partialUpdate(id, DeviceETags.expectedVersion(ifMatch), request));
+    }
+
+    @Override
+    @PatchMapping("/bulk")
+    @Operation(summary = "Partially update devices in bulk", description = "Applies the same partial update to every device " +
+            "selected by id list or by brand/state filter, using set-based SQL. IN_USE devices keep their name and brand; " +
+            "devices that cannot be updated are reported with the reason.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Bulk update applied; see 'updated' and 'rejected'",
+                    content = @Content(schema = @Schema(implementation = BulkUpdateResponse.class))),
+            @ApiResponse(responseCode = "400", description = "Invalid selection or changes, or too many ids",
+                    content = @Content(schema = @Schema(implementation = ErrorResponse.class))),
+            @ApiResponse(responseCode = "500", description = "Internal server error",
+                    content = @Content(schema = @Schema(implementation = ErrorResponse.class)))
+    })
+    public ResponseEntity<BulkUpdateResponse> bulkUpdate(@Valid @RequestBody BulkUpdateRequest request) {
+        return ResponseEntity.ok(deviceBulkService.updateAll(request));
+    }
+
+    @Override
+    @PostMapping("/claim")
+    @Operation(summary = "Claim an available device", description = "Atomically picks the oldest AVAILABLE device, optionally " +
+            "of the given brand, and marks it IN_USE. Concurrent claims never receive the same device. Keep the ETag to " +
+            "release exactly this claim later.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Device claimed",
+                    headers = @Header(name = HttpHeaders.ETAG, description = "Version of the claimed device"),
+                    content = @Content(schema = @Schema(implementation = DeviceResponse.class))),
+            @ApiResponse(responseCode = "404", description = "No AVAILABLE device left to claim",
+                    content = @Content(schema = @Schema(implementation = ErrorResponse.class))),
+            @ApiResponse(responseCode = "503", description = "The AVAILABLE devices left are locked by other writes; retry after Retry-After",
+                    content = @Content(schema = @Schema(implementation = ErrorResponse.class))),
+            @ApiResponse(responseCode = "500", description = "Internal server error",
+                    content = @Content(schema = @Schema(implementation = ErrorResponse.class)))
+    })
+    public ResponseEntity<DeviceResponse> claim(@RequestParam(required = false) String brand) {
+        return withETag(deviceService.claim(brand));
+    }
+
+    @Override
+    @PostMapping("/{id}/release")
+    @Operation(summary = "Release a claimed device", description = "Moves an IN_USE device back to AVAILABLE. " +
+            "Send the ETag returned by the claim as If-Match so a device claimed again since is not released.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Device released",
+                    headers = @Header(name = HttpHeaders.ETAG, description = "New version of the device"),
+                    content = @Content(schema = @Schema(implementation = DeviceResponse.class))),
+            @ApiResponse(responseCode = "404", description = "Device not found",
+                    content = @Content(schema = @Schema(implementation = ErrorResponse.class))),
+            @ApiResponse(responseCode = "409", description = "Device is not IN_USE",
+                    content = @Content(schema = @Schema(implementation = ErrorResponse.class))),
+            @ApiResponse(responseCode = "412", description = "If-Match does not match the current version",
+                    content = @Content(schema = @Schema(implementation = ErrorResponse.class))),
+            @ApiResponse(responseCode = "500", description = "Internal server error",
+                    content = @Content(schema = @Schema(implementation = ErrorResponse.class)))
+    })
+    public ResponseEntity<DeviceResponse> release(@PathVariable UUID id,
+                                                  @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        return withETag(deviceService.release(id, DeviceETags.expectedVersion(ifMatch)));
     }
 
     @Override
@@ -134,4 +343,80 @@ public class DeviceControllerImpl implements DeviceController {
         deviceService.delete(id);
         return ResponseEntity.noContent().build();
     }
+
+    private ResponseEntity<DeviceResponse> withETag(DeviceResponse device) {
+        return ResponseEntity.ok()
+                .eTag(DeviceETags.of(device))
+                .body(device);
+    }
+
+    private static <T> ResponseEntity<T> notModified(String etag) {
+        return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag).build();
+    }
+
+    /**
+     * A list's generation only describes what a read returns if the read cannot trail the writes counted in it.
+     * Replicas may, so with replicas only requests pinned to the primary get list tags.
+     */
+    private boolean listETags() {
+        return !replicaProperties.enabled() || ReadYourWrites.isPinned();
+    }
+
+    private DevicePage page(String brand, String state, String cursor, int pageSize) {
+        if (brand != null && !brand.isEmpty() && state != null && !state.isEmpty()) {
+            return deviceService.getByBrandAndState(brand, state, cursor, pageSize);
+        }
+
+        if (brand != null && !brand.isEmpty()) return deviceService.getByBrand(brand, cursor, pageSize);
+        if (state != null && !state.isEmpty()) return deviceService.getByState(state, cursor, pageSize);
+
+        return deviceService.getAll(cursor, pageSize);
+    }
+
+    /**
+     * Writes a rendered segment as is; the gzip variant goes to clients that accept it.
+     */
+    private ResponseEntity<byte[]> toResponse(DeviceListSegmentCache.Segment segment, boolean gzip, String etag) {
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_JSON)
+                .header(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+        if (segment.nextCursor() != null) {
+            response.header(NEXT_CURSOR_HEADER, segment.nextCursor());
+        }
+        if (etag != null) {
+            response.eTag(etag);
+        }
+        if (gzip) {
+            return response.header(HttpHeaders.CONTENT_ENCODING, "gzip").body(segment.gzip());
+        }
+        return response.body(segment.json());
+    }
+
+    private static boolean acceptsGzip(String acceptEncoding) {
+        if (acceptEncoding == null) {
+            return false;
+        }
+        for (String coding : acceptEncoding.split(",")) {
+            String[] parts = coding.trim().split(";");
+            if (parts[0].trim().equalsIgnoreCase("gzip")) {
+                return parts.length == 1 || !parts[1].replace(" ", "").matches("q=0(\\.0*)?");
+            }
+        }
+        return false;
+    }
+
+    private ResponseEntity<List<DeviceResponse>> toResponse(DevicePage page) {
+        return toResponse(page, null);
+    }
+
+    private ResponseEntity<List<DeviceResponse>> toResponse(DevicePage page, String etag) {
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok();
+        if (page.nextCursor() != null) {
+            response.header(NEXT_CURSOR_HEADER, page.nextCursor());
+        }
+        if (etag != null) {
+            response.eTag(etag);
+        }
+        return response.body(page.items());
+    }
 }
@@ -0,0 +1,61 @@
+package org.management.devices.controller;
+
+import org.management.devices.dto.DeviceResponse;
+import org.management.devices.exception.DeviceVersionMismatchException;
+
+/**
+ * A device's entity tag is its version as a strong ETag, e.g. {@code "3"}. A list page's is the epoch and generation
+ * of its filter, e.g. {@code "5f2c9a-17"}, with a {@code -gzip} suffix for the compressed representation.
+ */
+final class DeviceETags {
+
+    private DeviceETags() {
+    }
+
+    static String of(DeviceResponse device) {
+        return "\"" + device.version() + "\"";
+    }
+
+    static String ofList(String epoch, long generation, boolean gzip) {
+        return "\"" + epoch + "-" + generation + (gzip ? "-gzip" : "") + "\"";
+    }
+
+    /**
+     * Whether an {@code If-None-Match} header names {@code etag}, so the client already holds the representation.
+     * {@code If-None-Match} uses weak comparison: a {@code W/} prefix is ignored, and {@code *} matches anything.
+     */
+    static boolean notModified(String ifNoneMatch, String etag) {
+        if (ifNoneMatch == null || ifNoneMatch.isBlank()) {
+            return false;
+        }
+        for (String tag : ifNoneMatch.split(",")) {
+            String candidate = tag.trim();
+            if (candidate.startsWith("W/")) {
+                candidate = candidate.substring(2);
+            }
+            if (candidate.equals("*") || candidate.equals(etag)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Parses an {@code If-Match} header into the expected version; {@code null} when the header is absent or
+     * {@code *}. {@code If-Match} requires strong comparison, so weak or foreign tags can never match.
+     */
+    static Long expectedVersion(String ifMatch) {
+        if (ifMatch == null || ifMatch.isBlank() || ifMatch.trim().equals("*")) {
+            return null;
+        }
+        String tag = ifMatch.trim();
+        if (tag.length() > 2 && tag.startsWith("\"") && tag.endsWith("\"")) {
+            try {
+                return Long.parseLong(tag.substring(1, tag.length() - 1));
+            } catch (NumberFormatException e) {
+                // falls through to the mismatch below
+            }
+        }
+        throw new DeviceVersionMismatchException("If-Match " + ifMatch + " does not match any version of the device.");
+    }
+}
@@ -0,0 +1,8 @@
+package org.management.devices.controller;
+
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+public interface DeviceEventController {
+
+    SseEmitter streamEvents(String brand, String state, String lastEventId);
+}
@@ -0,0 +1,50 @@
+package org.management.devices.controller;
+
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import org.management.devices.dto.ErrorResponse;
+import org.management.devices.event.DeviceEventFeed;
+import org.management.devices.service.DeviceRules;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+@RestController
+@RequestMapping("/devices/events")
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+@RequiredArgsConstructor
+@Tag(name = "Device Events", description = "Live feed of device changes")
+public class DeviceEventControllerImpl implements DeviceEventController {
+
+    private final DeviceEventFeed eventFeed;
+
+    @Override
+    @GetMapping(produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    @Operation(summary = "Stream device changes",
+            description = "Server-Sent Events stream of CREATED, UPDATED and DELETED events, optionally filtered by brand "
+                    + "and state. Reconnect with the last received id in Last-Event-ID to receive the missed events; a "
+                    + "'reset' event means they are no longer available and the devices should be reloaded.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Event stream opened"),
+            @ApiResponse(responseCode = "400", description = "Invalid state filter",
+                    content = @Content(schema = @Schema(implementation = ErrorResponse.class)))
+    })
+    public SseEmitter streamEvents(@RequestParam(required = false) String brand,
+                                   @RequestParam(required = false) String state,
+                                   @Parameter(description = "Id of the last event received, to resume after it")
+                                   @RequestHeader(value = "Last-Event-ID", required = false) String lastEventId) {
+        return eventFeed.subscribe(brand, state != null && !state.isEmpty() ? DeviceRules.parseState(state) : null,
+                lastEventId);
+    }
+}
@@ -0,0 +1,10 @@
+package org.management.devices.controller;
+
+import org.springframework.http.ResponseEntity;
+
+import java.util.UUID;
+
+public interface DeviceHeartbeatController {
+
+    ResponseEntity<Void> heartbeat(UUID id);
+}
@@ -0,0 +1,37 @@
+package org.management.devices.controller;
+
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import org.management.devices.heartbeat.DeviceHeartbeatBuffer;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.time.Instant;
+import java.util.UUID;
+
+@RestController
+@RequestMapping("/devices")
+@RequiredArgsConstructor
+@Tag(name = "Device Heartbeats", description = "Liveness reports sent by the devices themselves")
+public class DeviceHeartbeatControllerImpl implements DeviceHeartbeatController {
+
+    private final DeviceHeartbeatBuffer heartbeatBuffer;
+
+    @Override
+    @PostMapping("/{id}/heartbeat")
+    @Operation(summary = "Report a heartbeat", description = "Records that the device was seen now. The heartbeat is " +
+            "buffered and written to 'last_seen_at' within devices.heartbeat.flush-interval; unknown ids are ignored.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "202", description = "Heartbeat accepted")
+    })
+    public ResponseEntity<Void> heartbeat(@PathVariable UUID id) {
+        heartbeatBuffer.record(id, Instant.now());
+        return ResponseEntity.accepted().build();
+    }
+}
@@ -0,0 +1,9 @@
+package org.management.devices.controller;
+
+import org.management.devices.dto.DeviceStatsResponse;
+import org.springframework.http.ResponseEntity;
+
+public interface DeviceStatsController {
+
+    ResponseEntity<DeviceStatsResponse> getStats();
+}
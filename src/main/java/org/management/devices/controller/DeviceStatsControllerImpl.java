@@ -0,0 +1,35 @@
+package org.management.devices.controller;
+
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import org.management.devices.dto.DeviceStatsResponse;
+import org.management.devices.stats.DeviceStatistics;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController
+@RequestMapping("/devices/stats")
+@RequiredArgsConstructor
+@Tag(name = "Device Statistics", description = "Device counts of the whole fleet")
+public class DeviceStatsControllerImpl implements DeviceStatsController {
+
+    private final DeviceStatistics statistics;
+
+    @Override
+    @GetMapping
+    @Operation(summary = "Get fleet statistics", description = "Number of devices in total, per state and per brand")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Statistics retrieved successfully",
+                    content = @Content(schema = @Schema(implementation = DeviceStatsResponse.class)))
+    })
+    public ResponseEntity<DeviceStatsResponse> getStats() {
+        return ResponseEntity.ok(statistics.snapshot());
+    }
+}
@@ -0,0 +1,31 @@
+package org.management.devices.controller;
+
+import org.management.devices.dto.DeviceCreateRequest;
+import org.management.devices.dto.DeviceResponse;
+import org.management.devices.dto.DeviceUpdateRequest;
+import org.springframework.http.ResponseEntity;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.UUID;
+
+public interface ReactiveDeviceController {
+
+    Mono<ResponseEntity<DeviceResponse>> create(DeviceCreateRequest request);
+
+    Mono<ResponseEntity<DeviceResponse>> getById(UUID id);
+
+    Flux<DeviceResponse> getAll(String brand, String state, String cursor, UUID after, int limit);
+
+    Flux<DeviceResponse> export();
+
+    Mono<ResponseEntity<DeviceResponse>> update(UUID id, String ifMatch, DeviceUpdateRequest request);
+
+    Mono<ResponseEntity<DeviceResponse>> partialUpdate(UUID id, String ifMatch, DeviceUpdateRequest request);
+
+    Mono<ResponseEntity<DeviceResponse>> claim(String brand);
+
+    Mono<ResponseEntity<DeviceResponse>> release(UUID id, String ifMatch);
+
+    Mono<ResponseEntity<Void>> delete(UUID id);
+}
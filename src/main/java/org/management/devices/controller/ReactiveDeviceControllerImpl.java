@@ -0,0 +1,232 @@
+package org.management.devices.controller;
+
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.headers.Header;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import org.management.devices.dto.DeviceCreateRequest;
+import org.management.devices.dto.DeviceResponse;
+import org.management.devices.dto.DeviceUpdateRequest;
+import org.management.devices.dto.ErrorResponse;
+import org.management.devices.service.ReactiveDeviceService;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.UUID;
+
+/**
+ * The {@link DeviceControllerImpl} contract on WebFlux, active in the reactive profile. Requests, responses, ETags
+ * and error bodies are the same; list responses are streamed from the database cursor as they are written, so they
+ * cannot carry an {@code X-Next-Cursor} header. To continue, pass the id of the last device received as
+ * {@code after}. Batch creation, bulk updates and search are served by the servlet stack only.
+ */
+@RestController
+@RequestMapping("/devices")
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+@RequiredArgsConstructor
+@Tag(name = "Device Management", description = "APIs for managing devices")
+public class ReactiveDeviceControllerImpl implements ReactiveDeviceController {
+
+    private static final String DEFAULT_PAGE_SIZE = "100";
+    private static final int MAX_PAGE_SIZE = 1000;
+
+    private final ReactiveDeviceService deviceService;
+
+    @Override
+    @PostMapping
+    @Operation(summary = "Create a new device", description = "Creates a new device with the provided information")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "201", description = "Device created successfully",
+                    content = @Content(schema = @Schema(implementation = DeviceResponse.class))),
+            @ApiResponse(responseCode = "400", description = "Invalid input data (e.g., missing required fields)",
+                    content = @Content(schema = @Schema(implementation = ErrorResponse.class))),
+            @ApiResponse(responseCode = "500", description = "Internal server error",
+                    content = @Content(schema = @Schema(implementation = ErrorResponse.class)))
+    })
+    public Mono<ResponseEntity<DeviceResponse>> create(@Valid @RequestBody DeviceCreateRequest request) {
+        return deviceService.create(request)
+                .map(device -> ResponseEntity.status(HttpStatus.CREATED).body(device));
+    }
+
+    @Override
+    @GetMapping("/{id}")
+    @Operation(summary = "Get device by ID", description = "Retrieves a specific device by its unique identifier")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Device found",
+                    headers = @Header(name = HttpHeaders.ETAG, description = "Current version of the device"),
+                    content = @Content(schema = @Schema(implementation = DeviceResponse.class))),
+            @ApiResponse(responseCode = "404", description = "Device not found",
+                    content = @Content(schema = @Schema(implementation = ErrorResponse.class))),
+            @ApiResponse(responseCode = "500", description = "Internal server error",
+                    content = @Content(schema = @Schema(implementation = ErrorResponse.class)))
+    })
+    public Mono<ResponseEntity<DeviceResponse>> getById(@PathVariable UUID id) {
+        return deviceService.getById(id).map(this::withETag);
+    }
+
+    @Override
+    @GetMapping
+    @Operation(summary = "Get all devices", description = "Streams devices in creation order with optional filtering by brand " +
+            "and/or state, reading no further ahead in the database than the client has consumed. Pass the id of the last " +
+            "device received as 'after' to fetch the next page.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Devices retrieved successfully",
+                    content = @Content(schema = @Schema(implementation = DeviceResponse.class))),
+            @ApiResponse(responseCode = "400", description = "Invalid cursor",
+                    content = @Content(schema = @Schema(implementation = ErrorResponse.class))),
+            @ApiResponse(responseCode = "404", description = "Device given as 'after' not found",
+                    content = @Content(schema = @Schema(implementation = ErrorResponse.class))),
+            @ApiResponse(responseCode = "500", description = "Internal server error",
+                    content = @Content(schema = @Schema(implementation = ErrorResponse.class)))
+    })
+    public Flux<DeviceResponse> getAll(@RequestParam(required = false) String brand,
+                                       @RequestParam(required = false) String state,
+                                       @RequestParam(required = false) String cursor,
+                                       @Parameter(description = "Id of the last device of the previous page")
+                                       @RequestParam(required = false) UUID after,
+                                       @RequestParam(defaultValue = DEFAULT_PAGE_SIZE) int limit) {
+        int pageSize = Math.min(Math.max(limit, 1), MAX_PAGE_SIZE);
+        return deviceService.getAll(brand, state, cursor, after, pageSize);
+    }
+
+    @Override
+    @GetMapping(value = "/export", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    @Operation(summary = "Export all devices", description = "Streams the full device inventory as newline-delimited JSON, " +
+            "one device per line, in creation order. Rows are read from the database as the client consumes them.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Export streamed successfully",
+                    content = @Content(mediaType = MediaType.APPLICATION_NDJSON_VALUE,
+                            schema = @Schema(implementation = DeviceResponse.class))),
+            @ApiResponse(responseCode = "500", description = "Internal server error",
+                    content = @Content(schema = @Schema(implementation = ErrorResponse.class)))
+    })
+    public Flux<DeviceResponse> export() {
+        return deviceService.exportAll();
+    }
+
+    @Override
+    @PutMapping("/{id}")
+    @Operation(summary = "Update device", description = "Fully updates an existing device (all fields required). " +
+            "Send the device's ETag as If-Match to update only if nobody changed it since it was read.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Device updated successfully",
+                    headers = @Header(name = HttpHeaders.ETAG, description = "New version of the device"),
+                    content = @Content(schema = @Schema(implementation = DeviceResponse.class))),
+            @ApiResponse(responseCode = "400", description = "Invalid input data",
+                    content = @Content(schema = @Schema(implementation = ErrorResponse.class))),
+            @ApiResponse(responseCode = "404", description = "Device not found",
+                    content = @Content(schema = @Schema(implementation = ErrorResponse.class))),
+            @ApiResponse(responseCode = "409", description = "Conflict - Cannot update brand of IN_USE device",
+                    content = @Content(schema = @Schema(implementation = ErrorResponse.class))),
+            @ApiResponse(responseCode = "412", description = "If-Match does not match the current version",
+                    content = @Content(schema = @Schema(implementation = ErrorResponse.class))),
+            @ApiResponse(responseCode = "500", description = "Internal server error",
+                    content = @Content(schema = @Schema(implementation = ErrorResponse.class)))
+    })
+    public Mono<ResponseEntity<DeviceResponse>> update(@PathVariable UUID id,
+                                                       @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
+                                                       @Valid @RequestBody DeviceUpdateRequest request) {
+        return deviceService.update(id, DeviceETags.expectedVersion(ifMatch), request).map(this::withETag);
+    }
+
+    @Override
+    @PatchMapping("/{id}")
+    @Operation(summary = "Partially update device", description = "Partially updates an existing device (only provided fields are updated). " +
+            "Send the device's ETag as If-Match to update only if nobody changed it since it was read.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Device updated successfully",
+                    headers = @Header(name = HttpHeaders.ETAG, description = "New version of the device"),
+                    content = @Content(schema = @Schema(implementation = DeviceResponse.class))),
+            @ApiResponse(responseCode = "400", description = "Invalid input data",
+                    content = @Content(schema = @Schema(implementation = ErrorResponse.class))),
+            @ApiResponse(responseCode = "404", description = "Device not found",
+                    content = @Content(schema = @Schema(implementation = ErrorResponse.class))),
+            @ApiResponse(responseCode = "409", description = "Conflict - Cannot update brand of IN_USE device",
+                    content = @Content(schema = @Schema(implementation = ErrorResponse.class))),
+            @ApiResponse(responseCode = "412", description = "If-Match does not match the current version",
+                    content = @Content(schema = @Schema(implementation = ErrorResponse.class))),
+            @ApiResponse(responseCode = "500", description = "Internal server error",
+                    content = @Content(schema = @Schema(implementation = ErrorResponse.class)))
+    })
+    public Mono<ResponseEntity<DeviceResponse>> partialUpdate(@PathVariable UUID id,
+                                                              @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
+                                                              @Valid @RequestBody DeviceUpdateRequest request) {
+        return deviceService.partialUpdate(id, DeviceETags.expectedVersion(ifMatch), request).map(this::withETag);
+    }
+
+    @Override
+    @PostMapping("/claim")
+    @Operation(summary = "Claim an available device", description = "Atomically picks the oldest AVAILABLE device, optionally " +
+            "of the given brand, and marks it IN_USE. Concurrent claims never receive the same device. Keep the ETag to " +
+            "release exactly this claim later.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Device claimed",
+                    headers = @Header(name = HttpHeaders.ETAG, description = "Version of the claimed device"),
+                    content = @Content(schema = @Schema(implementation = DeviceResponse.class))),
+            @ApiResponse(responseCode = "404", description = "No AVAILABLE device left to claim",
+                    content = @Content(schema = @Schema(implementation = ErrorResponse.class))),
+            @ApiResponse(responseCode = "503", description = "The AVAILABLE devices left are locked by other writes; retry after Retry-After",
+                    content = @Content(schema = @Schema(implementation = ErrorResponse.class))),
+            @ApiResponse(responseCode = "500", description = "Internal server error",
+                    content = @Content(schema = @Schema(implementation = ErrorResponse.class)))
+    })
+    public Mono<ResponseEntity<DeviceResponse>> claim(@RequestParam(required = false) String brand) {
+        return deviceService.claim(brand).map(this::withETag);
+    }
+
+    @Override
+    @PostMapping("/{id}/release")
+    @Operation(summary = "Release a claimed device", description = "Moves an IN_USE device back to AVAILABLE. " +
+            "Send the ETag returned by the claim as If-Match so a device claimed again since is not released.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Device released",
+                    headers = @Header(name = HttpHeaders.ETAG, description = "New version of the device"),
+                    content = @Content(schema = @Schema(implementation = DeviceResponse.class))),
+            @ApiResponse(responseCode = "404", description = "Device not found",
+                    content = @Content(schema = @Schema(implementation = ErrorResponse.class))),
+            @ApiResponse(responseCode = "409", description = "Device is not IN_USE",
+                    content = @Content(schema = @Schema(implementation = ErrorResponse.class))),
+            @ApiResponse(responseCode = "412", description = "If-Match does not match the current version",
+                    content = @Content(schema = @Schema(implementation = ErrorResponse.class))),
+            @ApiResponse(responseCode = "500", description = "Internal server error",
+                    content = @Content(schema = @Schema(implementation = ErrorResponse.class)))
+    })
+    public Mono<ResponseEntity<DeviceResponse>> release(@PathVariable UUID id,
+                                                        @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        return deviceService.release(id, DeviceETags.expectedVersion(ifMatch)).map(this::withETag);
+    }
+
+    @Override
+    @DeleteMapping("/{id}")
+    @Operation(summary = "Delete device", description = "Deletes a device by its unique identifier")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "204", description = "Device deleted successfully"),
+            @ApiResponse(responseCode = "404", description = "Device not found",
+                    content = @Content(schema = @Schema(implementation = ErrorResponse.class))),
+            @ApiResponse(responseCode = "409", description = "Conflict - Cannot delete IN_USE device",
+                    content = @Content(schema = @Schema(implementation = ErrorResponse.class))),
+            @ApiResponse(responseCode = "500", description = "Internal server error",
+                    content = @Content(schema = @Schema(implementation = ErrorResponse.class)))
+    })
+    public Mono<ResponseEntity<Void>> delete(@PathVariable UUID id) {
+        return deviceService.delete(id).then(Mono.fromSupplier(() -> ResponseEntity.noContent().<Void>build()));
+    }
+
+    private ResponseEntity<DeviceResponse> withETag(DeviceResponse device) {
+        return ResponseEntity.ok()
+                .eTag(DeviceETags.of(device))
+                .body(device);
+    }
+}
@@ -0,0 +1,48 @@
+package org.management.devices.datasource;
+
+import java.util.function.Supplier;
+
+/**
+ * Pins the current thread to the primary, so reads that must observe a preceding write are not routed to a
+ * replica that has not replayed it yet. Pins nest; closing the outermost one releases the thread.
+ */
+public final class ReadYourWrites {
+
+    private static final ThreadLocal<Boolean> PINNED = new ThreadLocal<>();
+
+    private ReadYourWrites() {
+    }
+
+    public static boolean isPinned() {
+        return PINNED.get() != null;
+    }
+
+    public static Pin pinToPrimary() {
+        boolean outermost = !isPinned();
+        PINNED.set(Boolean.TRUE);
+        return () -> {
+            if (outermost) {
+                PINNED.remove();
+            }
+        };
+    }
+
+    public static <T> T onPrimary(Supplier<T> action) {
+        try (Pin ignored = pinToPrimary()) {
+            return action.get();
+        }
+    }
+
+    public static void onPrimary(Runnable action) {
+        try (Pin ignored = pinToPrimary()) {
+            action.run();
+        }
+    }
+
+    @FunctionalInterface
+    public interface Pin extends AutoCloseable {
+
+        @Override
+        void close();
+    }
+}
@@ -0,0 +1,186 @@
+package org.management.devices.datasource;
+
+import com.zaxxer.hikari.HikariDataSource;
+import lombok.extern.slf4j.Slf4j;
+import org.management.devices.config.DeviceReplicaProperties;
+import org.springframework.jdbc.datasource.AbstractDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.io.Closeable;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Sends connections requested inside read-only transactions to a replica and everything else to the primary.
+ * <p>
+ * The decision is taken when a connection is requested, so this data source must sit behind a
+ * {@code LazyConnectionDataSourceProxy}: the transaction manager asks for a connection before it marks the
+ * transaction read-only, and the proxy defers the request to the first statement.
+ * <p>
+ * A background task measures every replica's replay lag; replicas that cannot be reached or lag by more than
+ * {@code devices.replicas.max-lag} are skipped, and when none is usable reads fall back to the primary. A read
+ * whose replica fails to hand out a connection falls back as well, and takes the replica out of rotation until
+ * the next successful check. Threads pinned by {@link ReadYourWrites} always use the primary.
+ */
+@Slf4j
+public class ReplicaRoutingDataSource extends AbstractDataSource implements Closeable {
+
+    /**
+     * Zero when the server is not a standby or has replayed everything it received; otherwise the age of the last
+     * replayed transaction. Comparing LSNs first keeps an idle primary from looking like lag.
+     */
+    private static final String LAG_QUERY = """
+            SELECT CASE
+                       WHEN NOT pg_is_in_recovery() OR pg_last_wal_receive_lsn() = pg_last_wal_replay_lsn() THEN 0
+                       ELSE COALESCE(EXTRACT(EPOCH FROM now() - pg_last_xact_replay_timestamp()) * 1000, 0)
+                   END""";
+
+    private final HikariDataSource primary;
+
+    private final List<Replica> replicas;
+
+    private final DeviceReplicaProperties properties;
+
+    private final AtomicInteger nextReplica = new AtomicInteger();
+
+    private final ScheduledExecutorService lagMonitor = Executors.newSingleThreadScheduledExecutor(
+            Thread.ofPlatform().name("replica-lag-monitor").daemon().factory());
+
+    public ReplicaRoutingDataSource(HikariDataSource primary, List<HikariDataSource> replicas,
+                                    DeviceReplicaProperties properties) {
+        this.primary = primary;
+        this.replicas = replicas.stream().map(Replica::new).toList();
+        this.properties = properties;
+    }
+
+    public void start() {
+        long interval = properties.lagCheckInterval().toMillis();
+        lagMonitor.scheduleWithFixedDelay(this::checkReplicas, 0, interval, TimeUnit.MILLISECONDS);
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        Replica replica = replicaForCurrentTransaction();
+        if (replica != null) {
+            try {
+                return replica.dataSource.getConnection();
+            } catch (SQLException e) {
+                markUnusable(replica, e);
+            }
+        }
+        return primary.getConnection();
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        Replica replica = replicaForCurrentTransaction();
+        if (replica != null) {
+            try {
+                return replica.dataSource.getConnection(username, password);
+            } catch (SQLException e) {
+                markUnusable(replica, e);
+            }
+        }
+        return primary.getConnection(username, password);
+    }
+
+    /**
+     * The replica a connection requested now should come from, or {@code null} for the primary.
+     */
+    private Replica replicaForCurrentTransaction() {
+        if (replicas.isEmpty() || !TransactionSynchronizationManager.isCurrentTransactionReadOnly()
+                || ReadYourWrites.isPinned()) {
+            return null;
+        }
+        return switch (properties.balancing()) {
+            case ROUND_ROBIN -> nextRoundRobin();
+            case LEAST_CONNECTIONS -> leastConnections();
+        };
+    }
+
+    private Replica nextRoundRobin() {
+        int start = Math.floorMod(nextReplica.getAndIncrement(), replicas.size());
+        for (int i = 0; i < replicas.size(); i++) {
+            Replica replica = replicas.get((start + i) % replicas.size());
+            if (replica.usable) {
+                return replica;
+            }
+        }
+        return null;
+    }
+
+    private Replica leastConnections() {
+        Replica best = null;
+        int bestActive = Integer.MAX_VALUE;
+        for (Replica replica : replicas) {
+            if (replica.usable) {
+                int active = replica.dataSource.getHikariPoolMXBean().getActiveConnections();
+                if (active < bestActive) {
+                    best = replica;
+                    bestActive = active;
+                }
+            }
+        }
+        return best;
+    }
+
+    private void checkReplicas() {
+        for (Replica replica : replicas) {
+            boolean usable;
+            try (Connection connection = replica.dataSource.getConnection();
+                 Statement statement = connection.createStatement();
+                 ResultSet lag = statement.executeQuery(LAG_QUERY)) {
+                lag.next();
+                Duration replayLag = Duration.ofMillis((long) lag.getDouble(1));
+                usable = replayLag.compareTo(properties.maxLag()) <= 0;
+                if (!usable && replica.usable) {
+                    log.warn("Replica {} lags by {}; reading from the primary until it catches up", replica.name(), replayLag);
+                }
+            } catch (SQLException | RuntimeException e) {
+                markUnusable(replica, e);
+                continue;
+            }
+            if (usable && !replica.usable) {
+                log.info("Replica {} is serving reads", replica.name());
+            }
+            replica.usable = usable;
+        }
+    }
+
+    private void markUnusable(Replica replica, Exception cause) {
+        if (replica.usable) {
+            log.warn("Replica {} is unreachable; reading from the primary until it recovers", replica.name(), cause);
+        }
+        replica.usable = false;
+    }
+
+    @Override
+    public void close() {
+        lagMonitor.shutdownNow();
+        replicas.forEach(replica -> replica.dataSource.close());
+    }
+
+    /**
+     * Replicas start unusable and join once their first lag check passes.
+     */
+    private static final class Replica {
+        private final HikariDataSource dataSource;
+        private volatile boolean usable;
+
+        Replica(HikariDataSource dataSource) {
+            this.dataSource = dataSource;
+        }
+
+        String name() {
+            return dataSource.getPoolName();
+        }
+    }
+}
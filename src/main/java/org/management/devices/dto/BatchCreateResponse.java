@@ -0,0 +1,27 @@
+package org.management.devices.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.util.List;
+
+@Schema(description = "Result of a batch device creation, one entry per requested device in request order")
+public record BatchCreateResponse(
+        int created,
+        int rejected,
+        int failed,
+        List<BatchItemResult> results
+) {
+    public static BatchCreateResponse of(List<BatchItemResult> results) {
+        int created = 0;
+        int rejected = 0;
+        int failed = 0;
+        for (BatchItemResult result : results) {
+            switch (result.status()) {
+                case CREATED -> created++;
+                case REJECTED -> rejected++;
+                case FAILED -> failed++;
+            }
+        }
+        return new BatchCreateResponse(created, rejected, failed, results);
+    }
+}
@@ -0,0 +1,29 @@
+package org.management.devices.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.util.Map;
+
+@Schema(description = "Outcome of one device of a batch request")
+public record BatchItemResult(
+        @Schema(description = "Position of the device in the request list", example = "0")
+        int index,
+        @Schema(description = "CREATED, REJECTED (failed validation) or FAILED (could not be stored)")
+        BatchItemStatus status,
+        @Schema(description = "The stored device, present when status is CREATED", nullable = true)
+        DeviceResponse device,
+        @Schema(description = "Field-level validation errors or the storage error", nullable = true)
+        Map<String, String> errors
+) {
+    public static BatchItemResult created(int index, DeviceResponse device) {
+        return new BatchItemResult(index, BatchItemStatus.CREATED, device, null);
+    }
+
+    public static BatchItemResult rejected(int index, Map<String, String> errors) {
+        return new BatchItemResult(index, BatchItemStatus.REJECTED, null, errors);
+    }
+
+    public static BatchItemResult failed(int index, Map<String, String> errors) {
+        return new BatchItemResult(index, BatchItemStatus.FAILED, null, errors);
+    }
+}
@@ -0,0 +1,7 @@
+package org.management.devices.dto;
+
+public enum BatchItemStatus {
+    CREATED,
+    REJECTED,
+    FAILED
+}
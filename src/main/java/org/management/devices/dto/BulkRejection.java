@@ -0,0 +1,12 @@
+package org.management.devices.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.util.UUID;
+
+@Schema(description = "A selected device that was left unchanged")
+public record BulkRejection(
+        UUID id,
+        @Schema(description = "Why the device was not updated")
+        String reason
+) {}
@@ -0,0 +1,20 @@
+package org.management.devices.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotNull;
+
+import java.util.List;
+import java.util.UUID;
+
+@Schema(description = "Partial update applied to every selected device; select either by 'ids' or by 'filter'")
+public record BulkUpdateRequest(
+        @Schema(description = "Devices to update", nullable = true)
+        List<UUID> ids,
+        @Schema(description = "Alternative to 'ids': update every device matching the filter", nullable = true)
+        @Valid
+        DeviceFilter filter,
+        @NotNull(message = "Changes are required")
+        @Valid
+        DeviceUpdateRequest changes
+) {}
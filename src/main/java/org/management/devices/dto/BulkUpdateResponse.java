@@ -0,0 +1,14 @@
+package org.management.devices.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.util.List;
+import java.util.UUID;
+
+@Schema(description = "Result of a bulk update")
+public record BulkUpdateResponse(
+        @Schema(description = "Ids of the devices that were updated")
+        List<UUID> updated,
+        @Schema(description = "Selected devices that were not updated, with the reason")
+        List<BulkRejection> rejected
+) {}
@@ -0,0 +1,17 @@
+package org.management.devices.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+@Schema(description = "Statistics of the device cache since startup")
+public record CacheStatsResponse(
+        @Schema(description = "Approximate number of cached devices")
+        long size,
+        @Schema(description = "Lookups answered from the cache")
+        long hitCount,
+        @Schema(description = "Lookups that went to the database")
+        long missCount,
+        @Schema(description = "Share of lookups answered from the cache", example = "0.93")
+        double hitRate,
+        @Schema(description = "Entries removed because of the size bound or TTL")
+        long evictionCount
+) {}
@@ -0,0 +1,47 @@
+package org.management.devices.dto;
+
+import org.management.devices.exception.InvalidCursorException;
+
+import java.nio.charset.StandardCharsets;
+import java.time.DateTimeException;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.UUID;
+
+/**
+ * Position of the last row of a page in the {@code (created_at, id)} ordering.
+ * Clients only ever see the opaque, URL-safe encoded form.
+ */
+public record DeviceCursor(Instant createdAt, UUID id) {
+
+    private static final String SEPARATOR = ":";
+
+    public static DeviceCursor of(DeviceResponse device) {
+        return new DeviceCursor(device.createdAt(), device.id());
+    }
+
+    public String encode() {
+        String raw = createdAt.getEpochSecond() + SEPARATOR + createdAt.getNano() + SEPARATOR + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Decodes a cursor previously produced by {@link #encode()}; a {@code null} or empty token means "first page".
+     */
+    public static DeviceCursor decode(String token) {
+        if (token == null || token.isEmpty()) {
+            return null;
+        }
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            String[] parts = raw.split(SEPARATOR);
+            if (parts.length != 3) {
+                throw new InvalidCursorException("Invalid cursor: " + token);
+            }
+            Instant createdAt = Instant.ofEpochSecond(Long.parseLong(parts[0]), Long.parseLong(parts[1]));
+            return new DeviceCursor(createdAt, UUID.fromString(parts[2]));
+        } catch (IllegalArgumentException | DateTimeException e) {
+            throw new InvalidCursorException("Invalid cursor: " + token);
+        }
+    }
+}
@@ -0,0 +1,11 @@
+package org.management.devices.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import org.management.devices.domain.DeviceState;
+
+@Schema(description = "Selects devices by brand and/or state; at least one of them is required")
+public record DeviceFilter(
+        String brand,
+        @ValidDeviceState(allowNull = true)
+        DeviceState state
+) {}
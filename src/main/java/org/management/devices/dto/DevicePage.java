@@ -0,0 +1,12 @@
+package org.management.devices.dto;
+
+import java.util.List;
+
+/**
+ * One page of devices, in {@code (created_at, id)} order for listings and by rank for searches; {@code nextCursor}
+ * is {@code null} on the last page.
+ */
+public record DevicePage(
+        List<DeviceResponse> items,
+        String nextCursor
+) {}
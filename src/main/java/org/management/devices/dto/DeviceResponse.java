@@ -9,6 +9,7 @@ public record DeviceResponse(
         String name,
         String brand,
         DeviceState state,
-        Instant createdAt
+        Instant createdAt,
+        Long version
 ) {}
 
@@ -0,0 +1,41 @@
+package org.management.devices.dto;
+
+import org.management.devices.exception.InvalidCursorException;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+/**
+ * Position in the ranked results of a search. Ranks are computed per query and have no stable key to resume
+ * from, so the cursor holds the number of results already returned. Clients only see the opaque encoded form.
+ */
+public record DeviceSearchCursor(int offset) {
+
+    private static final String PREFIX = "search:";
+
+    public String encode() {
+        return Base64.getUrlEncoder().withoutPadding().encodeToString((PREFIX + offset).getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Decodes a cursor previously produced by {@link #encode()}; a {@code null} or empty token means "first page".
+     */
+    public static DeviceSearchCursor decode(String token) {
+        if (token == null || token.isEmpty()) {
+            return new DeviceSearchCursor(0);
+        }
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            if (!raw.startsWith(PREFIX)) {
+                throw new InvalidCursorException("Invalid cursor: " + token);
+            }
+            int offset = Integer.parseInt(raw.substring(PREFIX.length()));
+            if (offset < 0) {
+                throw new InvalidCursorException("Invalid cursor: " + token);
+            }
+            return new DeviceSearchCursor(offset);
+        } catch (IllegalArgumentException e) {
+            throw new InvalidCursorException("Invalid cursor: " + token);
+        }
+    }
+}
@@ -0,0 +1,19 @@
+package org.management.devices.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import org.management.devices.domain.DeviceState;
+
+import java.time.Instant;
+import java.util.Map;
+
+@Schema(description = "Device counts of the whole fleet")
+public record DeviceStatsResponse(
+        @Schema(description = "Number of devices")
+        long total,
+        @Schema(description = "Number of devices per state; every state is listed")
+        Map<DeviceState, Long> byState,
+        @Schema(description = "Number of devices per brand; brands without devices are omitted")
+        Map<String, Long> byBrand,
+        @Schema(description = "When the counters were last recounted from the database")
+        Instant reconciledAt
+) {}
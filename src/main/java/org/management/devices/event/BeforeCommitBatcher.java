@@ -0,0 +1,53 @@
+package org.management.devices.event;
+
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * Collects the items added during a transaction and hands them to {@code flush} in one call just before it commits,
+ * inside the transaction. A listener writing device changes back to the database thereby needs one statement per
+ * transaction instead of one per change, and its write commits or rolls back with them. Without an active
+ * transaction an item is flushed on its own, immediately.
+ */
+public final class BeforeCommitBatcher<T> {
+
+    private final Consumer<List<T>> flush;
+
+    public BeforeCommitBatcher(Consumer<List<T>> flush) {
+        this.flush = flush;
+    }
+
+    public void add(T item) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            flush.accept(List.of(item));
+            return;
+        }
+        @SuppressWarnings("unchecked")
+        Batch batch = (Batch) TransactionSynchronizationManager.getResource(this);
+        if (batch == null) {
+            batch = new Batch();
+            TransactionSynchronizationManager.bindResource(this, batch);
+            TransactionSynchronizationManager.registerSynchronization(batch);
+        }
+        batch.items.add(item);
+    }
+
+    private final class Batch implements TransactionSynchronization {
+
+        private final List<T> items = new ArrayList<>();
+
+        @Override
+        public void beforeCommit(boolean readOnly) {
+            flush.accept(items);
+        }
+
+        @Override
+        public void afterCompletion(int status) {
+            TransactionSynchronizationManager.unbindResource(BeforeCommitBatcher.this);
+        }
+    }
+}
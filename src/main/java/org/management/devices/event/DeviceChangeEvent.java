@@ -0,0 +1,32 @@
+package org.management.devices.event;
+
+import org.management.devices.dto.DeviceResponse;
+
+import java.util.UUID;
+
+/**
+ * Published by the device service for every committed mutation. {@code previous} is {@code null} for
+ * {@link DeviceChangeType#CREATED}, {@code current} is {@code null} for {@link DeviceChangeType#DELETED}.
+ */
+public record DeviceChangeEvent(
+        DeviceChangeType type,
+        DeviceResponse previous,
+        DeviceResponse current
+) {
+
+    public static DeviceChangeEvent created(DeviceResponse current) {
+        return new DeviceChangeEvent(DeviceChangeType.CREATED, null, current);
+    }
+
+    public static DeviceChangeEvent updated(DeviceResponse previous, DeviceResponse current) {
+        return new DeviceChangeEvent(DeviceChangeType.UPDATED, previous, current);
+    }
+
+    public static DeviceChangeEvent deleted(DeviceResponse previous) {
+        return new DeviceChangeEvent(DeviceChangeType.DELETED, previous, null);
+    }
+
+    public UUID deviceId() {
+        return current != null ? current.id() : previous.id();
+    }
+}
@@ -0,0 +1,7 @@
+package org.management.devices.event;
+
+public enum DeviceChangeType {
+    CREATED,
+    UPDATED,
+    DELETED
+}
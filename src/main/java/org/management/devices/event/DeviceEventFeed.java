@@ -0,0 +1,237 @@
+package org.management.devices.event;
+
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.management.devices.config.DeviceEventFeedProperties;
+import org.management.devices.domain.DeviceState;
+import org.management.devices.dto.DeviceResponse;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Fans the {@link DeviceChangeEvent}s of committed writes out to Server-Sent Events subscribers.
+ * <p>
+ * Every event gets a sequence number and is kept in a ring of the last {@code devices.events.replay-capacity}
+ * events; its SSE id is {@code <epoch>.<sequence>}, where the epoch identifies this node's run. A subscriber
+ * presenting such an id as {@code Last-Event-ID} is first sent what it missed. When that is no longer available
+ * (too old, or issued by another run or node) it is sent a {@value #RESET_EVENT} event and should reload its state
+ * from {@code GET /devices}.
+ * <p>
+ * Each subscriber has a bounded queue drained by its own virtual thread, so a slow client never holds up a
+ * writer. A subscriber whose queue overflows is disconnected; it can resume from the last id it received.
+ */
+@Slf4j
+@Component
+public class DeviceEventFeed {
+
+    public static final String RESET_EVENT = "reset";
+
+    private final DeviceEventFeedProperties properties;
+
+    private final String epoch = Long.toString(System.currentTimeMillis(), Character.MAX_RADIX);
+
+    private final ReentrantLock lock = new ReentrantLock();
+
+    private final SequencedEvent[] replay;
+
+    private long lastSequence;
+
+    private final Set<Subscriber> subscribers = ConcurrentHashMap.newKeySet();
+
+    public DeviceEventFeed(DeviceEventFeedProperties properties) {
+        this.properties = properties;
+        this.replay = new SequencedEvent[properties.replayCapacity()];
+    }
+
+    /**
+     * Sequencing and fan-out happen under one lock, so every subscriber sees events in sequence order and a
+     * subscription never misses or repeats an event published while it was being set up.
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onDeviceChange(DeviceChangeEvent event) {
+        lock.lock();
+        try {
+            SequencedEvent sequenced = new SequencedEvent(++lastSequence, event);
+            replay[(int) (sequenced.sequence() % replay.length)] = sequenced;
+            for (Subscriber subscriber : subscribers) {
+                if (subscriber.matches(event) && !subscriber.queue.offer(sequenced)) {
+                    subscribers.remove(subscriber);
+                    subscriber.overflowed = true;
+                }
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Subscribes to the events of devices matching {@code brand} and {@code state} ({@code null} matches any),
+     * before or after the change. An update moving a device out of the filter is therefore still delivered.
+     */
+    public SseEmitter subscribe(String brand, DeviceState state, String lastEventId) {
+        // Never time out; dead connections are detected by the failing heartbeat
+        SseEmitter emitter = new SseEmitter(0L);
+        Subscriber subscriber = new Subscriber(emitter, brand, state, properties.subscriberBufferSize());
+
+        Resumption resumption;
+        lock.lock();
+        try {
+            resumption = resume(subscriber, lastEventId);
+            subscribers.add(subscriber);
+        } finally {
+            lock.unlock();
+        }
+
+        emitter.onCompletion(() -> close(subscriber));
+        emitter.onTimeout(() -> close(subscriber));
+        emitter.onError(e -> close(subscriber));
+        subscriber.sender = Thread.ofVirtual()
+                .name("device-events-" + Integer.toHexString(System.identityHashCode(subscriber)))
+                .start(() -> deliver(subscriber, resumption));
+        return emitter;
+    }
+
+    public int subscriberCount() {
+        return subscribers.size();
+    }
+
+    private Resumption resume(Subscriber subscriber, String lastEventId) {
+        if (lastEventId == null || lastEventId.isBlank()) {
+            return new Resumption(false, List.of(), lastSequence);
+        }
+        long resumeAfter;
+        try {
+            int separator = lastEventId.indexOf('.');
+            if (separator < 0 || !lastEventId.substring(0, separator).equals(epoch)) {
+                return new Resumption(true, List.of(), lastSequence);
+            }
+            resumeAfter = Long.parseLong(lastEventId.substring(separator + 1));
+        } catch (NumberFormatException e) {
+            return new Resumption(true, List.of(), lastSequence);
+        }
+
+        long oldestRetained = Math.max(1, lastSequence - replay.length + 1);
+        if (resumeAfter > lastSequence || resumeAfter + 1 < oldestRetained) {
+            return new Resumption(true, List.of(), lastSequence);
+        }
+        List<SequencedEvent> missed = new ArrayList<>();
+        for (long sequence = resumeAfter + 1; sequence <= lastSequence; sequence++) {
+            SequencedEvent event = replay[(int) (sequence % replay.length)];
+            if (subscriber.matches(event.event())) {
+                missed.add(event);
+            }
+        }
+        return new Resumption(false, missed, lastSequence);
+    }
+
+    private void deliver(Subscriber subscriber, Resumption resumption) {
+        SseEmitter emitter = subscriber.emitter;
+        long heartbeatMillis = properties.heartbeatInterval().toMillis();
+        try {
+            // Commits the response headers, so the client sees the stream open before the first event
+            emitter.send(SseEmitter.event().comment("connected"));
+            if (resumption.reset()) {
+                emitter.send(SseEmitter.event()
+                        .id(eventId(resumption.position()))
+                        .name(RESET_EVENT)
+                        .data(Map.of("reason", "Missed events are no longer available; reload the devices."),
+                                MediaType.APPLICATION_JSON));
+            }
+            for (SequencedEvent event : resumption.missed()) {
+                send(emitter, event);
+            }
+            while (!subscriber.closed) {
+                SequencedEvent event = subscriber.queue.poll(heartbeatMillis, TimeUnit.MILLISECONDS);
+                if (subscriber.overflowed) {
+                    log.info("Disconnecting device event subscriber that fell {} events behind", properties.subscriberBufferSize());
+                    emitter.complete();
+                    return;
+                }
+                if (event == null) {
+                    emitter.send(SseEmitter.event().comment("heartbeat"));
+                } else {
+                    send(emitter, event);
+                }
+            }
+        } catch (IOException | IllegalStateException e) {
+            // The client went away; the container completes the emitter
+            close(subscriber);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void send(SseEmitter emitter, SequencedEvent event) throws IOException {
+        emitter.send(SseEmitter.event()
+                .id(eventId(event.sequence()))
+                .name(event.event().type().name())
+                .data(event.event(), MediaType.APPLICATION_JSON));
+    }
+
+    private String eventId(long sequence) {
+        return epoch + "." + sequence;
+    }
+
+    private void close(Subscriber subscriber) {
+        subscribers.remove(subscriber);
+        subscriber.closed = true;
+        Thread sender = subscriber.sender;
+        if (sender != null && sender != Thread.currentThread()) {
+            sender.interrupt();
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        for (Subscriber subscriber : subscribers) {
+            close(subscriber);
+            subscriber.emitter.complete();
+        }
+    }
+
+    private record SequencedEvent(long sequence, DeviceChangeEvent event) {
+    }
+
+    private record Resumption(boolean reset, List<SequencedEvent> missed, long position) {
+    }
+
+    private static final class Subscriber {
+        private final SseEmitter emitter;
+        private final String brand;
+        private final DeviceState state;
+        private final BlockingQueue<SequencedEvent> queue;
+        private volatile Thread sender;
+        private volatile boolean overflowed;
+        private volatile boolean closed;
+
+        Subscriber(SseEmitter emitter, String brand, DeviceState state, int bufferSize) {
+            this.emitter = emitter;
+            this.brand = brand;
+            this.state = state;
+            this.queue = new ArrayBlockingQueue<>(bufferSize);
+        }
+
+        boolean matches(DeviceChangeEvent event) {
+            return matches(event.previous()) || matches(event.current());
+        }
+
+        private boolean matches(DeviceResponse device) {
+            return device != null
+                    && (brand == null || brand.equals(device.brand()))
+                    && (state == null || state == device.state());
+        }
+    }
+}
@@ -0,0 +1,7 @@
+package org.management.devices.exception;
+
+public class DeviceClaimContendedException extends RuntimeException {
+    public DeviceClaimContendedException(String message) {
+        super(message);
+    }
+}
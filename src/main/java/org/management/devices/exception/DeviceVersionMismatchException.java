@@ -0,0 +1,7 @@
+package org.management.devices.exception;
+
+public class DeviceVersionMismatchException extends RuntimeException {
+    public DeviceVersionMismatchException(String message) {
+        super(message);
+    }
+}
@@ -1,23 +1,39 @@
 package org.management.devices.exception;
 
 import com.fasterxml.jackson.databind.exc.InvalidFormatException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.management.devices.config.MetricsConfig;
 import org.management.devices.dto.ErrorResponse;
+import org.springframework.core.codec.DecodingException;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.http.converter.HttpMessageNotReadableException;
+import org.springframework.validation.BindingResult;
 import org.springframework.validation.FieldError;
 import org.springframework.web.bind.MethodArgumentNotValidException;
+import org.springframework.web.bind.MissingServletRequestParameterException;
 import org.springframework.web.bind.annotation.ControllerAdvice;
 import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.support.WebExchangeBindException;
+import org.springframework.web.method.annotation.MethodArgumentTypeMismatchException;
+import org.springframework.web.server.ServerWebInputException;
 
 import java.time.Instant;
 import java.util.Arrays;
 import java.util.HashMap;
 import java.util.Map;
 
+@Slf4j
 @ControllerAdvice
+@RequiredArgsConstructor
 public class GlobalExceptionHandler {
 
+    private final MeterRegistry meterRegistry;
+
     @ExceptionHandler(DeviceNotFoundException.class)
     public ResponseEntity<ErrorResponse> handleNotFoundException(DeviceNotFoundException ex) {
         ErrorResponse error = new ErrorResponse(
@@ -26,6 +42,7 @@ public class GlobalExceptionHandler {
                 HttpStatus.NOT_FOUND.getReasonPhrase(),
                 ex.getMessage()
         );
+        countError(HttpStatus.NOT_FOUND, ex);
         return new ResponseEntity<>(error, HttpStatus.NOT_FOUND);
     }
 
@@ -37,13 +54,121 @@ public class GlobalExceptionHandler {
                 HttpStatus.CONFLICT.getReasonPhrase(),
                 ex.getMessage()
         );
+        countError(HttpStatus.CONFLICT, ex);
         return new ResponseEntity<>(error, HttpStatus.CONFLICT);
     }
 
+    @ExceptionHandler(DeviceVersionMismatchException.class)
+    public ResponseEntity<ErrorResponse> handlePreconditionFailedException(DeviceVersionMismatchException ex) {
+        ErrorResponse error = new ErrorResponse(
+                Instant.now(),
+                HttpStatus.PRECONDITION_FAILED.value(),
+                HttpStatus.PRECONDITION_FAILED.getReasonPhrase(),
+                ex.getMessage()
+        );
+        countError(HttpStatus.PRECONDITION_FAILED, ex);
+        return new ResponseEntity<>(error, HttpStatus.PRECONDITION_FAILED);
+    }
+
+    @ExceptionHandler(DeviceClaimContendedException.class)
+    public ResponseEntity<ErrorResponse> handleClaimContended(DeviceClaimContendedException ex) {
+        ErrorResponse error = new ErrorResponse(
+                Instant.now(),
+                HttpStatus.SERVICE_UNAVAILABLE.value(),
+                HttpStatus.SERVICE_UNAVAILABLE.getReasonPhrase(),
+                ex.getMessage()
+        );
+        countError(HttpStatus.SERVICE_UNAVAILABLE, ex);
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, "1")
+                .body(error);
+    }
+
+    @ExceptionHandler({InvalidCursorException.class, BatchSizeExceededException.class, InvalidBulkRequestException.class,
+            InvalidSearchQueryException.class, InvalidDeviceStateException.class})
+    public ResponseEntity<ErrorResponse> handleBadRequestExceptions(RuntimeException ex) {
+        ErrorResponse error = new ErrorResponse(
+                Instant.now(),
+                HttpStatus.BAD_REQUEST.value(),
+                HttpStatus.BAD_REQUEST.getReasonPhrase(),
+                ex.getMessage()
+        );
+        countError(HttpStatus.BAD_REQUEST, ex);
+        return new ResponseEntity<>(error, HttpStatus.BAD_REQUEST);
+    }
+
     @ExceptionHandler(MethodArgumentNotValidException.class)
     public ResponseEntity<ErrorResponse> handleValidationExceptions(MethodArgumentNotValidException ex) {
+        return validationFailed(ex.getBindingResult(), ex);
+    }
+
+    /**
+     * WebFlux counterpart of {@link MethodArgumentNotValidException}, raised by {@code @Valid} in the reactive profile.
+     */
+    @ExceptionHandler(WebExchangeBindException.class)
+    public ResponseEntity<ErrorResponse> handleValidationExceptions(WebExchangeBindException ex) {
+        return validationFailed(ex.getBindingResult(), ex);
+    }
+
+    @ExceptionHandler(HttpMessageNotReadableException.class)
+    public ResponseEntity<ErrorResponse> handleHttpMessageNotReadable(HttpMessageNotReadableException ex) {
+        return invalidRequestBody(ex.getCause(), ex);
+    }
+
+    /**
+     * A required request parameter is absent, or a parameter cannot be converted to its declared type.
+     */
+    @ExceptionHandler({MissingServletRequestParameterException.class, MethodArgumentTypeMismatchException.class})
+    public ResponseEntity<ErrorResponse> handleInvalidRequestParameter(Exception ex) {
+        String message = ex instanceof MethodArgumentTypeMismatchException mismatch
+                ? "Invalid value '" + mismatch.getValue() + "' for parameter '" + mismatch.getName() + "'."
+                : ex.getMessage();
+        ErrorResponse error = new ErrorResponse(
+                Instant.now(),
+                HttpStatus.BAD_REQUEST.value(),
+                HttpStatus.BAD_REQUEST.getReasonPhrase(),
+                message
+        );
+        countError(HttpStatus.BAD_REQUEST, ex);
+        return new ResponseEntity<>(error, HttpStatus.BAD_REQUEST);
+    }
+
+    /**
+     * WebFlux reports an unreadable body as a {@link ServerWebInputException} around the codec's
+     * {@link DecodingException}, which in turn wraps Jackson's exception. The same type covers malformed path
+     * variables and request parameters, which are answered with the framework's reason.
+     */
+    @ExceptionHandler(ServerWebInputException.class)
+    public ResponseEntity<ErrorResponse> handleServerWebInput(ServerWebInputException ex) {
+        if (ex.getCause() instanceof DecodingException decoding) {
+            return invalidRequestBody(decoding.getCause(), ex);
+        }
+        ErrorResponse error = new ErrorResponse(
+                Instant.now(),
+                HttpStatus.BAD_REQUEST.value(),
+                HttpStatus.BAD_REQUEST.getReasonPhrase(),
+                ex.getReason()
+        );
+        countError(HttpStatus.BAD_REQUEST, ex);
+        return new ResponseEntity<>(error, HttpStatus.BAD_REQUEST);
+    }
+
+    @ExceptionHandler(Exception.class)
+    public ResponseEntity<ErrorResponse> handleGenericException(Exception ex) {
+        ErrorResponse error = new ErrorResponse(
+                Instant.now(),
+                HttpStatus.INTERNAL_SERVER_ERROR.value(),
+                HttpStatus.INTERNAL_SERVER_ERROR.getReasonPhrase(),
+                "An unexpected error occurred. Please check server logs."
+        );
+        log.error("Unhandled exception", ex);
+        countError(HttpStatus.INTERNAL_SERVER_ERROR, ex);
+        return new ResponseEntity<>(error, HttpStatus.INTERNAL_SERVER_ERROR);
+    }
+
+    private ResponseEntity<ErrorResponse> validationFailed(BindingResult bindingResult, Exception ex) {
         Map<String, String> errors = new HashMap<>();
-        ex.getBindingResult().getAllErrors().forEach((error) -> {
+        bindingResult.getAllErrors().forEach((error) -> {
             String fieldName = ((FieldError) error).getField();
             String errorMessage = error.getDefaultMessage();
             errors.put(fieldName, errorMessage);
@@ -56,14 +181,14 @@ public class GlobalExceptionHandler {
                 "Input validation failed for fields.",
                 errors
         );
+        countError(HttpStatus.BAD_REQUEST, ex);
         return new ResponseEntity<>(error, HttpStatus.BAD_REQUEST);
     }
 
-    @ExceptionHandler(HttpMessageNotReadableException.class)
-    public ResponseEntity<ErrorResponse> handleHttpMessageNotReadable(HttpMessageNotReadableException ex) {
+    private ResponseEntity<ErrorResponse> invalidRequestBody(Throwable cause, Exception ex) {
         String message = "Invalid request body";
 
-        if (ex.getCause() instanceof InvalidFormatException ife) {
+        if (cause instanceof InvalidFormatException ife) {
             if (ife.getTargetType().isEnum()) {
                 message = String.format("Invalid value '%s' for field '%s'. Valid values are: %s",
                         ife.getValue(),
@@ -79,19 +204,19 @@ public class GlobalExceptionHandler {
                 HttpStatus.BAD_REQUEST.getReasonPhrase(),
                 message
         );
+        countError(HttpStatus.BAD_REQUEST, ex);
         return new ResponseEntity<>(error, HttpStatus.BAD_REQUEST);
     }
 
-    @ExceptionHandler(Exception.class)
-    public ResponseEntity<ErrorResponse> handleGenericException(Exception ex) {
-        ErrorResponse error = new ErrorResponse(
-                Instant.now(),
-                HttpStatus.INTERNAL_SERVER_ERROR.value(),
-                HttpStatus.INTERNAL_SERVER_ERROR.getReasonPhrase(),
-                "An unexpected error occurred. Please check server logs."
-        );
-        // Log the full stack trace here for debugging
-        ex.printStackTrace();
-        return new ResponseEntity<>(error, HttpStatus.INTERNAL_SERVER_ERROR);
+    /**
+     * One series per status and exception type; both sets are small and fixed, so the tag cardinality stays bounded.
+     */
+    private void countError(HttpStatus status, Exception ex) {
+        Counter.builder(MetricsConfig.ERROR_COUNTER)
+                .description("Requests answered with an error response, by status and exception")
+                .tag("status", String.valueOf(status.value()))
+                .tag("exception", ex.getClass().getSimpleName())
+                .register(meterRegistry)
+                .increment();
     }
 }
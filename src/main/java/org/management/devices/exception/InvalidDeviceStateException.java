@@ -0,0 +1,7 @@
+package org.management.devices.exception;
+
+public class InvalidDeviceStateException extends IllegalArgumentException {
+    public InvalidDeviceStateException(String message) {
+        super(message);
+    }
+}
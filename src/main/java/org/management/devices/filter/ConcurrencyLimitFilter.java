@@ -0,0 +1,154 @@
+package org.management.devices.filter;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.servlet.AsyncEvent;
+import jakarta.servlet.AsyncListener;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.management.devices.config.DeviceConcurrencyProperties;
+import org.management.devices.dto.ErrorResponse;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.time.Instant;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Caps the number of {@code /devices} requests in flight. With virtual threads every request gets its own thread,
+ * so without a cap a burst turns into thousands of threads parked on the connection pool until they time out.
+ * Here excess requests wait briefly for a permit and are otherwise answered with 503 and {@code Retry-After}.
+ * <p>
+ * A request that goes async, such as a streaming export, keeps its permit until the async processing completes,
+ * fails or times out, since its body is still being read from the database. Subscriptions to
+ * {@code GET /devices/events} stay open for as long as the client listens and hold no connection, so they are
+ * bounded separately by {@code max-event-streams} and never take a request permit.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(prefix = "devices.concurrency", name = "enabled", havingValue = "true")
+public class ConcurrencyLimitFilter extends OncePerRequestFilter {
+
+    private static final String EVENT_STREAM_PATH = "/devices/events";
+
+    private final DeviceConcurrencyProperties properties;
+
+    private final ObjectMapper objectMapper;
+
+    private final Semaphore permits;
+
+    private final Semaphore eventStreams;
+
+    public ConcurrencyLimitFilter(DeviceConcurrencyProperties properties, ObjectMapper objectMapper) {
+        this.properties = properties;
+        this.objectMapper = objectMapper;
+        this.permits = new Semaphore(properties.maxConcurrentRequests(), true);
+        this.eventStreams = new Semaphore(properties.maxEventStreams(), true);
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !request.getRequestURI().startsWith("/devices");
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        boolean eventStream = request.getRequestURI().equals(EVENT_STREAM_PATH);
+        Semaphore bound = eventStream ? eventStreams : permits;
+        if (!acquire(bound)) {
+            reject(response, eventStream);
+            return;
+        }
+        boolean async = false;
+        try {
+            filterChain.doFilter(request, response);
+            if (request.isAsyncStarted()) {
+                request.getAsyncContext().addListener(new ReleaseOnCompletion(bound));
+                async = true;
+            }
+        } finally {
+            if (!async) {
+                bound.release();
+            }
+        }
+    }
+
+    private boolean acquire(Semaphore bound) {
+        try {
+            return bound.tryAcquire(properties.acquireTimeout().toNanos(), TimeUnit.NANOSECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    private void reject(HttpServletResponse response, boolean eventStream) throws IOException {
+        if (eventStream) {
+            log.warn("Rejecting event stream: {} streams already open", properties.maxEventStreams());
+        } else {
+            log.warn("Rejecting request: {} requests already in flight", properties.maxConcurrentRequests());
+        }
+        ErrorResponse error = new ErrorResponse(
+                Instant.now(),
+                HttpStatus.SERVICE_UNAVAILABLE.value(),
+                HttpStatus.SERVICE_UNAVAILABLE.getReasonPhrase(),
+                eventStream ? "Too many open event streams; retry later." : "Too many concurrent requests; retry later."
+        );
+        response.setStatus(HttpStatus.SERVICE_UNAVAILABLE.value());
+        response.setHeader(HttpHeaders.RETRY_AFTER, "1");
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        objectMapper.writeValue(response.getOutputStream(), error);
+    }
+
+    /**
+     * Releases the permit of an async request once; {@code onError} and {@code onTimeout} are followed by
+     * {@code onComplete}.
+     */
+    private static final class ReleaseOnCompletion implements AsyncListener {
+
+        private final Semaphore bound;
+
+        private final AtomicBoolean released = new AtomicBoolean();
+
+        private ReleaseOnCompletion(Semaphore bound) {
+            this.bound = bound;
+        }
+
+        @Override
+        public void onComplete(AsyncEvent event) {
+            release();
+        }
+
+        @Override
+        public void onError(AsyncEvent event) {
+            release();
+        }
+
+        @Override
+        public void onTimeout(AsyncEvent event) {
+            release();
+        }
+
+        @Override
+        public void onStartAsync(AsyncEvent event) {
+            // Listeners are dropped when async processing is restarted; stay registered until it ends
+            event.getAsyncContext().addListener(this);
+        }
+
+        private void release() {
+            if (released.compareAndSet(false, true)) {
+                bound.release();
+            }
+        }
+    }
+}
@@ -0,0 +1,95 @@
+package org.management.devices.filter;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.Cookie;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.management.devices.config.DeviceReplicaProperties;
+import org.management.devices.datasource.ReadYourWrites;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.ResponseCookie;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+
+/**
+ * Keeps a client on the primary for {@code devices.replicas.read-your-writes-window} after it wrote, so it does not
+ * read its own write back from a replica that has not replayed it yet. Every write request is answered with a
+ * cookie holding the time of the write; reads carrying a recent one, and the write requests themselves (whose
+ * follow-up reads explain rejections), are pinned to the primary.
+ */
+@Component
+@ConditionalOnProperty(prefix = "devices.replicas", name = "enabled", havingValue = "true")
+public class ReadYourWritesFilter extends OncePerRequestFilter {
+
+    static final String LAST_WRITE_COOKIE = "devices-last-write";
+
+    private final DeviceReplicaProperties properties;
+
+    public ReadYourWritesFilter(DeviceReplicaProperties properties) {
+        this.properties = properties;
+    }
+
+    /**
+     * Heartbeats are written behind and never read back by the client that sent them.
+     */
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        String uri = request.getRequestURI();
+        return !uri.startsWith("/devices") || uri.endsWith("/heartbeat");
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        long now = System.currentTimeMillis();
+        boolean write = isWrite(request);
+        if (write) {
+            ResponseCookie cookie = ResponseCookie.from(LAST_WRITE_COOKIE, Long.toString(now))
+                    .path("/devices")
+                    .maxAge(properties.readYourWritesWindow())
+                    .httpOnly(true)
+                    .sameSite("Lax")
+                    .build();
+            response.addHeader(HttpHeaders.SET_COOKIE, cookie.toString());
+        }
+
+        if (!write && !wroteRecently(request, now)) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+        try (ReadYourWrites.Pin ignored = ReadYourWrites.pinToPrimary()) {
+            filterChain.doFilter(request, response);
+        }
+    }
+
+    private boolean isWrite(HttpServletRequest request) {
+        String method = request.getMethod();
+        return !HttpMethod.GET.matches(method) && !HttpMethod.HEAD.matches(method) && !HttpMethod.OPTIONS.matches(method);
+    }
+
+    /**
+     * The cookie's expiry is left to the client, so its timestamp is checked as well.
+     */
+    private boolean wroteRecently(HttpServletRequest request, long now) {
+        Cookie[] cookies = request.getCookies();
+        if (cookies == null) {
+            return false;
+        }
+        for (Cookie cookie : cookies) {
+            if (LAST_WRITE_COOKIE.equals(cookie.getName())) {
+                try {
+                    long lastWrite = Long.parseLong(cookie.getValue());
+                    return now - lastWrite < properties.readYourWritesWindow().toMillis();
+                } catch (NumberFormatException e) {
+                    return false;
+                }
+            }
+        }
+        return false;
+    }
+}
@@ -0,0 +1,201 @@
+package org.management.devices.heartbeat;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.management.devices.config.DeviceHeartbeatProperties;
+import org.management.devices.repository.DeviceHeartbeatRepository;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.TaskScheduler;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.BooleanSupplier;
+
+/**
+ * Coalesces device heartbeats in memory and writes them behind in batches, so tens of thousands of heartbeats per
+ * second cost a few {@code UPDATE} statements per flush instead of one write each.
+ * <p>
+ * Only the newest timestamp per device is kept. Ids are not checked on the way in, and failed batches are kept
+ * for the next flush, so the number of buffered devices is capped at {@code max-pending}: heartbeats of devices
+ * beyond it are dropped and counted until a flush makes room. The buffer is split into lock-striped partitions by
+ * device id: concurrent heartbeats of different devices rarely contend,
+ * and a flush swaps out one partition at a time. Every {@code devices.heartbeat.flush-interval} the buffered
+ * heartbeats are written {@code batch-size} devices per statement, which bounds how stale
+ * {@code last_seen_at} can be. A batch that cannot be written is merged back and retried by the next flush, and
+ * whatever is left at shutdown is flushed once more.
+ */
+@Slf4j
+@Component
+public class DeviceHeartbeatBuffer {
+
+    private final DeviceHeartbeatRepository heartbeatRepository;
+
+    private final DeviceHeartbeatProperties properties;
+
+    private final TaskScheduler taskScheduler;
+
+    private final Stripe[] stripes;
+
+    private final int stripeMask;
+
+    private final AtomicInteger pending = new AtomicInteger();
+
+    private final Counter received;
+
+    private final Counter dropped;
+
+    private final Counter written;
+
+    private final Timer flushTimer;
+
+    public DeviceHeartbeatBuffer(DeviceHeartbeatRepository heartbeatRepository, DeviceHeartbeatProperties properties,
+                                 TaskScheduler taskScheduler, MeterRegistry registry) {
+        this.heartbeatRepository = heartbeatRepository;
+        this.properties = properties;
+        this.taskScheduler = taskScheduler;
+        int stripeCount = properties.stripes() <= 1 ? 1 : Integer.highestOneBit(properties.stripes() - 1) << 1;
+        this.stripes = new Stripe[stripeCount];
+        for (int i = 0; i < stripeCount; i++) {
+            stripes[i] = new Stripe(this::reserve);
+        }
+        this.stripeMask = stripeCount - 1;
+        this.received = Counter.builder("devices.heartbeats.received").register(registry);
+        this.dropped = Counter.builder("devices.heartbeats.dropped")
+                .description("Heartbeats dropped because the buffer was full")
+                .register(registry);
+        this.written = Counter.builder("devices.heartbeats.written")
+                .description("Devices whose last_seen_at was updated by a flush")
+                .register(registry);
+        this.flushTimer = Timer.builder("devices.heartbeats.flush").register(registry);
+        Gauge.builder("devices.heartbeats.pending", this, DeviceHeartbeatBuffer::pending)
+                .description("Devices with a heartbeat waiting to be flushed")
+                .register(registry);
+    }
+
+    public void record(UUID deviceId, Instant seenAt) {
+        received.increment();
+        buffer(deviceId, seenAt);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        taskScheduler.scheduleWithFixedDelay(this::flush, properties.flushInterval());
+    }
+
+    /**
+     * Writes every buffered heartbeat and returns the number of devices updated.
+     */
+    public int flush() {
+        List<Map.Entry<UUID, Instant>> heartbeats = new ArrayList<>();
+        for (Stripe stripe : stripes) {
+            Map<UUID, Instant> drained = stripe.drain();
+            pending.addAndGet(-drained.size());
+            heartbeats.addAll(drained.entrySet());
+        }
+        if (heartbeats.isEmpty()) {
+            return 0;
+        }
+
+        return flushTimer.record(() -> {
+            int updated = 0;
+            for (int from = 0; from < heartbeats.size(); from += properties.batchSize()) {
+                List<Map.Entry<UUID, Instant>> batch = heartbeats.subList(from, Math.min(from + properties.batchSize(), heartbeats.size()));
+                try {
+                    updated += heartbeatRepository.updateLastSeen(batch);
+                } catch (RuntimeException e) {
+                    log.warn("Could not write {} heartbeats; keeping them for the next flush", batch.size(), e);
+                    batch.forEach(heartbeat -> buffer(heartbeat.getKey(), heartbeat.getValue()));
+                }
+            }
+            written.increment(updated);
+            return updated;
+        });
+    }
+
+    @PreDestroy
+    public void flushOnShutdown() {
+        int updated = flush();
+        log.info("Flushed {} buffered heartbeats on shutdown", updated);
+    }
+
+    public int pending() {
+        return pending.get();
+    }
+
+    private void buffer(UUID deviceId, Instant seenAt) {
+        if (!stripeOf(deviceId).merge(deviceId, seenAt)) {
+            dropped.increment();
+        }
+    }
+
+    /**
+     * Takes a slot for a device that is not buffered yet; {@code false} when the buffer is full.
+     */
+    private boolean reserve() {
+        return pending.getAndUpdate(count -> count < properties.maxPending() ? count + 1 : count) < properties.maxPending();
+    }
+
+    private Stripe stripeOf(UUID deviceId) {
+        int hash = deviceId.hashCode();
+        return stripes[(hash ^ (hash >>> 16)) & stripeMask];
+    }
+
+    private static final class Stripe {
+
+        private final ReentrantLock lock = new ReentrantLock();
+
+        private final BooleanSupplier reserve;
+
+        private Map<UUID, Instant> heartbeats = new HashMap<>();
+
+        Stripe(BooleanSupplier reserve) {
+            this.reserve = reserve;
+        }
+
+        /**
+         * Keeps the newer of the buffered and the offered timestamp; {@code false} when the device is not buffered
+         * and there is no room for it.
+         */
+        boolean merge(UUID deviceId, Instant seenAt) {
+            lock.lock();
+            try {
+                Instant current = heartbeats.get(deviceId);
+                if (current == null) {
+                    if (!reserve.getAsBoolean()) {
+                        return false;
+                    }
+                    heartbeats.put(deviceId, seenAt);
+                } else if (seenAt.isAfter(current)) {
+                    heartbeats.put(deviceId, seenAt);
+                }
+                return true;
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        Map<UUID, Instant> drain() {
+            lock.lock();
+            try {
+                Map<UUID, Instant> drained = heartbeats;
+                heartbeats = new HashMap<>();
+                return drained;
+            } finally {
+                lock.unlock();
+            }
+        }
+
+    }
+}
@@ -0,0 +1,302 @@
+package org.management.devices.index;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.management.devices.datasource.ReadYourWrites;
+import org.management.devices.domain.DeviceState;
+import org.management.devices.dto.DeviceCursor;
+import org.management.devices.dto.DevicePage;
+import org.management.devices.dto.DeviceResponse;
+import org.management.devices.event.DeviceChangeEvent;
+import org.management.devices.service.DeviceService;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Consumer;
+
+/**
+ * Optional in-memory secondary index answering the device list queries without touching the database.
+ * <p>
+ * Every device gets a dense ordinal; there is one bitmap per {@link DeviceState} and one per dictionary-encoded
+ * brand, so a brand+state filter is the intersection of two bitmaps. The database is only read to rebuild the
+ * index at startup; afterwards it is kept current from the {@link DeviceChangeEvent}s of committed writes.
+ * <p>
+ * Events may be delivered out of commit order, so each slot keeps the version of its device and a change that
+ * is not newer is ignored; a deleted device keeps its slot as a tombstone, so a late update cannot bring it back.
+ * <p>
+ * Pages follow ordinal order, which is creation order; devices created concurrently within the same instant may
+ * appear in commit order rather than strict {@code (createdAt, id)} order. A cursor whose device this index has
+ * never seen (e.g. issued by another node) cannot be resumed here and the caller falls back to the database.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(prefix = "devices.index.bitmap", name = "enabled", havingValue = "true")
+@RequiredArgsConstructor
+public class DeviceBitmapIndex {
+
+    private final DeviceService deviceService;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private Bitmaps bitmaps = new Bitmaps();
+    private List<Consumer<Bitmaps>> pendingDuringRebuild;
+    private boolean ready;
+
+    /**
+     * Returns the page for the given filters, or empty when the index cannot answer (not built yet or unknown cursor).
+     * {@code null} filters match every device.
+     */
+    public Optional<DevicePage> page(String brand, DeviceState state, DeviceCursor after, int limit) {
+        lock.readLock().lock();
+        try {
+            if (!ready) {
+                return Optional.empty();
+            }
+            return Optional.ofNullable(bitmaps.page(brand, state, after, limit));
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return bitmaps.live.cardinality();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onDeviceChange(DeviceChangeEvent event) {
+        change(bitmaps -> bitmaps.apply(event));
+    }
+
+    /**
+     * Brings one device in line with the database after a change made elsewhere; {@code current} is {@code null}
+     * when the device no longer exists, and then no later version of it can be applied.
+     */
+    public void refresh(UUID id, DeviceResponse current) {
+        change(bitmaps -> {
+            if (current != null) {
+                bitmaps.upsert(current);
+            } else {
+                bitmaps.remove(id, Long.MAX_VALUE);
+            }
+        });
+    }
+
+    private void change(Consumer<Bitmaps> change) {
+        lock.writeLock().lock();
+        try {
+            if (pendingDuringRebuild != null) {
+                pendingDuringRebuild.add(change);
+            }
+            change.accept(bitmaps);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Rebuilds the index from a full scan. Changes committed while the scan runs are recorded and replayed on top
+     * of the new bitmaps before they replace the current ones; replaying is idempotent, and a change the scan
+     * already saw is ignored by its version.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        lock.writeLock().lock();
+        try {
+            pendingDuringRebuild = new ArrayList<>();
+        } finally {
+            lock.writeLock().unlock();
+        }
+
+        Bitmaps rebuilt = new Bitmaps();
+        try {
+            // Only changes committed on this node are replayed, so the scan must not miss any a replica lacks
+            ReadYourWrites.onPrimary(() -> deviceService.exportAll(rebuilt::upsert));
+        } catch (RuntimeException e) {
+            lock.writeLock().lock();
+            try {
+                pendingDuringRebuild = null;
+            } finally {
+                lock.writeLock().unlock();
+            }
+            throw e;
+        }
+
+        lock.writeLock().lock();
+        try {
+            pendingDuringRebuild.forEach(change -> change.accept(rebuilt));
+            pendingDuringRebuild = null;
+            bitmaps = rebuilt;
+            ready = true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+        log.info("Device bitmap index rebuilt with {} devices and {} brands", rebuilt.live.cardinality(), rebuilt.brandCodes.size());
+    }
+
+    /**
+     * Ordinals are never reused until the next rebuild, so a deleted device keeps its slot and cursors pointing
+     * at it can still be resumed. {@code versions} holds the version of each slot's row, or of its deletion.
+     */
+    private static final class Bitmaps {
+        private final List<DeviceResponse> rows = new ArrayList<>();
+        private final List<Long> versions = new ArrayList<>();
+        private final Map<UUID, Integer> ordinals = new HashMap<>();
+        private final BitSet live = new BitSet();
+        private final Map<DeviceState, BitSet> byState = new EnumMap<>(DeviceState.class);
+        private final Map<String, Integer> brandCodes = new HashMap<>();
+        private final List<BitSet> byBrand = new ArrayList<>();
+
+        Bitmaps() {
+            for (DeviceState state : DeviceState.values()) {
+                byState.put(state, new BitSet());
+            }
+        }
+
+        void apply(DeviceChangeEvent event) {
+            if (event.current() != null) {
+                upsert(event.current());
+            } else {
+                remove(event.deviceId(), event.previous().version());
+            }
+        }
+
+        void upsert(DeviceResponse device) {
+            Integer ordinal = ordinals.get(device.id());
+            if (ordinal == null) {
+                ordinal = rows.size();
+                rows.add(device);
+                versions.add(device.version());
+                ordinals.put(device.id(), ordinal);
+            } else {
+                if (device.version() <= versions.get(ordinal)) {
+                    return;
+                }
+                DeviceResponse existing = rows.get(ordinal);
+                if (existing != null) {
+                    clearBits(ordinal, existing);
+                }
+                rows.set(ordinal, device);
+                versions.set(ordinal, device.version());
+            }
+            live.set(ordinal);
+            byState.get(device.state()).set(ordinal);
+            brandBitmap(device.brand()).set(ordinal);
+        }
+
+        /**
+         * Deleting is final, so it applies whatever version the slot holds. The tombstone keeps the highest version
+         * seen, which no late update of the device can exceed; a device not seen yet gets one too, in case its
+         * creation arrives late.
+         */
+        void remove(UUID id, long version) {
+            Integer ordinal = ordinals.get(id);
+            if (ordinal == null) {
+                ordinals.put(id, rows.size());
+                rows.add(null);
+                versions.add(version);
+                return;
+            }
+            DeviceResponse existing = rows.get(ordinal);
+            if (existing != null) {
+                clearBits(ordinal, existing);
+                rows.set(ordinal, null);
+            }
+            versions.set(ordinal, Math.max(version, versions.get(ordinal)));
+        }
+
+        DevicePage page(String brand, DeviceState state, DeviceCursor after, int limit) {
+            List<BitSet> filters = new ArrayList<>(3);
+            filters.add(live);
+            if (brand != null) {
+                Integer code = brandCodes.get(brand);
+                if (code == null) {
+                    return new DevicePage(List.of(), null);
+                }
+                filters.add(byBrand.get(code));
+            }
+            if (state != null) {
+                filters.add(byState.get(state));
+            }
+
+            int from = 0;
+            if (after != null) {
+                Integer cursorOrdinal = ordinals.get(after.id());
+                if (cursorOrdinal == null) {
+                    return null;
+                }
+                from = cursorOrdinal + 1;
+            }
+
+            List<DeviceResponse> items = new ArrayList<>(Math.min(limit, 256));
+            int ordinal = intersectFrom(filters, from);
+            while (ordinal >= 0 && items.size() < limit) {
+                items.add(rows.get(ordinal));
+                ordinal = intersectFrom(filters, ordinal + 1);
+            }
+
+            String nextCursor = null;
+            if (ordinal >= 0) {
+                DeviceResponse last = items.get(items.size() - 1);
+                nextCursor = new DeviceCursor(last.createdAt(), last.id()).encode();
+            }
+            return new DevicePage(items, nextCursor);
+        }
+
+        /**
+         * Smallest ordinal {@code >= from} set in every bitmap, or {@code -1}. Each bitmap in turn leapfrogs to the
+         * current candidate, skipping whole words of clear bits, so the cost follows the page rather than the table.
+         */
+        private static int intersectFrom(List<BitSet> bitmaps, int from) {
+            int candidate = from;
+            int agreeing = 0;
+            int i = 0;
+            while (agreeing < bitmaps.size()) {
+                int next = bitmaps.get(i).nextSetBit(candidate);
+                if (next < 0) {
+                    return -1;
+                }
+                if (next == candidate) {
+                    agreeing++;
+                } else {
+                    candidate = next;
+                    agreeing = 1;
+                }
+                i = (i + 1) % bitmaps.size();
+            }
+            return candidate;
+        }
+
+        private void clearBits(int ordinal, DeviceResponse device) {
+            live.clear(ordinal);
+            byState.get(device.state()).clear(ordinal);
+            byBrand.get(brandCodes.get(device.brand())).clear(ordinal);
+        }
+
+        private BitSet brandBitmap(String brand) {
+            Integer code = brandCodes.get(brand);
+            if (code == null) {
+                code = byBrand.size();
+                byBrand.add(new BitSet());
+                brandCodes.put(brand, code);
+            }
+            return byBrand.get(code);
+        }
+    }
+}
@@ -13,6 +13,7 @@ public interface DeviceMapper {
 
     @Mapping(target = "id", ignore = true)
     @Mapping(target = "createdAt", ignore = true)
+    @Mapping(target = "version", ignore = true)
     @Mapping(target = "state", source = "state", qualifiedByName = "mapState")
     Device toEntity(DeviceCreateRequest request);
 
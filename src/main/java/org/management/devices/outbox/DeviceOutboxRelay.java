@@ -0,0 +1,121 @@
+package org.management.devices.outbox;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.management.devices.config.DeviceOutboxProperties;
+import org.management.devices.repository.DeviceOutboxMessage;
+import org.management.devices.repository.DeviceOutboxRepository;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.TaskScheduler;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionOperations;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * Drains the outbox into the configured {@link DeviceOutboxSink}. Each batch is claimed, handed to the sink and
+ * deleted in one transaction: a failing sink rolls the batch back into the outbox, and a batch is only deleted once
+ * the sink accepted it. Delivery is therefore at least once.
+ * <p>
+ * Every node runs a relay; {@code SKIP LOCKED} gives them disjoint batches. Batches relayed by different nodes may
+ * overtake each other, so consumers order the changes of a device by its {@code version}.
+ * <p>
+ * Meters: {@code devices.outbox.lag} (time from the change to its hand-off to the sink),
+ * {@code devices.outbox.oldest.age} (age of the oldest row still waiting, sampled after every drain),
+ * {@code devices.outbox.published} and {@code devices.outbox.failures}.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(prefix = "devices.outbox", name = "enabled", havingValue = "true")
+public class DeviceOutboxRelay {
+
+    private final DeviceOutboxRepository outboxRepository;
+
+    private final DeviceOutboxSink sink;
+
+    private final TransactionOperations transactionOperations;
+
+    private final TaskScheduler taskScheduler;
+
+    private final DeviceOutboxProperties properties;
+
+    private final Timer lag;
+
+    private final Counter published;
+
+    private final Counter failures;
+
+    private volatile Instant oldestPending;
+
+    public DeviceOutboxRelay(DeviceOutboxRepository outboxRepository, DeviceOutboxSink sink,
+                             TransactionOperations transactionOperations, TaskScheduler taskScheduler,
+                             DeviceOutboxProperties properties, MeterRegistry registry) {
+        this.outboxRepository = outboxRepository;
+        this.sink = sink;
+        this.transactionOperations = transactionOperations;
+        this.taskScheduler = taskScheduler;
+        this.properties = properties;
+        this.lag = Timer.builder("devices.outbox.lag")
+                .description("Time from a device change to its hand-off to the outbox sink")
+                .register(registry);
+        this.published = Counter.builder("devices.outbox.published").register(registry);
+        this.failures = Counter.builder("devices.outbox.failures").register(registry);
+        Gauge.builder("devices.outbox.oldest.age", this, DeviceOutboxRelay::oldestPendingSeconds)
+                .description("Age of the oldest device change waiting in the outbox")
+                .baseUnit("seconds")
+                .register(registry);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        taskScheduler.scheduleWithFixedDelay(this::drain, properties.pollInterval());
+    }
+
+    /**
+     * Relays batches until the outbox is empty or a batch fails, and returns the number of changes relayed.
+     */
+    public int drain() {
+        int total = 0;
+        try {
+            int relayed;
+            do {
+                relayed = relayBatch();
+                total += relayed;
+            } while (relayed == properties.batchSize());
+        } catch (RuntimeException e) {
+            failures.increment();
+            log.warn("Outbox relay failed after {} changes; the failed batch stays in the outbox", total, e);
+        }
+        oldestPending = outboxRepository.oldestCreatedAt().orElse(null);
+        return total;
+    }
+
+    private int relayBatch() {
+        List<DeviceOutboxMessage> batch = transactionOperations.execute(status -> {
+            List<DeviceOutboxMessage> claimed = outboxRepository.claimBatch(properties.batchSize());
+            if (!claimed.isEmpty()) {
+                sink.publish(claimed);
+            }
+            return claimed;
+        });
+        if (batch == null || batch.isEmpty()) {
+            return 0;
+        }
+        Instant now = Instant.now();
+        batch.forEach(message -> lag.record(Duration.between(message.createdAt(), now)));
+        published.increment(batch.size());
+        return batch.size();
+    }
+
+    private double oldestPendingSeconds() {
+        Instant oldest = oldestPending;
+        return oldest != null ? Duration.between(oldest, Instant.now()).toMillis() / 1000.0 : 0;
+    }
+}
@@ -0,0 +1,14 @@
+package org.management.devices.outbox;
+
+import org.management.devices.repository.DeviceOutboxMessage;
+
+import java.util.List;
+
+/**
+ * Destination of relayed device changes. A batch counts as delivered when {@link #publish} returns; if it throws,
+ * the batch stays in the outbox and is offered again, so sinks must tolerate redelivery.
+ */
+public interface DeviceOutboxSink {
+
+    void publish(List<DeviceOutboxMessage> messages);
+}
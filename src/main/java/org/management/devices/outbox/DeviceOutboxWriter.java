@@ -0,0 +1,33 @@
+package org.management.devices.outbox;
+
+import org.management.devices.event.BeforeCommitBatcher;
+import org.management.devices.event.DeviceChangeEvent;
+import org.management.devices.repository.DeviceOutboxRepository;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+/**
+ * Records device changes in the outbox within the transaction that made them, so a change and its outbox row
+ * commit or roll back together. The events of one transaction are inserted as a single JDBC batch just before
+ * commit, which keeps a batch create of a thousand devices at one extra round trip.
+ * <p>
+ * The reactive profile has no JDBC transaction to join; its service appends the rows in its R2DBC transaction.
+ */
+@Component
+@ConditionalOnProperty(prefix = "devices.outbox", name = "enabled", havingValue = "true")
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+public class DeviceOutboxWriter {
+
+    private final BeforeCommitBatcher<DeviceChangeEvent> pending;
+
+    public DeviceOutboxWriter(DeviceOutboxRepository outboxRepository) {
+        this.pending = new BeforeCommitBatcher<>(outboxRepository::insertAll);
+    }
+
+    @EventListener
+    public void onDeviceChange(DeviceChangeEvent event) {
+        pending.add(event);
+    }
+}
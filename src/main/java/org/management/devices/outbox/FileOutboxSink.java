@@ -0,0 +1,38 @@
+package org.management.devices.outbox;
+
+import lombok.RequiredArgsConstructor;
+import org.management.devices.config.DeviceOutboxProperties;
+import org.management.devices.repository.DeviceOutboxMessage;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+
+/**
+ * Appends every relayed change to {@code devices.outbox.file}, one JSON event per line, with one write per batch.
+ */
+@Component
+@ConditionalOnProperty(prefix = "devices.outbox", name = "sink", havingValue = "file")
+@RequiredArgsConstructor
+public class FileOutboxSink implements DeviceOutboxSink {
+
+    private final DeviceOutboxProperties properties;
+
+    @Override
+    public synchronized void publish(List<DeviceOutboxMessage> messages) {
+        try (BufferedWriter writer = Files.newBufferedWriter(properties.file(),
+                StandardOpenOption.CREATE, StandardOpenOption.APPEND)) {
+            for (DeviceOutboxMessage message : messages) {
+                writer.write(message.payload());
+                writer.newLine();
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not append to outbox file " + properties.file(), e);
+        }
+    }
+}
@@ -0,0 +1,24 @@
+package org.management.devices.outbox;
+
+import lombok.extern.slf4j.Slf4j;
+import org.management.devices.repository.DeviceOutboxMessage;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * Logs every relayed change; meant for development and for checking what the outbox produces.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(prefix = "devices.outbox", name = "sink", havingValue = "log", matchIfMissing = true)
+public class LoggingOutboxSink implements DeviceOutboxSink {
+
+    @Override
+    public void publish(List<DeviceOutboxMessage> messages) {
+        for (DeviceOutboxMessage message : messages) {
+            log.info("Device {} {}: {}", message.deviceId(), message.type(), message.payload());
+        }
+    }
+}
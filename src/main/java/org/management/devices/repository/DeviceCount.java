@@ -0,0 +1,8 @@
+package org.management.devices.repository;
+
+import org.management.devices.domain.DeviceState;
+
+/**
+ * Number of devices of one brand in one state.
+ */
+public record DeviceCount(String brand, DeviceState state, long count) {}
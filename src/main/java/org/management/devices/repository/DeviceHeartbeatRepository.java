@@ -0,0 +1,52 @@
+package org.management.devices.repository;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Writes {@code last_seen_at} for many devices in one statement. Heartbeats are not device changes: the version is
+ * left alone, so ETags and cached devices stay valid, and no change event is published.
+ * <p>
+ * As in {@link DeviceRepositoryCustomImpl#UPDATE_MATCHING}, the rows are locked by an ordered {@code FOR UPDATE}
+ * subselect before they are updated, so flushes from different nodes take their locks in the same order whatever
+ * plan the join gets.
+ */
+@Repository
+@RequiredArgsConstructor
+public class DeviceHeartbeatRepository {
+
+    private static final String UPDATE_LAST_SEEN = """
+            WITH v(id, seen_at) AS (VALUES %s)
+            UPDATE devices d
+            SET last_seen_at = v.seen_at
+            FROM v, (SELECT id FROM devices WHERE id IN (SELECT id FROM v) ORDER BY id FOR UPDATE) locked
+            WHERE d.id = locked.id
+              AND d.id = v.id
+              AND (d.last_seen_at IS NULL OR d.last_seen_at < v.seen_at)""";
+
+    private static final String VALUES_ROW = "(CAST(? AS uuid), CAST(? AS timestamptz))";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * Never moves {@code last_seen_at} backwards, so heartbeats flushed out of order by different nodes are harmless.
+     * Unknown ids match no row and are ignored. Returns the number of devices updated.
+     */
+    public int updateLastSeen(List<Map.Entry<UUID, Instant>> heartbeats) {
+        String sql = UPDATE_LAST_SEEN.formatted(String.join(", ", Collections.nCopies(heartbeats.size(), VALUES_ROW)));
+        Object[] args = new Object[heartbeats.size() * 2];
+        for (int i = 0; i < heartbeats.size(); i++) {
+            args[2 * i] = heartbeats.get(i).getKey();
+            args[2 * i + 1] = heartbeats.get(i).getValue().atOffset(ZoneOffset.UTC);
+        }
+        return jdbcTemplate.update(sql, args);
+    }
+}
@@ -0,0 +1,38 @@
+package org.management.devices.repository;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.UUID;
+
+/**
+ * PostgreSQL notifications about changed devices. {@code NOTIFY} is transactional: notifications sent inside a
+ * transaction are delivered when it commits and dropped when it rolls back.
+ */
+@Repository
+@RequiredArgsConstructor
+public class DeviceNotificationRepository {
+
+    /**
+     * One statement for any number of devices; each notification's payload is {@code <origin>:<device id>}. Also sent
+     * by {@link ReactiveDeviceRepository}.
+     */
+    static final String NOTIFY_CHANGED = """
+            SELECT pg_notify(:channel, CAST(:origin AS text) || ':' || CAST(id AS text))
+            FROM unnest(:ids) AS id""";
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+
+    public void notifyChanged(String channel, String origin, Collection<UUID> ids) {
+        MapSqlParameterSource params = new MapSqlParameterSource()
+                .addValue("channel", channel)
+                .addValue("origin", origin)
+                .addValue("ids", DeviceRepositoryCustomImpl.uuidArray(ids));
+        jdbcTemplate.query(NOTIFY_CHANGED, params, (RowCallbackHandler) rs -> {
+        });
+    }
+}
@@ -0,0 +1,17 @@
+package org.management.devices.repository;
+
+import org.management.devices.event.DeviceChangeType;
+
+import java.time.Instant;
+import java.util.UUID;
+
+/**
+ * A relayed outbox row; {@code payload} is the {@code DeviceChangeEvent} as JSON.
+ */
+public record DeviceOutboxMessage(
+        long id,
+        UUID deviceId,
+        DeviceChangeType type,
+        String payload,
+        Instant createdAt
+) {}
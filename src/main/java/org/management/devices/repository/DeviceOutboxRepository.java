@@ -0,0 +1,88 @@
+package org.management.devices.repository;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import org.management.devices.event.DeviceChangeEvent;
+import org.management.devices.event.DeviceChangeType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.stereotype.Repository;
+
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * Plain JDBC access to {@code device_outbox}. Both statements join the caller's transaction: rows are appended in
+ * the transaction of the change they record, and claimed rows are only gone once the relay's transaction commits.
+ */
+@Repository
+@RequiredArgsConstructor
+public class DeviceOutboxRepository {
+
+    private static final String INSERT = """
+            INSERT INTO device_outbox (device_id, event_type, payload)
+            VALUES (?, ?, CAST(? AS jsonb))""";
+
+    /**
+     * {@code SKIP LOCKED} lets relays on several nodes claim disjoint batches instead of queueing behind each other.
+     */
+    private static final String CLAIM_BATCH = """
+            DELETE FROM device_outbox
+            WHERE id IN (SELECT id FROM device_outbox ORDER BY id LIMIT ? FOR UPDATE SKIP LOCKED)
+            RETURNING id, device_id, event_type, payload, created_at""";
+
+    private static final String OLDEST_CREATED_AT = """
+            SELECT created_at FROM device_outbox ORDER BY id LIMIT 1""";
+
+    private static final RowMapper<DeviceOutboxMessage> MESSAGE_ROW = (rs, rowNum) -> new DeviceOutboxMessage(
+            rs.getLong("id"),
+            rs.getObject("device_id", UUID.class),
+            DeviceChangeType.valueOf(rs.getString("event_type")),
+            rs.getString("payload"),
+            rs.getObject("created_at", OffsetDateTime.class).toInstant()
+    );
+
+    private final JdbcTemplate jdbcTemplate;
+
+    private final ObjectMapper objectMapper;
+
+    public void insertAll(List<DeviceChangeEvent> events) {
+        List<Object[]> rows = new ArrayList<>(events.size());
+        for (DeviceChangeEvent event : events) {
+            rows.add(new Object[]{event.deviceId(), event.type().name(), payloadOf(objectMapper, event)});
+        }
+        jdbcTemplate.batchUpdate(INSERT, rows);
+    }
+
+    /**
+     * Deletes up to {@code limit} of the oldest unclaimed rows and returns them in id order.
+     */
+    public List<DeviceOutboxMessage> claimBatch(int limit) {
+        List<DeviceOutboxMessage> messages = new ArrayList<>(jdbcTemplate.query(CLAIM_BATCH, MESSAGE_ROW, limit));
+        messages.sort(Comparator.comparingLong(DeviceOutboxMessage::id));
+        return messages;
+    }
+
+    public Optional<Instant> oldestCreatedAt() {
+        return jdbcTemplate.query(OLDEST_CREATED_AT, (rs, rowNum) -> rs.getObject(1, OffsetDateTime.class).toInstant())
+                .stream().findFirst();
+    }
+
+    /**
+     * The {@code payload} column of an event; shared with {@link ReactiveDeviceRepository}, which appends rows over
+     * R2DBC.
+     */
+    static String payloadOf(ObjectMapper objectMapper, DeviceChangeEvent event) {
+        try {
+            return objectMapper.writeValueAsString(event);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Device change event could not be serialized", e);
+        }
+    }
+}
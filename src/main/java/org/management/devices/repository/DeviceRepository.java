@@ -1,18 +1,96 @@
 package org.management.devices.repository;
 
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.management.devices.domain.Device;
 import org.management.devices.domain.DeviceState;
+import org.management.devices.dto.DeviceResponse;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.time.Instant;
 import java.util.List;
+import java.util.Optional;
 import java.util.UUID;
+import java.util.stream.Stream;
 
-public interface DeviceRepository extends JpaRepository<Device, UUID> {
+/**
+ * Page queries are keyset based: every query orders by {@code (createdAt, id)} and the "after" variants
+ * start right behind the last row of the previous page, so each page is a bounded index range scan.
+ * The redundant {@code createdAt >= :createdAt} predicate gives the planner a range start on the index.
+ * <p>
+ * Reads project straight into {@link DeviceResponse}: no entity is instantiated, snapshotted for dirty checking
+ * or registered in the persistence context. They run in read-only transactions, in which Hibernate never flushes.
+ */
+public interface DeviceRepository extends JpaRepository<Device, UUID>, DeviceRepositoryCustom {
 
-    List<Device> findByBrand(String brand);
+    String RESPONSE = "SELECT new org.management.devices.dto.DeviceResponse("
+            + "d.id, d.name, d.brand, d.state, d.createdAt, d.version) FROM Device d";
 
-    List<Device> findByState(DeviceState state);
+    String AFTER_CURSOR = "d.createdAt >= :createdAt AND (d.createdAt > :createdAt OR d.id > :id)";
 
-    List<Device> findByBrandAndState(String brand, DeviceState state);
-}
+    String PAGE_ORDER = " ORDER BY d.createdAt, d.id";
+
+    @Transactional(readOnly = true)
+    @Query(RESPONSE + " WHERE d.id = :id")
+    Optional<DeviceResponse> findResponseById(@Param("id") UUID id);
+
+    @Transactional(readOnly = true)
+    @Query(RESPONSE + PAGE_ORDER)
+    List<DeviceResponse> findPage(Pageable pageable);
+
+    @Transactional(readOnly = true)
+    @Query("SELECT new org.management.devices.repository.DeviceCount(d.brand, d.state, COUNT(d)) "
+            + "FROM Device d GROUP BY d.brand, d.state")
+    List<DeviceCount> countByBrandAndState();
+
+    /**
+     * Streams every device over a server-side cursor; must be consumed inside a read-only transaction
+     * and closed afterwards.
+     */
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"),
+            @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "false")
+    })
+    @Query(RESPONSE + PAGE_ORDER)
+    Stream<DeviceResponse> streamAll();
+
+    @Transactional(readOnly = true)
+    @Query(RESPONSE + " WHERE " + AFTER_CURSOR + PAGE_ORDER)
+    List<DeviceResponse> findPageAfter(@Param("createdAt") Instant createdAt, @Param("id") UUID id, Pageable pageable);
 
+    @Transactional(readOnly = true)
+    @Query(RESPONSE + " WHERE d.brand = :brand" + PAGE_ORDER)
+    List<DeviceResponse> findPageByBrand(@Param("brand") String brand, Pageable pageable);
+
+    @Transactional(readOnly = true)
+    @Query(RESPONSE + " WHERE d.brand = :brand AND " + AFTER_CURSOR + PAGE_ORDER)
+    List<DeviceResponse> findPageByBrandAfter(@Param("brand") String brand,
+                                              @Param("createdAt") Instant createdAt, @Param("id") UUID id,
+                                              Pageable pageable);
+
+    @Transactional(readOnly = true)
+    @Query(RESPONSE + " WHERE d.state = :state" + PAGE_ORDER)
+    List<DeviceResponse> findPageByState(@Param("state") DeviceState state, Pageable pageable);
+
+    @Transactional(readOnly = true)
+    @Query(RESPONSE + " WHERE d.state = :state AND " + AFTER_CURSOR + PAGE_ORDER)
+    List<DeviceResponse> findPageByStateAfter(@Param("state") DeviceState state,
+                                              @Param("createdAt") Instant createdAt, @Param("id") UUID id,
+                                              Pageable pageable);
+
+    @Transactional(readOnly = true)
+    @Query(RESPONSE + " WHERE d.brand = :brand AND d.state = :state" + PAGE_ORDER)
+    List<DeviceResponse> findPageByBrandAndState(@Param("brand") String brand, @Param("state") DeviceState state,
+                                                 Pageable pageable);
+
+    @Transactional(readOnly = true)
+    @Query(RESPONSE + " WHERE d.brand = :brand AND d.state = :state AND " + AFTER_CURSOR + PAGE_ORDER)
+    List<DeviceResponse> findPageByBrandAndStateAfter(@Param("brand") String brand, @Param("state") DeviceState state,
+                                                      @Param("createdAt") Instant createdAt, @Param("id") UUID id,
+                                                      Pageable pageable);
+}
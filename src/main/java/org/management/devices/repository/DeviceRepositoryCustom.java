@@ -0,0 +1,65 @@
+package org.management.devices.repository;
+
+import org.management.devices.domain.DeviceState;
+import org.management.devices.dto.DeviceResponse;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * Set-based statements that Spring Data cannot derive, implemented with plain JDBC in {@link DeviceRepositoryCustomImpl}.
+ */
+public interface DeviceRepositoryCustom {
+
+    /**
+     * Applies the non-null values to every selected device that passes the IN_USE guard (an IN_USE device keeps its
+     * name and brand) in a single {@code UPDATE}, and returns the changed rows. Every changed row's version is
+     * incremented.
+     */
+    List<DeviceRowChange> updateMatching(DeviceSelector selector, String name, String brand, DeviceState state);
+
+    /**
+     * Single-row form of {@link #updateMatching} that additionally requires the row to be at {@code expectedVersion}
+     * (unless it is {@code null}). Empty when the device does not exist, is at another version or fails the guard.
+     */
+    Optional<DeviceRowChange> updateIfMatches(UUID id, Long expectedVersion, String name, String brand, DeviceState state);
+
+    /**
+     * Moves the oldest AVAILABLE device (of {@code brand}, unless it is {@code null}) to IN_USE in a single statement
+     * and returns the change. Devices locked by concurrent claims are skipped rather than waited for, so concurrent
+     * claimers each get a different device. Empty when no unlocked AVAILABLE device is left.
+     */
+    Optional<DeviceRowChange> claimAvailable(String brand);
+
+    /**
+     * Whether any AVAILABLE device (of {@code brand}, unless it is {@code null}) exists, including those held by other
+     * transactions; tells an exhausted pool from one whose devices are only locked for the moment.
+     */
+    boolean existsAvailable(String brand);
+
+    /**
+     * Moves the device from IN_USE back to AVAILABLE, provided it is at {@code expectedVersion} (unless it is
+     * {@code null}). Empty when the device does not exist, is not IN_USE or is at another version.
+     */
+    Optional<DeviceRowChange> releaseIfInUse(UUID id, Long expectedVersion);
+
+    /**
+     * Deletes the device unless it is IN_USE, in one statement, and returns the deleted row. Empty when the device
+     * does not exist or is IN_USE.
+     */
+    Optional<DeviceResponse> deleteIfNotInUse(UUID id);
+
+    /**
+     * Selected devices that {@link #updateMatching} would reject because they are IN_USE and the update changes
+     * their name or brand.
+     */
+    List<DeviceResponse> findGuardViolations(DeviceSelector selector, String name, String brand);
+
+    /**
+     * Devices whose name or brand contains {@code query} (case-insensitively) or fuzzily matches one of its words,
+     * best matches first: substring matches before fuzzy ones, then by trigram word similarity, then by id. Only a
+     * bounded number of candidates nearest to the query is ranked, so results end there.
+     */
+    List<DeviceResponse> search(String query, int limit, int offset);
+}
@@ -0,0 +1,264 @@
+package org.management.devices.repository;
+
+import lombok.RequiredArgsConstructor;
+import org.management.devices.domain.DeviceState;
+import org.management.devices.dto.DeviceResponse;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.core.support.AbstractSqlTypeValue;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Types;
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * The IN_USE rule of {@code DeviceServiceImpl.partialUpdate} is expressed once, as {@link #IN_USE_GUARD}, and
+ * shared by the update and by the query that explains its rejections. {@code old} always names the row as it was
+ * before the update; nullable parameters are cast so PostgreSQL can type them when they are bound as null.
+ * The single-device statements are package-private so {@link ReactiveDeviceRepository} runs the very same SQL.
+ */
+@RequiredArgsConstructor
+public class DeviceRepositoryCustomImpl implements DeviceRepositoryCustom {
+
+    static final String IN_USE_GUARD = """
+            (old.state <> 'IN_USE'
+             OR ((CAST(:name AS varchar) IS NULL OR old.name = CAST(:name AS varchar))
+                 AND (CAST(:brand AS varchar) IS NULL OR old.brand = CAST(:brand AS varchar))))""";
+
+    /**
+     * The selected rows are locked in id order first, so concurrent bulk updates over overlapping sets queue up
+     * instead of deadlocking, and the guard is evaluated against the locked values.
+     */
+    static final String UPDATE_MATCHING = """
+            UPDATE devices d
+            SET name = COALESCE(CAST(:name AS varchar), d.name),
+                brand = COALESCE(CAST(:brand AS varchar), d.brand),
+                state = COALESCE(CAST(:state AS varchar), d.state),
+                version = d.version + 1
+            FROM (SELECT id, name, brand, state, version FROM devices WHERE %s ORDER BY id FOR UPDATE) old
+            WHERE d.id = old.id
+              AND (CAST(:version AS bigint) IS NULL OR old.version = CAST(:version AS bigint))
+              AND %s
+            RETURNING d.id, d.name, d.brand, d.state, d.created_at, d.version,
+                      old.name AS previous_name, old.brand AS previous_brand, old.state AS previous_state,
+                      old.version AS previous_version""";
+
+    /**
+     * The candidate is the first AVAILABLE device in creation order that no other transaction holds; with a brand
+     * this is the head of the partial index {@code idx_devices_available_brand_created_at_id}.
+     */
+    static final String CLAIM_AVAILABLE = """
+            UPDATE devices d
+            SET state = 'IN_USE',
+                version = d.version + 1
+            FROM (SELECT id, name, brand, state, version FROM devices
+                  WHERE state = 'AVAILABLE'%s
+                  ORDER BY created_at, id
+                  LIMIT 1
+                  FOR UPDATE SKIP LOCKED) old
+            WHERE d.id = old.id
+            RETURNING d.id, d.name, d.brand, d.state, d.created_at, d.version,
+                      old.name AS previous_name, old.brand AS previous_brand, old.state AS previous_state,
+                      old.version AS previous_version""";
+
+    /**
+     * Reads without locking, so it sees the AVAILABLE devices {@link #CLAIM_AVAILABLE} skipped because another
+     * transaction held them.
+     */
+    static final String AVAILABLE_EXISTS = """
+            SELECT EXISTS (SELECT 1 FROM devices WHERE state = 'AVAILABLE'%s)""";
+
+    static final String RELEASE_IF_IN_USE = """
+            UPDATE devices d
+            SET state = 'AVAILABLE',
+                version = d.version + 1
+            FROM (SELECT id, name, brand, state, version FROM devices WHERE id = :id FOR UPDATE) old
+            WHERE d.id = old.id
+              AND old.state = 'IN_USE'
+              AND (CAST(:version AS bigint) IS NULL OR old.version = CAST(:version AS bigint))
+            RETURNING d.id, d.name, d.brand, d.state, d.created_at, d.version,
+                      old.name AS previous_name, old.brand AS previous_brand, old.state AS previous_state,
+                      old.version AS previous_version""";
+
+    private static final String FIND_GUARD_VIOLATIONS = """
+            SELECT old.id, old.name, old.brand, old.state, old.created_at, old.version
+            FROM devices old
+            WHERE %s
+              AND NOT %s""";
+
+    static final String DELETE_IF_NOT_IN_USE = """
+            DELETE FROM devices
+            WHERE id = :id AND state <> 'IN_USE'
+            RETURNING id, name, brand, state, created_at, version""";
+
+    /**
+     * Only the {@value #SEARCH_CANDIDATES} matches per column nearest to the query are ranked: each branch walks the
+     * GiST trigram index of V8 in order of word distance ({@code <<->}) and stops there, so neither a common query
+     * nor a deep page sorts the whole match set. {@code <%} is true when the query is similar to some run of words
+     * in the column ({@code pg_trgm.word_similarity_threshold}, 0.6 by default).
+     */
+    static final String SEARCH = """
+            SELECT id, name, brand, state, created_at, version
+            FROM (SELECT id, name, brand, state, created_at, version,
+                         name ILIKE :pattern OR brand ILIKE :pattern AS contains,
+                         GREATEST(word_similarity(:query, name), word_similarity(:query, brand)) AS score
+                  FROM ((SELECT id, name, brand, state, created_at, version
+                         FROM devices
+                         WHERE name ILIKE :pattern OR :query <% name
+                         ORDER BY :query <<-> name
+                         LIMIT :candidates)
+                        UNION
+                        (SELECT id, name, brand, state, created_at, version
+                         FROM devices
+                         WHERE brand ILIKE :pattern OR :query <% brand
+                         ORDER BY :query <<-> brand
+                         LIMIT :candidates)) candidates) matches
+            ORDER BY contains DESC, score DESC, id
+            LIMIT :limit OFFSET :offset""";
+
+    static final int SEARCH_CANDIDATES = 1000;
+
+    private static final RowMapper<DeviceResponse> DEVICE_ROW = (rs, rowNum) -> new DeviceResponse(
+            rs.getObject("id", UUID.class),
+            rs.getString("name"),
+            rs.getString("brand"),
+            DeviceState.valueOf(rs.getString("state")),
+            rs.getObject("created_at", OffsetDateTime.class).toInstant(),
+            rs.getLong("version")
+    );
+
+    private static final RowMapper<DeviceRowChange> CHANGED_ROW = (rs, rowNum) -> {
+        DeviceResponse current = DEVICE_ROW.mapRow(rs, rowNum);
+        DeviceResponse previous = new DeviceResponse(
+                current.id(),
+                rs.getString("previous_name"),
+                rs.getString("previous_brand"),
+                DeviceState.valueOf(rs.getString("previous_state")),
+                current.createdAt(),
+                rs.getLong("previous_version")
+        );
+        return new DeviceRowChange(previous, current);
+    };
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+
+    @Override
+    public List<DeviceRowChange> updateMatching(DeviceSelector selector, String name, String brand, DeviceState state) {
+        return update(selector, null, name, brand, state);
+    }
+
+    @Override
+    public Optional<DeviceRowChange> updateIfMatches(UUID id, Long expectedVersion, String name, String brand, DeviceState state) {
+        return update(DeviceSelector.ofIds(List.of(id)), expectedVersion, name, brand, state).stream().findFirst();
+    }
+
+    @Override
+    public Optional<DeviceRowChange> claimAvailable(String brand) {
+        MapSqlParameterSource params = new MapSqlParameterSource();
+        String brandPredicate = "";
+        if (brand != null) {
+            brandPredicate = " AND brand = :brand";
+            params.addValue("brand", brand);
+        }
+        return jdbcTemplate.query(CLAIM_AVAILABLE.formatted(brandPredicate), params, CHANGED_ROW).stream().findFirst();
+    }
+
+    @Override
+    public boolean existsAvailable(String brand) {
+        MapSqlParameterSource params = new MapSqlParameterSource();
+        String brandPredicate = "";
+        if (brand != null) {
+            brandPredicate = " AND brand = :brand";
+            params.addValue("brand", brand);
+        }
+        return Boolean.TRUE.equals(jdbcTemplate.queryForObject(AVAILABLE_EXISTS.formatted(brandPredicate), params, Boolean.class));
+    }
+
+    @Override
+    public Optional<DeviceRowChange> releaseIfInUse(UUID id, Long expectedVersion) {
+        MapSqlParameterSource params = new MapSqlParameterSource()
+                .addValue("id", id)
+                .addValue("version", expectedVersion, Types.BIGINT);
+        return jdbcTemplate.query(RELEASE_IF_IN_USE, params, CHANGED_ROW).stream().findFirst();
+    }
+
+    @Override
+    public Optional<DeviceResponse> deleteIfNotInUse(UUID id) {
+        MapSqlParameterSource params = new MapSqlParameterSource("id", id);
+        return jdbcTemplate.query(DELETE_IF_NOT_IN_USE, params, DEVICE_ROW).stream().findFirst();
+    }
+
+    @Override
+    public List<DeviceResponse> findGuardViolations(DeviceSelector selector, String name, String brand) {
+        MapSqlParameterSource params = new MapSqlParameterSource()
+                .addValue("name", name, Types.VARCHAR)
+                .addValue("brand", brand, Types.VARCHAR);
+        String sql = FIND_GUARD_VIOLATIONS.formatted(where(selector, params), IN_USE_GUARD);
+        return jdbcTemplate.query(sql, params, DEVICE_ROW);
+    }
+
+    @Override
+    public List<DeviceResponse> search(String query, int limit, int offset) {
+        MapSqlParameterSource params = new MapSqlParameterSource()
+                .addValue("query", query)
+                .addValue("pattern", "%" + escapeLike(query) + "%")
+                .addValue("candidates", SEARCH_CANDIDATES)
+                .addValue("limit", limit)
+                .addValue("offset", offset);
+        return jdbcTemplate.query(SEARCH, params, DEVICE_ROW);
+    }
+
+    private List<DeviceRowChange> update(DeviceSelector selector, Long expectedVersion, String name, String brand, DeviceState state) {
+        MapSqlParameterSource params = new MapSqlParameterSource()
+                .addValue("name", name, Types.VARCHAR)
+                .addValue("brand", brand, Types.VARCHAR)
+                .addValue("state", state != null ? state.name() : null, Types.VARCHAR)
+                .addValue("version", expectedVersion, Types.BIGINT);
+        String sql = UPDATE_MATCHING.formatted(where(selector, params), IN_USE_GUARD);
+        return jdbcTemplate.query(sql, params, CHANGED_ROW);
+    }
+
+    /**
+     * Ids are bound as a single {@code uuid[]} rather than expanded into an {@code IN} list, so the statement text
+     * and its parameter count do not grow with the selection.
+     */
+    private static String where(DeviceSelector selector, MapSqlParameterSource params) {
+        List<String> predicates = new ArrayList<>(2);
+        if (selector.ids() != null) {
+            predicates.add("id = ANY(:ids)");
+            params.addValue("ids", uuidArray(selector.ids()));
+        }
+        if (selector.brand() != null) {
+            predicates.add("brand = :filterBrand");
+            params.addValue("filterBrand", selector.brand());
+        }
+        if (selector.state() != null) {
+            predicates.add("state = :filterState");
+            params.addValue("filterState", selector.state().name());
+        }
+        if (predicates.isEmpty()) {
+            throw new IllegalArgumentException("A device selector needs ids or at least one filter.");
+        }
+        return String.join(" AND ", predicates);
+    }
+
+    private static String escapeLike(String value) {
+        return value.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_");
+    }
+
+    static AbstractSqlTypeValue uuidArray(Collection<UUID> ids) {
+        return new AbstractSqlTypeValue() {
+            @Override
+            protected Object createTypeValue(Connection connection, int sqlType, String typeName) throws SQLException {
+                return connection.createArrayOf("uuid", ids.toArray());
+            }
+        };
+    }
+}
@@ -0,0 +1,11 @@
+package org.management.devices.repository;
+
+import org.management.devices.dto.DeviceResponse;
+
+/**
+ * A row as it was before and after a set-based update, both read by the same statement.
+ */
+public record DeviceRowChange(
+        DeviceResponse previous,
+        DeviceResponse current
+) {}
@@ -0,0 +1,23 @@
+package org.management.devices.repository;
+
+import org.management.devices.domain.DeviceState;
+
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Selects the devices a set-based statement applies to: either an explicit id list or a brand and/or state filter.
+ */
+public record DeviceSelector(
+        List<UUID> ids,
+        String brand,
+        DeviceState state
+) {
+    public static DeviceSelector ofIds(List<UUID> ids) {
+        return new DeviceSelector(ids, null, null);
+    }
+
+    public static DeviceSelector ofFilter(String brand, DeviceState state) {
+        return new DeviceSelector(null, brand, state);
+    }
+}
@@ -0,0 +1,221 @@
+package org.management.devices.repository;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.r2dbc.spi.Readable;
+import lombok.RequiredArgsConstructor;
+import org.management.devices.config.DeviceReactiveProperties;
+import org.management.devices.domain.DeviceState;
+import org.management.devices.dto.DeviceCursor;
+import org.management.devices.dto.DeviceResponse;
+import org.management.devices.event.DeviceChangeEvent;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * R2DBC counterpart of {@link DeviceRepository} for the reactive profile. Writes run the statements of
+ * {@link DeviceRepositoryCustomImpl} unchanged, so both stacks enforce the IN_USE rule and the version check in the
+ * same {@code WHERE} clauses.
+ * <p>
+ * Queries that return many rows set a fetch size: the driver then reads the result through a portal, one fetch size
+ * at a time, and only asks for the next rows once the subscriber has requested them. A slow client therefore holds
+ * back the database cursor instead of filling the heap.
+ */
+@Repository
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+@RequiredArgsConstructor
+public class ReactiveDeviceRepository {
+
+    private static final String SELECT = "SELECT id, name, brand, state, created_at, version FROM devices";
+
+    private static final String AFTER_CURSOR = "created_at >= :createdAt AND (created_at > :createdAt OR id > :id)";
+
+    private static final String PAGE_ORDER = " ORDER BY created_at, id";
+
+    private static final String INSERT = """
+            INSERT INTO devices (id, name, brand, state, created_at)
+            VALUES (:id, :name, :brand, :state, :createdAt)
+            RETURNING id, name, brand, state, created_at, version""";
+
+    private static final String INSERT_OUTBOX = """
+            INSERT INTO device_outbox (device_id, event_type, payload)
+            VALUES (:deviceId, :eventType, CAST(:payload AS jsonb))""";
+
+    private final DatabaseClient databaseClient;
+
+    private final DeviceReactiveProperties properties;
+
+    private final ObjectMapper objectMapper;
+
+    public Mono<DeviceResponse> insert(String name, String brand, DeviceState state) {
+        return databaseClient.sql(INSERT)
+                .bind("id", UUID.randomUUID())
+                .bind("name", name)
+                .bind("brand", brand)
+                .bind("state", state.name())
+                .bind("createdAt", OffsetDateTime.ofInstant(Instant.now(), ZoneOffset.UTC))
+                .map(ReactiveDeviceRepository::device)
+                .one();
+    }
+
+    public Mono<DeviceResponse> findById(UUID id) {
+        return databaseClient.sql(SELECT + " WHERE id = :id")
+                .bind("id", id)
+                .map(ReactiveDeviceRepository::device)
+                .one();
+    }
+
+    /**
+     * Devices in {@code (created_at, id)} order, optionally filtered and starting behind {@code after}; the same
+     * index range scans as the keyset pages of {@link DeviceRepository}.
+     */
+    public Flux<DeviceResponse> findPage(String brand, DeviceState state, DeviceCursor after, int limit) {
+        Map<String, Object> params = new LinkedHashMap<>();
+        List<String> predicates = new ArrayList<>(3);
+        if (brand != null) {
+            predicates.add("brand = :brand");
+            params.put("brand", brand);
+        }
+        if (state != null) {
+            predicates.add("state = :state");
+            params.put("state", state.name());
+        }
+        if (after != null) {
+            predicates.add(AFTER_CURSOR);
+            params.put("createdAt", OffsetDateTime.ofInstant(after.createdAt(), ZoneOffset.UTC));
+            params.put("id", after.id());
+        }
+        params.put("limit", limit);
+
+        String where = predicates.isEmpty() ? "" : " WHERE " + String.join(" AND ", predicates);
+        return databaseClient.sql(SELECT + where + PAGE_ORDER + " LIMIT :limit")
+                .bindValues(params)
+                .filter(statement -> statement.fetchSize(properties.fetchSize()))
+                .map(ReactiveDeviceRepository::device)
+                .all();
+    }
+
+    public Flux<DeviceResponse> streamAll() {
+        return databaseClient.sql(SELECT + PAGE_ORDER)
+                .filter(statement -> statement.fetchSize(properties.fetchSize()))
+                .map(ReactiveDeviceRepository::device)
+                .all();
+    }
+
+    public Mono<DeviceRowChange> updateIfMatches(UUID id, Long expectedVersion, String name, String brand, DeviceState state) {
+        String sql = DeviceRepositoryCustomImpl.UPDATE_MATCHING.formatted("id = :id", DeviceRepositoryCustomImpl.IN_USE_GUARD);
+        DatabaseClient.GenericExecuteSpec statement = databaseClient.sql(sql).bind("id", id);
+        statement = bindNullable(statement, "name", name, String.class);
+        statement = bindNullable(statement, "brand", brand, String.class);
+        statement = bindNullable(statement, "state", state != null ? state.name() : null, String.class);
+        return bindNullable(statement, "version", expectedVersion, Long.class)
+                .map(ReactiveDeviceRepository::change)
+                .one();
+    }
+
+    public Mono<DeviceRowChange> claimAvailable(String brand) {
+        if (brand == null) {
+            return databaseClient.sql(DeviceRepositoryCustomImpl.CLAIM_AVAILABLE.formatted(""))
+                    .map(ReactiveDeviceRepository::change)
+                    .one();
+        }
+        return databaseClient.sql(DeviceRepositoryCustomImpl.CLAIM_AVAILABLE.formatted(" AND brand = :brand"))
+                .bind("brand", brand)
+                .map(ReactiveDeviceRepository::change)
+                .one();
+    }
+
+    public Mono<Boolean> existsAvailable(String brand) {
+        if (brand == null) {
+            return databaseClient.sql(DeviceRepositoryCustomImpl.AVAILABLE_EXISTS.formatted(""))
+                    .map(row -> row.get(0, Boolean.class))
+                    .one();
+        }
+        return databaseClient.sql(DeviceRepositoryCustomImpl.AVAILABLE_EXISTS.formatted(" AND brand = :brand"))
+                .bind("brand", brand)
+                .map(row -> row.get(0, Boolean.class))
+                .one();
+    }
+
+    public Mono<DeviceRowChange> releaseIfInUse(UUID id, Long expectedVersion) {
+        return bindNullable(databaseClient.sql(DeviceRepositoryCustomImpl.RELEASE_IF_IN_USE).bind("id", id),
+                "version", expectedVersion, Long.class)
+                .map(ReactiveDeviceRepository::change)
+                .one();
+    }
+
+    public Mono<DeviceResponse> deleteIfNotInUse(UUID id) {
+        return databaseClient.sql(DeviceRepositoryCustomImpl.DELETE_IF_NOT_IN_USE)
+                .bind("id", id)
+                .map(ReactiveDeviceRepository::device)
+                .one();
+    }
+
+    /**
+     * Appends the outbox row of a change, as {@link DeviceOutboxRepository} does; run it in the change's transaction.
+     */
+    public Mono<Void> insertOutbox(DeviceChangeEvent event) {
+        return databaseClient.sql(INSERT_OUTBOX)
+                .bind("deviceId", event.deviceId())
+                .bind("eventType", event.type().name())
+                .bind("payload", DeviceOutboxRepository.payloadOf(objectMapper, event))
+                .then();
+    }
+
+    /**
+     * Sends the notification of {@link DeviceNotificationRepository}; delivered when the enclosing transaction commits.
+     */
+    public Mono<Void> notifyChanged(String channel, String origin, UUID id) {
+        return databaseClient.sql(DeviceNotificationRepository.NOTIFY_CHANGED)
+                .bind("channel", channel)
+                .bind("origin", origin)
+                .bind("ids", new UUID[]{id})
+                .fetch()
+                .all()
+                .then();
+    }
+
+    /**
+     * Binds a missing value as a typed {@code NULL}, like the typed nulls of {@link DeviceRepositoryCustomImpl}; the
+     * driver cannot bind an untyped one.
+     */
+    private static DatabaseClient.GenericExecuteSpec bindNullable(DatabaseClient.GenericExecuteSpec statement, String name,
+                                                                  Object value, Class<?> type) {
+        return value != null ? statement.bind(name, value) : statement.bindNull(name, type);
+    }
+
+    private static DeviceResponse device(Readable row) {
+        return new DeviceResponse(
+                row.get("id", UUID.class),
+                row.get("name", String.class),
+                row.get("brand", String.class),
+                DeviceState.valueOf(row.get("state", String.class)),
+                row.get("created_at", OffsetDateTime.class).toInstant(),
+                row.get("version", Long.class)
+        );
+    }
+
+    private static DeviceRowChange change(Readable row) {
+        DeviceResponse current = device(row);
+        DeviceResponse previous = new DeviceResponse(
+                current.id(),
+                row.get("previous_name", String.class),
+                row.get("previous_brand", String.class),
+                DeviceState.valueOf(row.get("previous_state", String.class)),
+                current.createdAt(),
+                row.get("previous_version", Long.class)
+        );
+        return new DeviceRowChange(previous, current);
+    }
+}
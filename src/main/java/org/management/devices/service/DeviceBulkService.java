@@ -0,0 +1,14 @@
+package org.management.devices.service;
+
+import org.management.devices.dto.BatchCreateResponse;
+import org.management.devices.dto.BulkUpdateRequest;
+import org.management.devices.dto.BulkUpdateResponse;
+import org.management.devices.dto.DeviceCreateRequest;
+
+import java.util.List;
+
+public interface DeviceBulkService {
+    BatchCreateResponse createAll(List<DeviceCreateRequest> requests);
+
+    BulkUpdateResponse updateAll(BulkUpdateRequest request);
+}
@@ -0,0 +1,189 @@
+package org.management.devices.service;
+
+import io.micrometer.core.annotation.Timed;
+import jakarta.persistence.EntityManager;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.management.devices.config.DeviceBatchProperties;
+import org.management.devices.config.MetricsConfig;
+import org.management.devices.domain.Device;
+import org.management.devices.dto.BatchCreateResponse;
+import org.management.devices.dto.BatchItemResult;
+import org.management.devices.dto.BulkRejection;
+import org.management.devices.dto.BulkUpdateRequest;
+import org.management.devices.dto.BulkUpdateResponse;
+import org.management.devices.dto.DeviceCreateRequest;
+import org.management.devices.dto.DeviceFilter;
+import org.management.devices.dto.DeviceResponse;
+import org.management.devices.dto.DeviceUpdateRequest;
+import org.management.devices.event.DeviceChangeEvent;
+import org.management.devices.exception.BatchSizeExceededException;
+import org.management.devices.exception.InvalidBulkRequestException;
+import org.management.devices.mapper.DeviceMapper;
+import org.management.devices.repository.DeviceRepository;
+import org.management.devices.repository.DeviceRowChange;
+import org.management.devices.repository.DeviceSelector;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionOperations;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.UUID;
+
+@Slf4j
+@Service
+@Timed(MetricsConfig.SERVICE_TIMER)
+@RequiredArgsConstructor
+public class DeviceBulkServiceImpl implements DeviceBulkService {
+
+    private final DeviceRepository deviceRepository;
+
+    private final DeviceMapper mapper;
+
+    private final EntityManager entityManager;
+
+    private final Validator validator;
+
+    private final TransactionOperations transactionOperations;
+
+    private final ApplicationEventPublisher eventPublisher;
+
+    private final DeviceBatchProperties batchProperties;
+
+    /**
+     * Validates every request up front, then inserts the valid ones in chunks of {@code devices.batch.chunk-size},
+     * one transaction per chunk. Ids are generated in memory, so Hibernate can send each chunk as JDBC batches
+     * (rewritten into multi-row inserts by the driver). A chunk that cannot be stored is reported as FAILED
+     * without affecting the other chunks.
+     */
+    @Override
+    public BatchCreateResponse createAll(List<DeviceCreateRequest> requests) {
+        if (requests.size() > batchProperties.maxItems()) {
+            throw new BatchSizeExceededException("Batch contains " + requests.size() + " devices; at most "
+                    + batchProperties.maxItems() + " are accepted per request.");
+        }
+
+        BatchItemResult[] results = new BatchItemResult[requests.size()];
+        List<Integer> valid = new ArrayList<>(requests.size());
+        for (int i = 0; i < requests.size(); i++) {
+            Map<String, String> errors = validate(requests.get(i));
+            if (errors.isEmpty()) {
+                valid.add(i);
+            } else {
+                results[i] = BatchItemResult.rejected(i, errors);
+            }
+        }
+
+        for (int from = 0; from < valid.size(); from += batchProperties.chunkSize()) {
+            List<Integer> chunk = valid.subList(from, Math.min(from + batchProperties.chunkSize(), valid.size()));
+            insertChunk(requests, chunk, results);
+        }
+
+        return BatchCreateResponse.of(Arrays.asList(results));
+    }
+
+    private void insertChunk(List<DeviceCreateRequest> requests, List<Integer> chunk, BatchItemResult[] results) {
+        try {
+            List<DeviceResponse> created = transactionOperations.execute(status -> {
+                List<Device> devices = chunk.stream().map(i -> mapper.toEntity(requests.get(i))).toList();
+                deviceRepository.saveAll(devices);
+                entityManager.flush();
+                entityManager.clear();
+
+                List<DeviceResponse> responses = devices.stream().map(mapper::toResponse).toList();
+                responses.forEach(device -> eventPublisher.publishEvent(DeviceChangeEvent.created(device)));
+                return responses;
+            });
+            for (int i = 0; i < chunk.size(); i++) {
+                results[chunk.get(i)] = BatchItemResult.created(chunk.get(i), created.get(i));
+            }
+        } catch (RuntimeException e) {
+            log.error("Failed to store batch chunk of {} devices", chunk.size(), e);
+            Map<String, String> error = Map.of("error", "Device could not be stored; the chunk it belonged to was rolled back.");
+            chunk.forEach(i -> results[i] = BatchItemResult.failed(i, error));
+        }
+    }
+
+    /**
+     * Applies the changes to every selected device with one {@code UPDATE}; the IN_USE rule of
+     * {@code partialUpdate} is part of its {@code WHERE} clause. A second query, in the same transaction, finds the
+     * devices the rule held back so they can be reported. With an id list, ids that matched neither are reported as
+     * not found.
+     */
+    @Override
+    public BulkUpdateResponse updateAll(BulkUpdateRequest request) {
+        DeviceSelector selector = selectorOf(request);
+        DeviceUpdateRequest changes = request.changes();
+        if (changes.name() == null && changes.brand() == null && changes.state() == null) {
+            throw new InvalidBulkRequestException("Bulk update requires at least one of 'name', 'brand' or 'state' in 'changes'.");
+        }
+
+        return transactionOperations.execute(status -> {
+            List<DeviceRowChange> changed = deviceRepository.updateMatching(selector, changes.name(), changes.brand(), changes.state());
+            changed.forEach(change -> eventPublisher.publishEvent(DeviceChangeEvent.updated(change.previous(), change.current())));
+
+            List<UUID> updated = changed.stream().map(change -> change.current().id()).toList();
+            List<BulkRejection> rejected = new ArrayList<>();
+            Set<UUID> seen = new HashSet<>(updated);
+            for (DeviceResponse device : deviceRepository.findGuardViolations(selector, changes.name(), changes.brand())) {
+                seen.add(device.id());
+                rejected.add(new BulkRejection(device.id(), inUseReason(device, changes)));
+            }
+            if (selector.ids() != null) {
+                selector.ids().stream()
+                        .filter(seen::add)
+                        .forEach(id -> rejected.add(new BulkRejection(id, "Device not found with id: " + id)));
+            }
+            return new BulkUpdateResponse(updated, rejected);
+        });
+    }
+
+    private DeviceSelector selectorOf(BulkUpdateRequest request) {
+        boolean byIds = request.ids() != null;
+        boolean byFilter = request.filter() != null;
+        if (byIds == byFilter) {
+            throw new InvalidBulkRequestException("Bulk update requires exactly one of 'ids' or 'filter'.");
+        }
+        if (byIds) {
+            if (request.ids().isEmpty() || request.ids().stream().anyMatch(Objects::isNull)) {
+                throw new InvalidBulkRequestException("'ids' must be a non-empty list of device ids.");
+            }
+            if (request.ids().size() > batchProperties.maxItems()) {
+                throw new BatchSizeExceededException("Bulk update selects " + request.ids().size() + " ids; at most "
+                        + batchProperties.maxItems() + " are accepted per request.");
+            }
+            return DeviceSelector.ofIds(List.copyOf(new LinkedHashSet<>(request.ids())));
+        }
+        DeviceFilter filter = request.filter();
+        if (filter.brand() == null && filter.state() == null) {
+            throw new InvalidBulkRequestException("'filter' requires 'brand', 'state' or both.");
+        }
+        return DeviceSelector.ofFilter(filter.brand(), filter.state());
+    }
+
+    private String inUseReason(DeviceResponse device, DeviceUpdateRequest changes) {
+        String field = changes.name() != null && !changes.name().equals(device.name()) ? "name" : "brand";
+        return "Cannot update '" + field + "' for device " + device.id() + " because its state is IN_USE.";
+    }
+
+    private Map<String, String> validate(DeviceCreateRequest request) {
+        if (request == null) {
+            return Map.of("request", "must not be null");
+        }
+        Map<String, String> errors = new HashMap<>();
+        for (ConstraintViolation<DeviceCreateRequest> violation : validator.validate(request)) {
+            errors.put(violation.getPropertyPath().toString(), violation.getMessage());
+        }
+        return errors;
+    }
+}
@@ -0,0 +1,88 @@
+package org.management.devices.service;
+
+import org.management.devices.domain.DeviceState;
+import org.management.devices.dto.DeviceResponse;
+import org.management.devices.dto.DeviceUpdateRequest;
+import org.management.devices.exception.DeviceClaimContendedException;
+import org.management.devices.exception.DeviceNotFoundException;
+import org.management.devices.exception.DeviceUpdateValidationException;
+import org.management.devices.exception.DeviceVersionMismatchException;
+import org.management.devices.exception.InvalidDeviceStateException;
+
+import java.util.Arrays;
+
+/**
+ * Explains why a conditional statement changed no row, from the device as it is now. Shared by the servlet and the
+ * reactive service so both answer a rejected write with the same status and message.
+ */
+public final class DeviceRules {
+
+    private DeviceRules() {
+    }
+
+    /**
+     * The {@code state} request parameter, case-insensitive; anything else is answered with 400.
+     */
+    public static DeviceState parseState(String state) {
+        try {
+            return DeviceState.valueOf(state.toUpperCase());
+        } catch (IllegalArgumentException e) {
+            throw new InvalidDeviceStateException("Invalid state: " + state +
+                    ". Valid values: " + Arrays.toString(DeviceState.values())
+            );
+        }
+    }
+
+    /**
+     * A claim that found no unlocked AVAILABLE device: 404 when there is none at all, 503 when the only ones left are
+     * locked by other writes, such as a heartbeat flush or an update, and a retry shortly after will succeed.
+     */
+    static RuntimeException claimRejection(String brand, boolean availableExists) {
+        if (availableExists) {
+            return new DeviceClaimContendedException(brand != null
+                    ? "Every AVAILABLE device of brand " + brand + " is being written right now; retry shortly."
+                    : "Every AVAILABLE device is being written right now; retry shortly.");
+        }
+        return new DeviceNotFoundException(brand != null
+                ? "No AVAILABLE device of brand " + brand + " to claim."
+                : "No AVAILABLE device to claim.");
+    }
+
+    static RuntimeException updateRejection(DeviceResponse existingDevice, Long expectedVersion, DeviceUpdateRequest request) {
+        if (expectedVersion != null && !expectedVersion.equals(existingDevice.version())) {
+            return versionMismatch(existingDevice, expectedVersion);
+        }
+
+        if (existingDevice.state() == DeviceState.IN_USE) {
+            if (request.name() != null && !request.name().equals(existingDevice.name())) {
+                return new DeviceUpdateValidationException("Cannot update 'name' for device " + existingDevice.id() + " because its state is IN_USE.");
+            }
+            if (request.brand() != null && !request.brand().equals(existingDevice.brand())) {
+                return new DeviceUpdateValidationException("Cannot update 'brand' for device " + existingDevice.id() + " because its state is IN_USE.");
+            }
+        }
+
+        // The row changed between the update and this read in a way that no longer explains the rejection
+        return concurrentModification(existingDevice);
+    }
+
+    static RuntimeException releaseRejection(DeviceResponse existingDevice, Long expectedVersion) {
+        if (expectedVersion != null && !expectedVersion.equals(existingDevice.version())) {
+            return versionMismatch(existingDevice, expectedVersion);
+        }
+        if (existingDevice.state() != DeviceState.IN_USE) {
+            return new DeviceUpdateValidationException("Cannot release device " + existingDevice.id() + " because its state is "
+                    + existingDevice.state() + ", not IN_USE.");
+        }
+        return concurrentModification(existingDevice);
+    }
+
+    private static RuntimeException versionMismatch(DeviceResponse existingDevice, Long expectedVersion) {
+        return new DeviceVersionMismatchException("Device " + existingDevice.id() + " is at version " + existingDevice.version()
+                + ", but version " + expectedVersion + " was expected.");
+    }
+
+    private static RuntimeException concurrentModification(DeviceResponse existingDevice) {
+        return new DeviceUpdateValidationException("Device " + existingDevice.id() + " was modified concurrently; retry the request.");
+    }
+}
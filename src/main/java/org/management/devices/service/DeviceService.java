@@ -1,28 +1,53 @@
 package org.management.devices.service;
 
 import org.management.devices.dto.DeviceCreateRequest;
+import org.management.devices.dto.DevicePage;
 import org.management.devices.dto.DeviceResponse;
 import org.management.devices.dto.DeviceUpdateRequest;
 
-import java.util.List;
 import java.util.UUID;
+import java.util.function.Consumer;
 
 public interface DeviceService {
     DeviceResponse create(DeviceCreateRequest request);
 
     DeviceResponse getById(UUID id);
 
-    List<DeviceResponse> getAll();
+    DevicePage getAll(String cursor, int limit);
 
-    List<DeviceResponse> getByBrand(String brand);
+    DevicePage getByBrand(String brand, String cursor, int limit);
 
-    List<DeviceResponse> getByState(String state);
+    DevicePage getByState(String state, String cursor, int limit);
 
-    List<DeviceResponse> getByBrandAndState(String brand, String state);
+    DevicePage getByBrandAndState(String brand, String state, String cursor, int limit);
 
-    DeviceResponse update(UUID id, DeviceUpdateRequest request);
+    /**
+     * Ranked substring and fuzzy search on name and brand; {@code cursor} comes from the previous page's
+     * {@link DevicePage#nextCursor()}.
+     */
+    DevicePage search(String query, String cursor, int limit);
 
-    DeviceResponse partialUpdate(UUID id, DeviceUpdateRequest request);
+    void exportAll(Consumer<DeviceResponse> consumer);
+
+    /**
+     * @param expectedVersion version the client last saw (from {@code If-Match}), or {@code null} to update any version
+     */
+    DeviceResponse update(UUID id, Long expectedVersion, DeviceUpdateRequest request);
+
+    /**
+     * @param expectedVersion version the client last saw (from {@code If-Match}), or {@code null} to update any version
+     */
+    DeviceResponse partialUpdate(UUID id, Long expectedVersion, DeviceUpdateRequest request);
+
+    /**
+     * Atomically takes the oldest AVAILABLE device, of {@code brand} if it is not {@code null}, and marks it IN_USE.
+     */
+    DeviceResponse claim(String brand);
+
+    /**
+     * @param expectedVersion version returned by the claim (its {@code ETag}), or {@code null} to release any version
+     */
+    DeviceResponse release(UUID id, Long expectedVersion);
 
     void delete(UUID id);
 }
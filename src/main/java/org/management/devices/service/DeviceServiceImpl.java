@@ -1,148 +1,255 @@
 package org.management.devices.service;
 
+import io.micrometer.core.annotation.Timed;
 import lombok.RequiredArgsConstructor;
+import org.management.devices.config.CacheConfig;
+import org.management.devices.config.MetricsConfig;
+import org.management.devices.datasource.ReadYourWrites;
 import org.management.devices.domain.Device;
 import org.management.devices.domain.DeviceState;
 import org.management.devices.dto.DeviceCreateRequest;
+import org.management.devices.dto.DeviceCursor;
+import org.management.devices.dto.DevicePage;
 import org.management.devices.dto.DeviceResponse;
+import org.management.devices.dto.DeviceSearchCursor;
 import org.management.devices.dto.DeviceUpdateRequest;
+import org.management.devices.event.DeviceChangeEvent;
 import org.management.devices.exception.DeviceDeletionException;
 import org.management.devices.exception.DeviceNotFoundException;
 import org.management.devices.exception.DeviceUpdateValidationException;
+import org.management.devices.exception.InvalidSearchQueryException;
+import org.management.devices.index.DeviceBitmapIndex;
 import org.management.devices.mapper.DeviceMapper;
 import org.management.devices.repository.DeviceRepository;
+import org.management.devices.repository.DeviceRowChange;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
-import java.util.Arrays;
 import java.util.List;
+import java.util.Optional;
 import java.util.UUID;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
 
 @Service
+@Timed(MetricsConfig.SERVICE_TIMER)
 @RequiredArgsConstructor
 public class DeviceServiceImpl implements DeviceService {
 
+    private static final int MIN_SEARCH_LENGTH = 3;
+
     private final DeviceRepository deviceRepository;
 
     @Qualifier("deviceMapperImpl")
     private final DeviceMapper mapper;
 
+    private final ApplicationEventPublisher eventPublisher;
+
+    private final ObjectProvider<DeviceBitmapIndex> bitmapIndex;
+
     @Override
+    @Transactional
     public DeviceResponse create(DeviceCreateRequest request) {
         Device device = mapper.toEntity(request);
-        return mapper.toResponse(deviceRepository.save(device));
+        DeviceResponse created = mapper.toResponse(deviceRepository.save(device));
+        eventPublisher.publishEvent(DeviceChangeEvent.created(created));
+        return created;
     }
 
+    /**
+     * A miss is loaded on the primary: the row is cached for the whole TTL, and a lagging replica would put back the
+     * version an invalidation just evicted.
+     */
     @Override
+    @Cacheable(cacheNames = CacheConfig.DEVICES_CACHE, key = "#id")
     public DeviceResponse getById(UUID id) {
-        return mapper.toResponse(find(id));
+        return ReadYourWrites.onPrimary(() -> find(id));
     }
 
     @Override
-    public List<DeviceResponse> getAll() {
-        return deviceRepository.findAll().stream().map(mapper::toResponse).toList();
+    public DevicePage getAll(String cursor, int limit) {
+        DeviceCursor after = DeviceCursor.decode(cursor);
+        Optional<DevicePage> indexed = fromIndex(null, null, after, limit);
+        if (indexed.isPresent()) {
+            return indexed.get();
+        }
+        Pageable page = pageOf(limit);
+        List<DeviceResponse> devices = after == null
+                ? deviceRepository.findPage(page)
+                : deviceRepository.findPageAfter(after.createdAt(), after.id(), page);
+        return toPage(devices, limit);
     }
 
     @Override
-    public List<DeviceResponse> getByBrand(String brand) {
-        return deviceRepository.findByBrand(brand).stream().map(mapper::toResponse).toList();
+    public DevicePage getByBrand(String brand, String cursor, int limit) {
+        DeviceCursor after = DeviceCursor.decode(cursor);
+        Optional<DevicePage> indexed = fromIndex(brand, null, after, limit);
+        if (indexed.isPresent()) {
+            return indexed.get();
+        }
+        Pageable page = pageOf(limit);
+        List<DeviceResponse> devices = after == null
+                ? deviceRepository.findPageByBrand(brand, page)
+                : deviceRepository.findPageByBrandAfter(brand, after.createdAt(), after.id(), page);
+        return toPage(devices, limit);
     }
 
     @Override
-    public List<DeviceResponse> getByState(String state) {
-        DeviceState deviceState;
-        try {
-            deviceState = DeviceState.valueOf(state.toUpperCase());
-        } catch (IllegalArgumentException e) {
-            throw new IllegalArgumentException("Invalid state: " + state +
-                            ". Valid values: " + Arrays.toString(DeviceState.values())
-            );
+    public DevicePage getByState(String state, String cursor, int limit) {
+        DeviceState deviceState = DeviceRules.parseState(state);
+        DeviceCursor after = DeviceCursor.decode(cursor);
+        Optional<DevicePage> indexed = fromIndex(null, deviceState, after, limit);
+        if (indexed.isPresent()) {
+            return indexed.get();
         }
-        return deviceRepository.findByState(deviceState).stream().map(mapper::toResponse).toList();
+        Pageable page = pageOf(limit);
+        List<DeviceResponse> devices = after == null
+                ? deviceRepository.findPageByState(deviceState, page)
+                : deviceRepository.findPageByStateAfter(deviceState, after.createdAt(), after.id(), page);
+        return toPage(devices, limit);
     }
 
     @Override
-    public List<DeviceResponse> getByBrandAndState(String brand, String state) {
-        DeviceState deviceState;
-        try {
-            deviceState = DeviceState.valueOf(state.toUpperCase());
-        } catch (IllegalArgumentException e) {
-            throw new IllegalArgumentException("Invalid state: " + state +
-                    ". Valid values: " + Arrays.toString(DeviceState.values())
-            );
+    public DevicePage getByBrandAndState(String brand, String state, String cursor, int limit) {
+        DeviceState deviceState = DeviceRules.parseState(state);
+        DeviceCursor after = DeviceCursor.decode(cursor);
+        Optional<DevicePage> indexed = fromIndex(brand, deviceState, after, limit);
+        if (indexed.isPresent()) {
+            return indexed.get();
         }
-        return deviceRepository.findByBrandAndState(brand, deviceState).stream().map(mapper::toResponse).toList();
+        Pageable page = pageOf(limit);
+        List<DeviceResponse> devices = after == null
+                ? deviceRepository.findPageByBrandAndState(brand, deviceState, page)
+                : deviceRepository.findPageByBrandAndStateAfter(brand, deviceState, after.createdAt(), after.id(), page);
+        return toPage(devices, limit);
     }
 
+    /**
+     * Queries shorter than three characters are rejected: they contain no trigram, so no index can narrow them down.
+     */
     @Override
-    public DeviceResponse update(UUID id, DeviceUpdateRequest deviceUpdateRequest) {
-        if (deviceUpdateRequest.name() == null || deviceUpdateRequest.brand() == null || deviceUpdateRequest.state() == null) {
-            throw new DeviceUpdateValidationException("PUT request requires 'name', 'brand', and 'state' fields to be present.");
+    @Transactional(readOnly = true)
+    public DevicePage search(String query, String cursor, int limit) {
+        String trimmed = query != null ? query.strip() : "";
+        if (trimmed.length() < MIN_SEARCH_LENGTH) {
+            throw new InvalidSearchQueryException("Search query 'q' must have at least " + MIN_SEARCH_LENGTH + " characters.");
         }
-
-        Device existingDevice = find(id);
-
-        boolean isDeviceInUse = existingDevice.getState() == DeviceState.IN_USE;
-
-        if (isDeviceInUse) {
-            if (!deviceUpdateRequest.name().equals(existingDevice.getName())) {
-                throw new DeviceUpdateValidationException("Cannot update 'name' for device " + id + " because its state is IN_USE.");
-            }
-            if (!deviceUpdateRequest.brand().equals(existingDevice.getBrand())) {
-                throw new DeviceUpdateValidationException("Cannot update 'brand' for device " + id + " because its state is IN_USE.");
-            }
+        int offset = DeviceSearchCursor.decode(cursor).offset();
+        List<DeviceResponse> devices = deviceRepository.search(trimmed, limit + 1, offset);
+        if (devices.size() <= limit) {
+            return new DevicePage(devices, null);
         }
-
-        existingDevice.setName(deviceUpdateRequest.name());
-        existingDevice.setBrand(deviceUpdateRequest.brand());
-        existingDevice.setState(deviceUpdateRequest.state());
-
-        return mapper.toResponse(deviceRepository.save(existingDevice));
+        return new DevicePage(List.copyOf(devices.subList(0, limit)), new DeviceSearchCursor(offset + limit).encode());
     }
 
+    /**
+     * Hands every device to the consumer as it is read from the database cursor. Rows are projected rather than
+     * loaded as entities, so nothing accumulates in the persistence context and the heap stays flat regardless of
+     * table size.
+     */
     @Override
-    public DeviceResponse partialUpdate(UUID id, DeviceUpdateRequest deviceUpdateRequest) {
-        Device existingDevice = find(id);
-
-        boolean isDeviceInUse = existingDevice.getState() == DeviceState.IN_USE;
-
-        if (isDeviceInUse) {
-            if (deviceUpdateRequest.name() != null && !deviceUpdateRequest.name().equals(existingDevice.getName())) {
-                throw new DeviceUpdateValidationException("Cannot update 'name' for device " + id + " because its state is IN_USE.");
-            }
-            if (deviceUpdateRequest.brand() != null && !deviceUpdateRequest.brand().equals(existingDevice.getBrand())) {
-                throw new DeviceUpdateValidationException("Cannot update 'brand' for device " + id + " because its state is IN_USE.");
-            }
+    @Transactional(readOnly = true)
+    public void exportAll(Consumer<DeviceResponse> consumer) {
+        try (Stream<DeviceResponse> devices = deviceRepository.streamAll()) {
+            devices.forEach(consumer);
         }
+    }
 
-        if (deviceUpdateRequest.name() != null) {
-            existingDevice.setName(deviceUpdateRequest.name());
+    @Override
+    @Transactional
+    public DeviceResponse update(UUID id, Long expectedVersion, DeviceUpdateRequest deviceUpdateRequest) {
+        if (deviceUpdateRequest.name() == null || deviceUpdateRequest.brand() == null || deviceUpdateRequest.state() == null) {
+            throw new DeviceUpdateValidationException("PUT request requires 'name', 'brand', and 'state' fields to be present.");
         }
+        return conditionalUpdate(id, expectedVersion, deviceUpdateRequest);
+    }
 
-        if (deviceUpdateRequest.brand() != null) {
-            existingDevice.setBrand(deviceUpdateRequest.brand());
-        }
+    @Override
+    @Transactional
+    public DeviceResponse partialUpdate(UUID id, Long expectedVersion, DeviceUpdateRequest deviceUpdateRequest) {
+        return conditionalUpdate(id, expectedVersion, deviceUpdateRequest);
+    }
 
-        if (deviceUpdateRequest.state() != null) {
-            existingDevice.setState(deviceUpdateRequest.state());
-        }
+    /**
+     * One {@code UPDATE ... FOR UPDATE SKIP LOCKED} picks and transitions the device, so concurrent claimers never
+     * compete for the same row: each skips the rows the others are claiming and takes the next one. Rows held by
+     * other writers are skipped too, so an empty result is only reported as 404 when no AVAILABLE device exists.
+     */
+    @Override
+    @Transactional
+    public DeviceResponse claim(String brand) {
+        String brandFilter = brand != null && !brand.isBlank() ? brand : null;
+        DeviceRowChange change = deviceRepository.claimAvailable(brandFilter)
+                .orElseThrow(() -> DeviceRules.claimRejection(brandFilter, deviceRepository.existsAvailable(brandFilter)));
+        eventPublisher.publishEvent(DeviceChangeEvent.updated(change.previous(), change.current()));
+        return change.current();
+    }
 
-        return mapper.toResponse(deviceRepository.save(existingDevice));
+    @Override
+    @Transactional
+    public DeviceResponse release(UUID id, Long expectedVersion) {
+        DeviceRowChange change = deviceRepository.releaseIfInUse(id, expectedVersion)
+                .orElseThrow(() -> DeviceRules.releaseRejection(find(id), expectedVersion));
+        eventPublisher.publishEvent(DeviceChangeEvent.updated(change.previous(), change.current()));
+        return change.current();
     }
 
+    /**
+     * Deletes with one conditional {@code DELETE}; only when nothing was deleted does a second query decide between
+     * 404 and 409.
+     */
     @Override
+    @Transactional
     public void delete(UUID id) {
-        Device device = find(id);
+        DeviceResponse deleted = deviceRepository.deleteIfNotInUse(id)
+                .orElseThrow(() -> deviceRepository.existsById(id)
+                        ? new DeviceDeletionException("Cannot delete device with ID " + id + " because its state is IN_USE.")
+                        : new DeviceNotFoundException("Device not found with id: " + id));
+        eventPublisher.publishEvent(DeviceChangeEvent.deleted(deleted));
+    }
+
+    /**
+     * Fetches one row more than requested so the presence of a next page is known without a count query.
+     */
+    private Pageable pageOf(int limit) {
+        return PageRequest.ofSize(limit + 1);
+    }
 
-        if (device.getState() == DeviceState.IN_USE) {
-            throw new DeviceDeletionException("Cannot delete device with ID " + id + " because its state is IN_USE.");
+    private DevicePage toPage(List<DeviceResponse> devices, int limit) {
+        if (devices.size() <= limit) {
+            return new DevicePage(devices, null);
         }
+        List<DeviceResponse> pageDevices = List.copyOf(devices.subList(0, limit));
+        String nextCursor = DeviceCursor.of(pageDevices.get(limit - 1)).encode();
+        return new DevicePage(pageDevices, nextCursor);
+    }
+
+    private Optional<DevicePage> fromIndex(String brand, DeviceState state, DeviceCursor after, int limit) {
+        DeviceBitmapIndex index = bitmapIndex.getIfAvailable();
+        return index != null ? index.page(brand, state, after, limit) : Optional.empty();
+    }
 
-        deviceRepository.delete(device);
+    /**
+     * Applies the update as one conditional {@code UPDATE}: the version check and the IN_USE rule are part of its
+     * {@code WHERE} clause, so a successful update is a single round trip and cannot interleave with another writer.
+     * Only when no row was updated is the device read again, to report why.
+     */
+    private DeviceResponse conditionalUpdate(UUID id, Long expectedVersion, DeviceUpdateRequest request) {
+        DeviceRowChange change = deviceRepository
+                .updateIfMatches(id, expectedVersion, request.name(), request.brand(), request.state())
+                .orElseThrow(() -> DeviceRules.updateRejection(find(id), expectedVersion, request));
+        eventPublisher.publishEvent(DeviceChangeEvent.updated(change.previous(), change.current()));
+        return change.current();
     }
 
-    private Device find(UUID id) {
-        return deviceRepository.findById(id)
+    private DeviceResponse find(UUID id) {
+        return deviceRepository.findResponseById(id)
                 .orElseThrow(() -> new DeviceNotFoundException("Device not found with id: " + id));
     }
 }
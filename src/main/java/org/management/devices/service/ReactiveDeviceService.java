@@ -0,0 +1,47 @@
+package org.management.devices.service;
+
+import org.management.devices.dto.DeviceCreateRequest;
+import org.management.devices.dto.DeviceCursor;
+import org.management.devices.dto.DeviceResponse;
+import org.management.devices.dto.DeviceUpdateRequest;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.UUID;
+
+/**
+ * Non-blocking counterpart of {@link DeviceService} for the reactive profile, with the same rules and exceptions.
+ * List methods emit devices as the database cursor delivers them, at the pace the subscriber requests them.
+ */
+public interface ReactiveDeviceService {
+    Mono<DeviceResponse> create(DeviceCreateRequest request);
+
+    Mono<DeviceResponse> getById(UUID id);
+
+    /**
+     * @param brand  brand to filter by, or {@code null}
+     * @param state  state to filter by, or {@code null}
+     * @param cursor encoded {@link DeviceCursor} of the last device already seen, or {@code null}
+     * @param after  id of the last device already seen, or {@code null}; an alternative to {@code cursor}, since a
+     *               streamed response has no header to carry the next cursor in
+     */
+    Flux<DeviceResponse> getAll(String brand, String state, String cursor, UUID after, int limit);
+
+    Flux<DeviceResponse> exportAll();
+
+    /**
+     * @param expectedVersion version the client last saw (from {@code If-Match}), or {@code null} to update any version
+     */
+    Mono<DeviceResponse> update(UUID id, Long expectedVersion, DeviceUpdateRequest request);
+
+    /**
+     * @param expectedVersion version the client last saw (from {@code If-Match}), or {@code null} to update any version
+     */
+    Mono<DeviceResponse> partialUpdate(UUID id, Long expectedVersion, DeviceUpdateRequest request);
+
+    Mono<DeviceResponse> claim(String brand);
+
+    Mono<DeviceResponse> release(UUID id, Long expectedVersion);
+
+    Mono<Void> delete(UUID id);
+}
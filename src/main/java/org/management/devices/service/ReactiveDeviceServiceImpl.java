@@ -0,0 +1,184 @@
+package org.management.devices.service;
+
+import lombok.RequiredArgsConstructor;
+import org.management.devices.cache.DeviceInvalidationBus;
+import org.management.devices.config.CacheConfig;
+import org.management.devices.config.DeviceInvalidationProperties;
+import org.management.devices.config.DeviceOutboxProperties;
+import org.management.devices.domain.DeviceState;
+import org.management.devices.dto.DeviceCreateRequest;
+import org.management.devices.dto.DeviceCursor;
+import org.management.devices.dto.DeviceResponse;
+import org.management.devices.dto.DeviceUpdateRequest;
+import org.management.devices.event.DeviceChangeEvent;
+import org.management.devices.exception.DeviceDeletionException;
+import org.management.devices.exception.DeviceNotFoundException;
+import org.management.devices.exception.DeviceUpdateValidationException;
+import org.management.devices.mapper.DeviceMapper;
+import org.management.devices.repository.DeviceRowChange;
+import org.management.devices.repository.ReactiveDeviceRepository;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.reactive.TransactionalOperator;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+import java.util.UUID;
+
+/**
+ * Every write is one conditional statement, exactly as in {@link DeviceServiceImpl}; only a rejected write reads the
+ * device again to explain the rejection. With the outbox or cross-node invalidation enabled, the outbox row and the
+ * {@code NOTIFY} of a change are sent over R2DBC in the change's transaction, so they commit or roll back with it;
+ * otherwise the statement commits on its own.
+ * <p>
+ * Change events are published once the change has committed, on the bounded elastic scheduler: the cache, the
+ * statistics, the index and the event feed apply them in memory.
+ */
+@Service
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+@RequiredArgsConstructor
+public class ReactiveDeviceServiceImpl implements ReactiveDeviceService {
+
+    private final ReactiveDeviceRepository deviceRepository;
+
+    @Qualifier("deviceMapperImpl")
+    private final DeviceMapper mapper;
+
+    private final ApplicationEventPublisher eventPublisher;
+
+    private final CacheManager cacheManager;
+
+    private final TransactionalOperator transactionalOperator;
+
+    private final DeviceOutboxProperties outboxProperties;
+
+    private final DeviceInvalidationProperties invalidationProperties;
+
+    private final ObjectProvider<DeviceInvalidationBus> invalidationBus;
+
+    @Override
+    public Mono<DeviceResponse> create(DeviceCreateRequest request) {
+        return commit(deviceRepository.insert(request.name(), request.brand(), mapper.mapState(request.state()))
+                .map(DeviceChangeEvent::created))
+                .map(DeviceChangeEvent::current);
+    }
+
+    /**
+     * Reads through the same cache as {@code DeviceServiceImpl.getById}, which the change events keep current.
+     */
+    @Override
+    public Mono<DeviceResponse> getById(UUID id) {
+        Cache cache = cacheManager.getCache(CacheConfig.DEVICES_CACHE);
+        DeviceResponse cached = cache != null ? cache.get(id, DeviceResponse.class) : null;
+        if (cached != null) {
+            return Mono.just(cached);
+        }
+        return find(id).doOnNext(device -> {
+            if (cache != null) {
+                cache.put(id, device);
+            }
+        });
+    }
+
+    @Override
+    public Flux<DeviceResponse> getAll(String brand, String state, String cursor, UUID after, int limit) {
+        String brandFilter = brand != null && !brand.isEmpty() ? brand : null;
+        DeviceState stateFilter = state != null && !state.isEmpty() ? DeviceRules.parseState(state) : null;
+        DeviceCursor decoded = DeviceCursor.decode(cursor);
+        if (after == null || decoded != null) {
+            return deviceRepository.findPage(brandFilter, stateFilter, decoded, limit);
+        }
+        return find(after).flatMapMany(last ->
+                deviceRepository.findPage(brandFilter, stateFilter, DeviceCursor.of(last), limit));
+    }
+
+    @Override
+    public Flux<DeviceResponse> exportAll() {
+        return deviceRepository.streamAll();
+    }
+
+    @Override
+    public Mono<DeviceResponse> update(UUID id, Long expectedVersion, DeviceUpdateRequest request) {
+        if (request.name() == null || request.brand() == null || request.state() == null) {
+            return Mono.error(new DeviceUpdateValidationException("PUT request requires 'name', 'brand', and 'state' fields to be present."));
+        }
+        return conditionalUpdate(id, expectedVersion, request);
+    }
+
+    @Override
+    public Mono<DeviceResponse> partialUpdate(UUID id, Long expectedVersion, DeviceUpdateRequest request) {
+        return conditionalUpdate(id, expectedVersion, request);
+    }
+
+    @Override
+    public Mono<DeviceResponse> claim(String brand) {
+        String brandFilter = brand != null && !brand.isBlank() ? brand : null;
+        return commitUpdate(deviceRepository.claimAvailable(brandFilter)
+                .switchIfEmpty(Mono.defer(() -> deviceRepository.existsAvailable(brandFilter)
+                        .flatMap(exists -> Mono.<DeviceRowChange>error(DeviceRules.claimRejection(brandFilter, exists))))));
+    }
+
+    @Override
+    public Mono<DeviceResponse> release(UUID id, Long expectedVersion) {
+        return commitUpdate(deviceRepository.releaseIfInUse(id, expectedVersion)
+                .switchIfEmpty(Mono.defer(() -> find(id)
+                        .flatMap(existing -> Mono.<DeviceRowChange>error(DeviceRules.releaseRejection(existing, expectedVersion))))));
+    }
+
+    @Override
+    public Mono<Void> delete(UUID id) {
+        return commit(deviceRepository.deleteIfNotInUse(id)
+                .switchIfEmpty(Mono.defer(() -> find(id)
+                        .flatMap(existing -> Mono.<DeviceResponse>error(new DeviceDeletionException(
+                                "Cannot delete device with ID " + id + " because its state is IN_USE.")))))
+                .map(DeviceChangeEvent::deleted))
+                .then();
+    }
+
+    private Mono<DeviceResponse> conditionalUpdate(UUID id, Long expectedVersion, DeviceUpdateRequest request) {
+        return commitUpdate(deviceRepository.updateIfMatches(id, expectedVersion, request.name(), request.brand(), request.state())
+                .switchIfEmpty(Mono.defer(() -> find(id)
+                        .flatMap(existing -> Mono.<DeviceRowChange>error(DeviceRules.updateRejection(existing, expectedVersion, request))))));
+    }
+
+    private Mono<DeviceResponse> commitUpdate(Mono<DeviceRowChange> write) {
+        return commit(write.map(change -> DeviceChangeEvent.updated(change.previous(), change.current())))
+                .map(DeviceChangeEvent::current);
+    }
+
+    /**
+     * Runs {@code write} and records its change in the same transaction, then publishes the change once committed.
+     */
+    private Mono<DeviceChangeEvent> commit(Mono<DeviceChangeEvent> write) {
+        boolean outbox = outboxProperties.enabled();
+        DeviceInvalidationBus bus = invalidationBus.getIfAvailable();
+        if (!outbox && bus == null) {
+            return write.flatMap(event -> publish(event).thenReturn(event));
+        }
+        return write
+                .flatMap(event -> (outbox ? deviceRepository.insertOutbox(event) : Mono.<Void>empty())
+                        .then(bus != null
+                                ? deviceRepository.notifyChanged(invalidationProperties.channel(), bus.nodeId(), event.deviceId())
+                                : Mono.empty())
+                        .thenReturn(event))
+                .as(transactionalOperator::transactional)
+                .flatMap(event -> publish(event).thenReturn(event));
+    }
+
+    private Mono<Void> publish(DeviceChangeEvent event) {
+        return Mono.fromRunnable(() -> eventPublisher.publishEvent(event))
+                .subscribeOn(Schedulers.boundedElastic())
+                .then();
+    }
+
+    private Mono<DeviceResponse> find(UUID id) {
+        return deviceRepository.findById(id)
+                .switchIfEmpty(Mono.error(() -> new DeviceNotFoundException("Device not found with id: " + id)));
+    }
+}
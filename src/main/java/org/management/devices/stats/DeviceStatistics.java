@@ -0,0 +1,146 @@
+package org.management.devices.stats;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.management.devices.config.DeviceStatsProperties;
+import org.management.devices.datasource.ReadYourWrites;
+import org.management.devices.domain.DeviceState;
+import org.management.devices.dto.DeviceResponse;
+import org.management.devices.dto.DeviceStatsResponse;
+import org.management.devices.event.DeviceChangeEvent;
+import org.management.devices.repository.DeviceCount;
+import org.management.devices.repository.DeviceRepository;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.TaskScheduler;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Instant;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Device counts per brand and state, kept in memory so {@code GET /devices/stats} costs O(brands) rather than a
+ * table scan. Counters move with the {@link DeviceChangeEvent}s of committed writes and are recounted from the
+ * database at startup and every {@code devices.stats.reconcile-interval}, which corrects writes this node did not
+ * observe.
+ * <p>
+ * A recount corrects each counter by its drift instead of overwriting it, so increments racing with the recount
+ * are kept; the few that raced with its snapshot are settled by the next one.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class DeviceStatistics {
+
+    private static final DeviceState[] STATES = DeviceState.values();
+
+    private final DeviceRepository deviceRepository;
+
+    private final DeviceStatsProperties properties;
+
+    private final TaskScheduler taskScheduler;
+
+    private final ConcurrentMap<String, LongAdder[]> counters = new ConcurrentHashMap<>();
+
+    private volatile Instant reconciledAt;
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onDeviceChange(DeviceChangeEvent event) {
+        DeviceResponse previous = event.previous();
+        DeviceResponse current = event.current();
+        if (previous != null && current != null
+                && previous.brand().equals(current.brand()) && previous.state() == current.state()) {
+            return;
+        }
+        if (previous != null) {
+            counter(previous.brand(), previous.state()).decrement();
+        }
+        if (current != null) {
+            counter(current.brand(), current.state()).increment();
+        }
+    }
+
+    public DeviceStatsResponse snapshot() {
+        long total = 0;
+        long[] byState = new long[STATES.length];
+        Map<String, Long> byBrand = new TreeMap<>();
+        for (Map.Entry<String, LongAdder[]> brand : counters.entrySet()) {
+            long brandTotal = 0;
+            for (int i = 0; i < STATES.length; i++) {
+                long count = brand.getValue()[i].sum();
+                byState[i] += count;
+                brandTotal += count;
+            }
+            if (brandTotal != 0) {
+                byBrand.put(brand.getKey(), brandTotal);
+            }
+            total += brandTotal;
+        }
+
+        Map<DeviceState, Long> states = new EnumMap<>(DeviceState.class);
+        for (int i = 0; i < STATES.length; i++) {
+            states.put(STATES[i], byState[i]);
+        }
+        return new DeviceStatsResponse(total, states, byBrand, reconciledAt);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        reconcile();
+        taskScheduler.scheduleWithFixedDelay(this::reconcile,
+                Instant.now().plus(properties.reconcileInterval()), properties.reconcileInterval());
+    }
+
+    /**
+     * Recounts from the primary: a lagging replica would undo this node's most recent writes.
+     */
+    public void reconcile() {
+        List<DeviceCount> actual = ReadYourWrites.onPrimary(deviceRepository::countByBrandAndState);
+
+        Map<String, long[]> expected = new HashMap<>();
+        for (DeviceCount count : actual) {
+            expected.computeIfAbsent(count.brand(), brand -> new long[STATES.length])[count.state().ordinal()] = count.count();
+        }
+        for (String brand : counters.keySet()) {
+            expected.putIfAbsent(brand, new long[STATES.length]);
+        }
+
+        long drift = 0;
+        for (Map.Entry<String, long[]> brand : expected.entrySet()) {
+            LongAdder[] brandCounters = counters(brand.getKey());
+            for (int i = 0; i < STATES.length; i++) {
+                long difference = brand.getValue()[i] - brandCounters[i].sum();
+                if (difference != 0) {
+                    brandCounters[i].add(difference);
+                    drift += Math.abs(difference);
+                }
+            }
+        }
+        reconciledAt = Instant.now();
+        if (drift != 0) {
+            log.info("Device statistics reconciled; corrected a drift of {} devices", drift);
+        }
+    }
+
+    private LongAdder counter(String brand, DeviceState state) {
+        return counters(brand)[state.ordinal()];
+    }
+
+    private LongAdder[] counters(String brand) {
+        return counters.computeIfAbsent(brand, key -> {
+            LongAdder[] adders = new LongAdder[STATES.length];
+            for (int i = 0; i < adders.length; i++) {
+                adders[i] = new LongAdder();
+            }
+            return adders;
+        });
+    }
+}
@@ -0,0 +1,20 @@
+-- Every page query in DeviceRepository orders by (created_at, id), optionally filtered by brand and/or state.
+-- Each filter combination gets an index ending in (created_at, id) so a page, including one behind a cursor,
+-- is an index range scan. CONCURRENTLY keeps the table writable while building; Flyway executes these statements
+-- outside a transaction.
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_devices_created_at_id
+    ON devices (created_at, id);
+
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_devices_brand_created_at_id
+    ON devices (brand, created_at, id);
+
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_devices_state_created_at_id
+    ON devices (state, created_at, id);
+
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_devices_brand_state_created_at_id
+    ON devices (brand, state, created_at, id);
+
+-- AVAILABLE devices per brand is the allocation workflow's lookup; the partial index stays small as devices get used.
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_devices_available_brand_created_at_id
+    ON devices (brand, created_at, id)
+    WHERE state = 'AVAILABLE';
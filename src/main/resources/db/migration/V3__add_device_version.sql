@@ -0,0 +1,3 @@
+-- Optimistic locking: incremented by every update and exposed to clients as the ETag.
+-- A constant default makes this a catalog-only change on PostgreSQL 11+, without a table rewrite.
+ALTER TABLE devices ADD COLUMN version BIGINT NOT NULL DEFAULT 0;
@@ -0,0 +1,10 @@
+-- Transactional outbox: every device change is recorded here in the transaction that made it, and relayed to
+-- other systems by DeviceOutboxRelay. Rows are deleted once relayed, so the table only holds the backlog and the
+-- relay's ORDER BY id LIMIT n is a short walk of the primary key.
+CREATE TABLE device_outbox (
+                               id BIGINT GENERATED ALWAYS AS IDENTITY PRIMARY KEY,
+                               device_id UUID NOT NULL,
+                               event_type VARCHAR(16) NOT NULL,
+                               payload JSONB NOT NULL,
+                               created_at TIMESTAMP WITH TIME ZONE NOT NULL DEFAULT now()
+);
@@ -0,0 +1,3 @@
+-- Trigram matching for GET /devices/search. Kept apart from the indexes using it: CREATE EXTENSION runs in a
+-- transaction, CREATE INDEX CONCURRENTLY cannot, and Flyway does not mix both in one migration.
+CREATE EXTENSION IF NOT EXISTS pg_trgm;
@@ -0,0 +1,8 @@
+-- GIN trigram indexes answer both the substring predicate (ILIKE '%...%') and the fuzzy one (<%) of
+-- GET /devices/search, so a search reads the matching rows only. Built CONCURRENTLY to keep the table writable;
+-- Flyway executes these statements outside a transaction.
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_devices_name_trgm
+    ON devices USING gin (name gin_trgm_ops);
+
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_devices_brand_trgm
+    ON devices USING gin (brand gin_trgm_ops);
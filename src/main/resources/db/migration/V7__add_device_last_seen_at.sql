@@ -0,0 +1,3 @@
+-- Time of a device's most recent heartbeat, written behind by DeviceHeartbeatBuffer. Nullable without a default,
+-- so adding it is a catalog-only change.
+ALTER TABLE devices ADD COLUMN last_seen_at TIMESTAMP WITH TIME ZONE;
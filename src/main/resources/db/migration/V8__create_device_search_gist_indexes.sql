@@ -0,0 +1,8 @@
+-- GiST trigram indexes return rows in order of word distance to the search query (<<->), so a search takes a
+-- bounded number of nearest candidates per column instead of ranking every match. The GIN indexes of V6 stay for
+-- the substring predicate. Built CONCURRENTLY to keep the table writable.
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_devices_name_trgm_gist
+    ON devices USING gist (name gist_trgm_ops);
+
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_devices_brand_trgm_gist
+    ON devices USING gist (brand gist_trgm_ops);
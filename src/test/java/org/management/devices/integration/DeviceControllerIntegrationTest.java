@@ -8,14 +8,19 @@ import org.junit.jupiter.api.Order;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.TestMethodOrder;
 import org.management.devices.domain.DeviceState;
+import org.management.devices.dto.BulkUpdateRequest;
 import org.management.devices.dto.DeviceResponse;
 import org.management.devices.dto.DeviceUpdateRequest;
+import org.management.devices.heartbeat.DeviceHeartbeatBuffer;
 import org.management.devices.repository.DeviceRepository;
 import org.management.devices.dto.DeviceCreateRequest;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.test.context.DynamicPropertyRegistry;
 import org.springframework.test.context.DynamicPropertySource;
 import org.springframework.test.web.servlet.MockMvc;
@@ -24,11 +29,27 @@ import org.testcontainers.containers.PostgreSQLContainer;
 import org.testcontainers.junit.jupiter.Container;
 import org.testcontainers.junit.jupiter.Testcontainers;
 
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
 import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
 
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.Matchers.greaterThanOrEqualTo;
+import static org.hamcrest.Matchers.hasItem;
+import static org.hamcrest.Matchers.not;
 
 @Testcontainers
 @SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
@@ -45,6 +66,15 @@ class DeviceControllerIntegrationTest {
     @Autowired
     private DeviceRepository deviceRepository;
 
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private DeviceHeartbeatBuffer heartbeatBuffer;
+
+    @LocalServerPort
+    private int port;
+
     private static final String API_PATH = "/devices";
     private static UUID createdDeviceId;
     private static final String BRAND_X = "BrandX";
@@ -300,4 +330,459 @@ class DeviceControllerIntegrationTest {
         mockMvc.perform(delete(API_PATH + "/{id}", nonExistentId))
                 .andExpect(status().isNotFound());
     }
+
+    @Test
+    @Order(17)
+    @DisplayName("17. GET /devices?limit=1 - Should page through devices using the X-Next-Cursor header")
+    void getAllDevices_withLimit_pagesThroughCursor() throws Exception {
+        MvcResult firstPage = mockMvc.perform(get(API_PATH)
+                        .param("limit", "1"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(1))
+                .andExpect(header().exists("X-Next-Cursor"))
+                .andReturn();
+
+        String cursor = firstPage.getResponse().getHeader("X-Next-Cursor");
+        String firstId = objectMapper.readTree(firstPage.getResponse().getContentAsString()).get(0).get("id").asText();
+
+        mockMvc.perform(get(API_PATH)
+                        .param("limit", "1")
+                        .param("cursor", cursor))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(1))
+                .andExpect(jsonPath("$[0].id").value(not(firstId)))
+                .andExpect(header().doesNotExist("X-Next-Cursor"));
+    }
+
+    @Test
+    @Order(18)
+    @DisplayName("18. GET /devices?cursor=garbage - Should return 400 Bad Request for a malformed cursor")
+    void getAllDevices_invalidCursor_returns400() throws Exception {
+        mockMvc.perform(get(API_PATH)
+                        .param("cursor", "garbage"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.message").exists());
+    }
+
+    @Test
+    @Order(19)
+    @DisplayName("19. GET /devices/export - Should stream every device as one NDJSON line")
+    void exportDevices_streamsNdjson() throws Exception {
+        MvcResult asyncResult = mockMvc.perform(get(API_PATH + "/export"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        MvcResult result = mockMvc.perform(asyncDispatch(asyncResult))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_NDJSON))
+                .andReturn();
+
+        String[] lines = result.getResponse().getContentAsString().split("\n");
+        assertThat(lines).hasSize((int) deviceRepository.count());
+        for (String line : lines) {
+            assertThat(objectMapper.readValue(line, DeviceResponse.class).id()).isNotNull();
+        }
+    }
+
+    @Test
+    @Order(20)
+    @DisplayName("20. GET /devices/{id} - Repeated lookups should be answered from the device cache")
+    void getDeviceById_repeated_hitsCache() throws Exception {
+        UUID deviceId = deviceRepository.findAll().get(0).getId();
+
+        mockMvc.perform(get(API_PATH + "/{id}", deviceId))
+                .andExpect(status().isOk());
+        mockMvc.perform(get(API_PATH + "/{id}", deviceId))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.id").value(deviceId.toString()));
+
+        mockMvc.perform(get(API_PATH + "/cache/stats"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.hitCount").value(greaterThanOrEqualTo(1)))
+                .andExpect(jsonPath("$.size").value(greaterThanOrEqualTo(1)));
+    }
+
+    @Test
+    @Order(21)
+    @DisplayName("21. POST /devices/batch - Should create valid devices and report invalid ones (207)")
+    void createBatch_mixedInput_returns207WithPerItemResults() throws Exception {
+        long before = deviceRepository.count();
+        List<DeviceCreateRequest> requests = List.of(
+                new DeviceCreateRequest("Batch Phone 1", "BatchBrand", null),
+                new DeviceCreateRequest(null, "BatchBrand", null),
+                new DeviceCreateRequest("Batch Phone 2", "BatchBrand", DeviceState.INACTIVE)
+        );
+
+        mockMvc.perform(post(API_PATH + "/batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(requests)))
+                .andExpect(status().isMultiStatus())
+                .andExpect(jsonPath("$.created").value(2))
+                .andExpect(jsonPath("$.rejected").value(1))
+                .andExpect(jsonPath("$.results[0].status").value("CREATED"))
+                .andExpect(jsonPath("$.results[0].device.id").exists())
+                .andExpect(jsonPath("$.results[1].status").value("REJECTED"))
+                .andExpect(jsonPath("$.results[1].errors.name").exists())
+                .andExpect(jsonPath("$.results[2].device.state").value(DeviceState.INACTIVE.toString()));
+
+        assertThat(deviceRepository.count()).isEqualTo(before + 2);
+    }
+
+    @Test
+    @Order(22)
+    @DisplayName("22. PATCH /devices/bulk - Should update selected devices and report IN_USE and unknown ids")
+    void bulkUpdate_byIds_reportsUpdatedAndRejected() throws Exception {
+        UUID availableId = createDevice(new DeviceCreateRequest("Bulk Phone 1", "BulkBrand", DeviceState.AVAILABLE));
+        UUID inUseId = createDevice(new DeviceCreateRequest("Bulk Phone 2", "BulkBrand", DeviceState.IN_USE));
+        UUID unknownId = UUID.randomUUID();
+        mockMvc.perform(get(API_PATH + "/{id}", availableId))
+                .andExpect(status().isOk());
+
+        BulkUpdateRequest request = new BulkUpdateRequest(List.of(availableId, inUseId, unknownId), null,
+                new DeviceUpdateRequest(null, "BulkBrand2", DeviceState.INACTIVE));
+
+        mockMvc.perform(patch(API_PATH + "/bulk")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.updated.length()").value(1))
+                .andExpect(jsonPath("$.updated[0]").value(availableId.toString()))
+                .andExpect(jsonPath("$.rejected.length()").value(2))
+                .andExpect(jsonPath("$.rejected[0].id").value(inUseId.toString()))
+                .andExpect(jsonPath("$.rejected[1].id").value(unknownId.toString()));
+
+        // The cached copy read above must reflect the bulk update
+        mockMvc.perform(get(API_PATH + "/{id}", availableId))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.brand").value("BulkBrand2"))
+                .andExpect(jsonPath("$.state").value(DeviceState.INACTIVE.toString()));
+        mockMvc.perform(get(API_PATH + "/{id}", inUseId))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.brand").value("BulkBrand"));
+    }
+
+    @Test
+    @Order(23)
+    @DisplayName("23. PATCH /devices/bulk - Should return 400 Bad Request when neither ids nor filter is given")
+    void bulkUpdate_withoutSelection_returns400() throws Exception {
+        BulkUpdateRequest request = new BulkUpdateRequest(null, null,
+                new DeviceUpdateRequest(null, null, DeviceState.INACTIVE));
+
+        mockMvc.perform(patch(API_PATH + "/bulk")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    @Order(24)
+    @DisplayName("24. PATCH /devices/{id} - Should apply the update when If-Match carries the current ETag")
+    void partialUpdate_matchingIfMatch_returns200WithNewETag() throws Exception {
+        UUID deviceId = createDevice(new DeviceCreateRequest("Versioned Phone", "VersionBrand", DeviceState.AVAILABLE));
+        String etag = mockMvc.perform(get(API_PATH + "/{id}", deviceId))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"0\""))
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+        DeviceUpdateRequest request = new DeviceUpdateRequest(null, null, DeviceState.INACTIVE);
+
+        mockMvc.perform(patch(API_PATH + "/{id}", deviceId)
+                        .header(HttpHeaders.IF_MATCH, etag)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"1\""))
+                .andExpect(jsonPath("$.version").value(1))
+                .andExpect(jsonPath("$.state").value(DeviceState.INACTIVE.toString()));
+    }
+
+    @Test
+    @Order(25)
+    @DisplayName("25. PATCH /devices/{id} - Should return 412 Precondition Failed when If-Match is stale")
+    void partialUpdate_staleIfMatch_returns412() throws Exception {
+        UUID deviceId = createDevice(new DeviceCreateRequest("Contended Phone", "VersionBrand", DeviceState.AVAILABLE));
+        DeviceUpdateRequest first = new DeviceUpdateRequest("Contended Phone 2", null, null);
+        DeviceUpdateRequest second = new DeviceUpdateRequest("Contended Phone 3", null, null);
+
+        mockMvc.perform(patch(API_PATH + "/{id}", deviceId)
+                        .header(HttpHeaders.IF_MATCH, "\"0\"")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(first)))
+                .andExpect(status().isOk());
+
+        mockMvc.perform(patch(API_PATH + "/{id}", deviceId)
+                        .header(HttpHeaders.IF_MATCH, "\"0\"")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(second)))
+                .andExpect(status().isPreconditionFailed());
+
+        mockMvc.perform(get(API_PATH + "/{id}", deviceId))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.name").value("Contended Phone 2"));
+    }
+
+    @Test
+    @Order(26)
+    @DisplayName("26. GET /actuator/prometheus - Should expose request, service, repository, pool and error meters")
+    void shouldExposePrometheusMetrics() throws Exception {
+        mockMvc.perform(get(API_PATH + "/{id}", UUID.randomUUID()))
+                .andExpect(status().isNotFound());
+
+        mockMvc.perform(get("/actuator/prometheus"))
+                .andExpect(status().isOk())
+                .andExpect(content().string(containsString("http_server_requests_seconds_bucket")))
+                .andExpect(content().string(containsString("devices_service_seconds_bucket")))
+                .andExpect(content().string(containsString("spring_data_repository_invocations_seconds_bucket")))
+                .andExpect(content().string(containsString("hikaricp_connections_active")))
+                .andExpect(content().string(containsString("devices_api_errors_total{")))
+                .andExpect(content().string(containsString("exception=\"DeviceNotFoundException\"")));
+    }
+
+    @Test
+    @Order(27)
+    @DisplayName("27. GET /devices/stats - Should count devices per brand and state as they change")
+    void shouldMaintainFleetStatistics() throws Exception {
+        UUID deviceId = createDevice(new DeviceCreateRequest("Stats Phone", "StatsBrand", DeviceState.AVAILABLE));
+        createDevice(new DeviceCreateRequest("Stats Tablet", "StatsBrand", DeviceState.IN_USE));
+
+        mockMvc.perform(get(API_PATH + "/stats"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.byBrand.StatsBrand").value(2))
+                .andExpect(jsonPath("$.total").value(deviceRepository.count()));
+
+        mockMvc.perform(delete(API_PATH + "/{id}", deviceId))
+                .andExpect(status().isNoContent());
+
+        mockMvc.perform(get(API_PATH + "/stats"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.byBrand.StatsBrand").value(1))
+                .andExpect(jsonPath("$.byState.AVAILABLE").isNumber());
+    }
+
+    @Test
+    @Order(28)
+    @DisplayName("28. GET /devices/events - Should stream matching changes, replay missed ones on resume and reject unknown states")
+    void shouldStreamDeviceEvents() throws Exception {
+        String lastEventId;
+        try (Stream<String> events = openEventStream("?brand=FeedBrand", null)) {
+            createDevice(new DeviceCreateRequest("Other Phone", "OtherBrand", DeviceState.AVAILABLE));
+            UUID first = createDevice(new DeviceCreateRequest("Feed Phone", "FeedBrand", DeviceState.AVAILABLE));
+
+            List<String> event = nextEvent(events);
+            assertThat(event).contains("event:CREATED").anyMatch(line -> line.contains(first.toString()));
+            lastEventId = event.stream().filter(line -> line.startsWith("id:")).findFirst().orElseThrow().substring(3);
+        }
+
+        UUID missed = createDevice(new DeviceCreateRequest("Feed Tablet", "FeedBrand", DeviceState.IN_USE));
+
+        try (Stream<String> events = openEventStream("?brand=FeedBrand", lastEventId)) {
+            assertThat(nextEvent(events)).contains("event:CREATED").anyMatch(line -> line.contains(missed.toString()));
+        }
+        try (Stream<String> events = openEventStream("", "unknown.1")) {
+            assertThat(nextEvent(events)).contains("event:reset");
+        }
+
+        mockMvc.perform(get(API_PATH + "/events").param("state", "bogus"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.message").value(containsString("Invalid state: bogus")));
+        mockMvc.perform(get(API_PATH).param("state", "bogus"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    @Order(29)
+    @DisplayName("29. GET /devices/search - Should rank substring matches first, page through the results and reject bad parameters")
+    void shouldSearchDevicesByNameAndBrand() throws Exception {
+        UUID exact = createDevice(new DeviceCreateRequest("core router-3F", "SearchBrand", DeviceState.AVAILABLE));
+        UUID fuzzy = createDevice(new DeviceCreateRequest("router 3G", "SearchBrand", DeviceState.AVAILABLE));
+        createDevice(new DeviceCreateRequest("Desk Lamp", "SearchBrand", DeviceState.AVAILABLE));
+
+        MvcResult firstPage = mockMvc.perform(get(API_PATH + "/search").param("q", "Router-3F").param("limit", "1"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(1))
+                .andExpect(jsonPath("$[0].id").value(exact.toString()))
+                .andExpect(header().exists("X-Next-Cursor"))
+                .andReturn();
+
+        mockMvc.perform(get(API_PATH + "/search").param("q", "Router-3F")
+                        .param("cursor", firstPage.getResponse().getHeader("X-Next-Cursor")))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].id").value(fuzzy.toString()))
+                .andExpect(jsonPath("$[*].name", not(hasItem("Desk Lamp"))));
+
+        mockMvc.perform(get(API_PATH + "/search").param("q", "ro"))
+                .andExpect(status().isBadRequest());
+        mockMvc.perform(get(API_PATH + "/search"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.message").value(containsString("'q'")));
+        mockMvc.perform(get(API_PATH + "/search").param("q", "Router").param("limit", "many"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.message").value("Invalid value 'many' for parameter 'limit'."));
+    }
+
+    @Test
+    @Order(30)
+    @DisplayName("30. POST /devices/{id}/heartbeat - Should write last_seen_at behind without changing the version")
+    void shouldRecordHeartbeat() throws Exception {
+        UUID deviceId = createDevice(new DeviceCreateRequest("Beating Phone", "HeartbeatBrand", DeviceState.AVAILABLE));
+
+        mockMvc.perform(post(API_PATH + "/{id}/heartbeat", deviceId))
+                .andExpect(status().isAccepted());
+        heartbeatBuffer.flush();
+
+        assertThat(jdbcTemplate.queryForObject("SELECT last_seen_at IS NOT NULL FROM devices WHERE id = ?",
+                Boolean.class, deviceId)).isTrue();
+        mockMvc.perform(get(API_PATH + "/{id}", deviceId))
+                .andExpect(jsonPath("$.version").value(0));
+    }
+
+    @Test
+    @Order(31)
+    @DisplayName("31. POST /devices/claim - Concurrent claims should each get a different device")
+    void shouldClaimEachAvailableDeviceOnce() throws Exception {
+        int devices = 8;
+        for (int i = 0; i < devices; i++) {
+            createDevice(new DeviceCreateRequest("Pool Device " + i, "ClaimBrand", DeviceState.AVAILABLE));
+        }
+
+        HttpClient client = HttpClient.newHttpClient();
+        HttpRequest claim = HttpRequest.newBuilder(URI.create("http://localhost:" + port + API_PATH + "/claim?brand=ClaimBrand"))
+                .POST(HttpRequest.BodyPublishers.noBody())
+                .build();
+        List<CompletableFuture<HttpResponse<String>>> claims = new ArrayList<>();
+        for (int i = 0; i < devices + 4; i++) {
+            claims.add(client.sendAsync(claim, HttpResponse.BodyHandlers.ofString()));
+        }
+
+        List<DeviceResponse> claimed = new ArrayList<>();
+        int exhausted = 0;
+        for (CompletableFuture<HttpResponse<String>> response : claims) {
+            HttpResponse<String> result = response.get(10, TimeUnit.SECONDS);
+            if (result.statusCode() == 200) {
+                claimed.add(objectMapper.readValue(result.body(), DeviceResponse.class));
+            } else {
+                assertThat(result.statusCode()).isEqualTo(404);
+                exhausted++;
+            }
+        }
+        assertThat(claimed).hasSize(devices).allMatch(device -> device.state() == DeviceState.IN_USE);
+        assertThat(claimed.stream().map(DeviceResponse::id).distinct()).hasSize(devices);
+        assertThat(exhausted).isEqualTo(4);
+
+        DeviceResponse device = claimed.get(0);
+        mockMvc.perform(post(API_PATH + "/{id}/release", device.id())
+                        .header(HttpHeaders.IF_MATCH, "\"" + device.version() + "\""))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.state").value("AVAILABLE"));
+        mockMvc.perform(post(API_PATH + "/{id}/release", device.id()))
+                .andExpect(status().isConflict());
+        mockMvc.perform(post(API_PATH + "/claim").param("brand", "ClaimBrand"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.id").value(device.id().toString()));
+    }
+
+    @Test
+    @Order(32)
+    @DisplayName("32. GET /devices - Should answer If-None-Match with 304 until the device or filtered list changes")
+    void shouldAnswerConditionalGets() throws Exception {
+        UUID id = createDevice(new DeviceCreateRequest("Conditional Phone", "ConditionalBrandA", DeviceState.AVAILABLE));
+        UUID other = createDevice(new DeviceCreateRequest("Conditional Tablet", "ConditionalBrandB", DeviceState.AVAILABLE));
+
+        mockMvc.perform(get(API_PATH + "/{id}", id).header(HttpHeaders.IF_NONE_MATCH, "\"0\""))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"0\""))
+                .andExpect(content().string(""));
+
+        String listTag = mockMvc.perform(get(API_PATH).param("brand", "ConditionalBrandA"))
+                .andExpect(status().isOk())
+                .andExpect(header().exists(HttpHeaders.ETAG))
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+        mockMvc.perform(patch(API_PATH + "/{id}", other)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(new DeviceUpdateRequest("Conditional Tablet 2", null, null))))
+                .andExpect(status().isOk());
+        mockMvc.perform(get(API_PATH).param("brand", "ConditionalBrandA").header(HttpHeaders.IF_NONE_MATCH, listTag))
+                .andExpect(status().isNotModified())
+                .andExpect(content().string(""));
+
+        mockMvc.perform(patch(API_PATH + "/{id}", id)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(new DeviceUpdateRequest("Conditional Phone 2", null, null))))
+                .andExpect(status().isOk());
+        mockMvc.perform(get(API_PATH + "/{id}", id).header(HttpHeaders.IF_NONE_MATCH, "\"0\""))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"1\""));
+        mockMvc.perform(get(API_PATH).param("brand", "ConditionalBrandA").header(HttpHeaders.IF_NONE_MATCH, listTag))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, not(listTag)))
+                .andExpect(jsonPath("$[0].name").value("Conditional Phone 2"));
+    }
+
+    @Test
+    @Order(33)
+    @DisplayName("33. POST /devices/claim - A device locked by another write should answer 503, not 404")
+    void shouldAnswerServiceUnavailable_WhenAvailableDevicesAreLocked() throws Exception {
+        UUID deviceId = createDevice(new DeviceCreateRequest("Locked Phone", "LockedClaimBrand", DeviceState.AVAILABLE));
+
+        // Another transaction, such as a heartbeat flush, holds the only AVAILABLE device of the brand
+        try (Connection writer = jdbcTemplate.getDataSource().getConnection()) {
+            writer.setAutoCommit(false);
+            try (PreparedStatement lock = writer.prepareStatement("SELECT id FROM devices WHERE id = ? FOR UPDATE")) {
+                lock.setObject(1, deviceId);
+                lock.executeQuery().close();
+            }
+
+            mockMvc.perform(post(API_PATH + "/claim").param("brand", "LockedClaimBrand"))
+                    .andExpect(status().isServiceUnavailable())
+                    .andExpect(header().string(HttpHeaders.RETRY_AFTER, "1"));
+            writer.rollback();
+        }
+
+        mockMvc.perform(post(API_PATH + "/claim").param("brand", "LockedClaimBrand"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.id").value(deviceId.toString()));
+        mockMvc.perform(post(API_PATH + "/claim").param("brand", "LockedClaimBrand"))
+                .andExpect(status().isNotFound());
+    }
+
+    private Stream<String> openEventStream(String query, String lastEventId) throws Exception {
+        HttpRequest.Builder request = HttpRequest.newBuilder(URI.create("http://localhost:" + port + API_PATH + "/events" + query))
+                .header(HttpHeaders.ACCEPT, MediaType.TEXT_EVENT_STREAM_VALUE);
+        if (lastEventId != null) {
+            request.header("Last-Event-ID", lastEventId);
+        }
+        HttpResponse<Stream<String>> response = HttpClient.newHttpClient().send(request.build(), HttpResponse.BodyHandlers.ofLines());
+        assertThat(response.statusCode()).isEqualTo(200);
+        return response.body();
+    }
+
+    /**
+     * Reads the lines of the next event, skipping heartbeat comments.
+     */
+    private List<String> nextEvent(Stream<String> events) throws Exception {
+        Iterator<String> lines = events.iterator();
+        return CompletableFuture.supplyAsync(() -> {
+            List<String> event = new ArrayList<>();
+            while (lines.hasNext()) {
+                String line = lines.next();
+                if (line.isEmpty() && !event.isEmpty()) {
+                    return event;
+                }
+                if (!line.isEmpty() && !line.startsWith(":")) {
+                    event.add(line);
+                }
+            }
+            return event;
+        }).get(10, TimeUnit.SECONDS);
+    }
+
+    private UUID createDevice(DeviceCreateRequest request) throws Exception {
+        MvcResult result = mockMvc.perform(post(API_PATH)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isCreated())
+                .andReturn();
+        return objectMapper.readValue(result.getResponse().getContentAsString(), DeviceResponse.class).id();
+    }
 }
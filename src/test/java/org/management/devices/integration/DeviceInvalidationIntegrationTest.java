@@ -0,0 +1,118 @@
+package org.management.devices.integration;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.management.devices.domain.DeviceState;
+import org.management.devices.dto.DeviceCreateRequest;
+import org.management.devices.dto.DeviceResponse;
+import org.postgresql.PGConnection;
+import org.postgresql.PGNotification;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.Statement;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Cross-node invalidation ({@code devices.invalidation.enabled}), seen from one node: it announces its own changes,
+ * and applies what other nodes' writes look like to it, a changed row and a notification.
+ */
+@Testcontainers
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@AutoConfigureMockMvc
+class DeviceInvalidationIntegrationTest {
+
+    private static final String API_PATH = "/devices";
+
+    @Container
+    private static final PostgreSQLContainer<?> postgresContainer =
+            new PostgreSQLContainer<>("postgres:16")
+                    .withDatabaseName("testdb")
+                    .withUsername("testuser")
+                    .withPassword("testpass");
+
+    @DynamicPropertySource
+    static void setDatasourceProperties(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", postgresContainer::getJdbcUrl);
+        registry.add("spring.datasource.username", postgresContainer::getUsername);
+        registry.add("spring.datasource.password", postgresContainer::getPassword);
+        registry.add("devices.invalidation.enabled", () -> "true");
+        registry.add("devices.invalidation.poll-timeout", () -> "100ms");
+    }
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    @DisplayName("A change made by another node should evict the cached device")
+    void shouldEvictCachedDevice_WhenAnotherNodeChangesIt() throws Exception {
+        UUID deviceId = createDevice(new DeviceCreateRequest("Cached Phone", "CacheBrand", DeviceState.AVAILABLE));
+        mockMvc.perform(get(API_PATH + "/{id}", deviceId))
+                .andExpect(jsonPath("$.name").value("Cached Phone"));
+
+        // What another node's write looks like to this one: the row changes and a notification arrives
+        jdbcTemplate.update("UPDATE devices SET name = 'Renamed Elsewhere', version = version + 1 WHERE id = ?", deviceId);
+        jdbcTemplate.queryForList("SELECT pg_notify('device_changes', 'other-node:' || CAST(? AS text))", deviceId.toString());
+
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+        String name = "Cached Phone";
+        while (!name.equals("Renamed Elsewhere") && System.nanoTime() < deadline) {
+            Thread.sleep(100);
+            MvcResult result = mockMvc.perform(get(API_PATH + "/{id}", deviceId)).andReturn();
+            name = objectMapper.readValue(result.getResponse().getContentAsString(), DeviceResponse.class).name();
+        }
+        assertThat(name).isEqualTo("Renamed Elsewhere");
+    }
+
+    @Test
+    @DisplayName("A change made by this node should be announced to the others once it commits")
+    void shouldNotifyOtherNodes_WhenThisNodeChangesADevice() throws Exception {
+        try (Connection listener = DriverManager.getConnection(postgresContainer.getJdbcUrl(),
+                postgresContainer.getUsername(), postgresContainer.getPassword())) {
+            try (Statement statement = listener.createStatement()) {
+                statement.execute("LISTEN device_changes");
+            }
+            UUID deviceId = createDevice(new DeviceCreateRequest("Announced Phone", "AnnouncedBrand", DeviceState.AVAILABLE));
+
+            PGNotification[] received = listener.unwrap(PGConnection.class).getNotifications(10_000);
+            assertThat(received).isNotNull();
+            assertThat(received).extracting(PGNotification::getParameter)
+                    .anyMatch(payload -> payload.endsWith(":" + deviceId));
+        }
+    }
+
+    private UUID createDevice(DeviceCreateRequest request) throws Exception {
+        MvcResult result = mockMvc.perform(post(API_PATH)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isCreated())
+                .andReturn();
+        return objectMapper.readValue(result.getResponse().getContentAsString(), DeviceResponse.class).id();
+    }
+}
@@ -0,0 +1,141 @@
+package org.management.devices.integration;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.management.devices.cache.DeviceListGenerations;
+import org.management.devices.domain.DeviceState;
+import org.management.devices.dto.DeviceCreateRequest;
+import org.management.devices.dto.DeviceResponse;
+import org.management.devices.dto.DeviceUpdateRequest;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.io.ByteArrayInputStream;
+import java.util.List;
+import java.util.UUID;
+import java.util.zip.GZIPInputStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * {@code GET /devices} served from rendered segments ({@code devices.list-cache.enabled}).
+ */
+@Testcontainers
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@AutoConfigureMockMvc
+class DeviceListCacheIntegrationTest {
+
+    private static final String API_PATH = "/devices";
+
+    @Container
+    private static final PostgreSQLContainer<?> postgresContainer =
+            new PostgreSQLContainer<>("postgres:16")
+                    .withDatabaseName("testdb")
+                    .withUsername("testuser")
+                    .withPassword("testpass");
+
+    @DynamicPropertySource
+    static void setDatasourceProperties(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", postgresContainer::getJdbcUrl);
+        registry.add("spring.datasource.username", postgresContainer::getUsername);
+        registry.add("spring.datasource.password", postgresContainer::getPassword);
+        registry.add("devices.list-cache.enabled", () -> "true");
+    }
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private DeviceListGenerations listGenerations;
+
+    @Test
+    @DisplayName("Rendered list pages should be served gzipped and invalidated only by matching writes")
+    void shouldServeRenderedListPages() throws Exception {
+        UUID alpha = createDevice(new DeviceCreateRequest("Segment Alpha", "SegmentBrandA", DeviceState.AVAILABLE));
+        UUID beta = createDevice(new DeviceCreateRequest("Segment Beta", "SegmentBrandB", DeviceState.AVAILABLE));
+
+        MvcResult gzipped = mockMvc.perform(get(API_PATH).param("brand", "SegmentBrandA")
+                        .header(HttpHeaders.ACCEPT_ENCODING, "gzip, deflate"))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.CONTENT_ENCODING, "gzip"))
+                .andExpect(header().string(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING))
+                .andReturn();
+        try (GZIPInputStream body = new GZIPInputStream(new ByteArrayInputStream(gzipped.getResponse().getContentAsByteArray()))) {
+            List<DeviceResponse> devices = objectMapper.readValue(body, new TypeReference<>() {
+            });
+            assertThat(devices).extracting(DeviceResponse::id).containsExactly(alpha);
+        }
+
+        long brandA = listGenerations.generation("SegmentBrandA", null);
+        long brandB = listGenerations.generation("SegmentBrandB", null);
+        mockMvc.perform(patch(API_PATH + "/{id}", beta)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(new DeviceUpdateRequest("Segment Beta 2", null, null))))
+                .andExpect(status().isOk());
+        assertThat(listGenerations.generation("SegmentBrandA", null)).isEqualTo(brandA);
+        assertThat(listGenerations.generation("SegmentBrandB", null)).isGreaterThan(brandB);
+
+        mockMvc.perform(patch(API_PATH + "/{id}", alpha)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(new DeviceUpdateRequest("Segment Alpha 2", null, null))))
+                .andExpect(status().isOk());
+        mockMvc.perform(get(API_PATH).param("brand", "SegmentBrandA"))
+                .andExpect(status().isOk())
+                .andExpect(header().doesNotExist(HttpHeaders.CONTENT_ENCODING))
+                .andExpect(jsonPath("$[0].name").value("Segment Alpha 2"));
+    }
+
+    @Test
+    @DisplayName("The gzip variant of a page should carry its own ETag and be answered with 304 on it")
+    void shouldTagGzipVariantSeparately() throws Exception {
+        createDevice(new DeviceCreateRequest("Tagged Phone", "TaggedBrand", DeviceState.AVAILABLE));
+
+        String listTag = mockMvc.perform(get(API_PATH).param("brand", "TaggedBrand"))
+                .andExpect(status().isOk())
+                .andExpect(header().exists(HttpHeaders.ETAG))
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+        String gzipTag = mockMvc.perform(get(API_PATH).param("brand", "TaggedBrand")
+                        .header(HttpHeaders.ACCEPT_ENCODING, "gzip"))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.CONTENT_ENCODING, "gzip"))
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+        assertThat(gzipTag).isNotEqualTo(listTag);
+
+        mockMvc.perform(get(API_PATH).param("brand", "TaggedBrand")
+                        .header(HttpHeaders.ACCEPT_ENCODING, "gzip")
+                        .header(HttpHeaders.IF_NONE_MATCH, gzipTag))
+                .andExpect(status().isNotModified());
+        mockMvc.perform(get(API_PATH).param("brand", "TaggedBrand").header(HttpHeaders.IF_NONE_MATCH, gzipTag))
+                .andExpect(status().isOk());
+    }
+
+    private UUID createDevice(DeviceCreateRequest request) throws Exception {
+        MvcResult result = mockMvc.perform(post(API_PATH)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isCreated())
+                .andReturn();
+        return objectMapper.readValue(result.getResponse().getContentAsString(), DeviceResponse.class).id();
+    }
+}
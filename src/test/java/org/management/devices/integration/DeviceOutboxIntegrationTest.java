@@ -0,0 +1,124 @@
+package org.management.devices.integration;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.management.devices.domain.DeviceState;
+import org.management.devices.dto.DeviceCreateRequest;
+import org.management.devices.dto.DeviceResponse;
+import org.management.devices.dto.DeviceUpdateRequest;
+import org.management.devices.service.DeviceService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.containsString;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * The transactional outbox ({@code devices.outbox.enabled}), relayed to a file sink.
+ */
+@Testcontainers
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@AutoConfigureMockMvc
+class DeviceOutboxIntegrationTest {
+
+    private static final String API_PATH = "/devices";
+    private static final Path OUTBOX_FILE =
+            Path.of(System.getProperty("java.io.tmpdir"), "devices-outbox-" + UUID.randomUUID() + ".jsonl");
+
+    @Container
+    private static final PostgreSQLContainer<?> postgresContainer =
+            new PostgreSQLContainer<>("postgres:16")
+                    .withDatabaseName("testdb")
+                    .withUsername("testuser")
+                    .withPassword("testpass");
+
+    @DynamicPropertySource
+    static void setDatasourceProperties(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", postgresContainer::getJdbcUrl);
+        registry.add("spring.datasource.username", postgresContainer::getUsername);
+        registry.add("spring.datasource.password", postgresContainer::getPassword);
+        registry.add("devices.outbox.enabled", () -> "true");
+        registry.add("devices.outbox.sink", () -> "file");
+        registry.add("devices.outbox.poll-interval", () -> "100ms");
+        registry.add("devices.outbox.file", OUTBOX_FILE::toString);
+    }
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private DeviceService deviceService;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Test
+    @DisplayName("Should relay committed changes to the sink and leave rolled back ones out")
+    void shouldRelayChangesThroughOutbox() throws Exception {
+        UUID deviceId = createDevice(new DeviceCreateRequest("Outbox Phone", "OutboxBrand", DeviceState.AVAILABLE));
+        // The update publishes its change event, then its transaction rolls back
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            deviceService.partialUpdate(deviceId, null, new DeviceUpdateRequest("Rolled Back Phone", null, null));
+            status.setRollbackOnly();
+        });
+        mockMvc.perform(delete(API_PATH + "/{id}", deviceId))
+                .andExpect(status().isNoContent());
+        mockMvc.perform(delete(API_PATH + "/{id}", UUID.randomUUID()))
+                .andExpect(status().isNotFound());
+
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+        List<String> relayed = List.of();
+        while (System.nanoTime() < deadline) {
+            relayed = Files.exists(OUTBOX_FILE) ? Files.readAllLines(OUTBOX_FILE).stream()
+                    .filter(line -> line.contains(deviceId.toString())).toList() : List.of();
+            if (relayed.size() == 2) {
+                break;
+            }
+            Thread.sleep(100);
+        }
+        assertThat(relayed).hasSize(2);
+        assertThat(objectMapper.readTree(relayed.get(0)).get("type").asText()).isEqualTo("CREATED");
+        assertThat(objectMapper.readTree(relayed.get(1)).get("type").asText()).isEqualTo("DELETED");
+        assertThat(relayed).noneMatch(line -> line.contains("Rolled Back Phone"));
+
+        mockMvc.perform(get("/actuator/prometheus"))
+                .andExpect(status().isOk())
+                .andExpect(content().string(containsString("devices_outbox_lag_seconds_bucket")))
+                .andExpect(content().string(containsString("devices_outbox_published_total")));
+    }
+
+    private UUID createDevice(DeviceCreateRequest request) throws Exception {
+        MvcResult result = mockMvc.perform(post(API_PATH)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isCreated())
+                .andReturn();
+        return objectMapper.readValue(result.getResponse().getContentAsString(), DeviceResponse.class).id();
+    }
+}
@@ -0,0 +1,261 @@
+package org.management.devices.integration;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import net.ttddyy.dsproxy.ExecutionInfo;
+import net.ttddyy.dsproxy.QueryInfo;
+import net.ttddyy.dsproxy.listener.QueryExecutionListener;
+import net.ttddyy.dsproxy.proxy.ParameterSetOperation;
+import net.ttddyy.dsproxy.support.ProxyDataSource;
+import net.ttddyy.dsproxy.support.ProxyDataSourceBuilder;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.TestInstance;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+import org.management.devices.domain.DeviceState;
+import org.management.devices.repository.DeviceRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import javax.sql.DataSource;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Runs {@code EXPLAIN} for the SQL behind each {@code DeviceRepository} query against a seeded table and fails
+ * if any of them is planned as a sequential scan. Each repository method is called once in a rolled-back
+ * transaction; the statement it sends is captured at the {@link DataSource} with its parameters inlined, so the
+ * plan checked is the plan of the SQL Hibernate or the custom repository actually sends. {@code streamAll} is deliberately absent: a full
+ * export reads the whole table and a sequential scan is the right plan for it.
+ */
+@Testcontainers
+@SpringBootTest
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class DeviceQueryPlanIntegrationTest {
+
+    private static final int SEEDED_DEVICES = 50_000;
+    private static final int SEEDED_BRANDS = 50;
+    private static final Pageable PAGE = PageRequest.of(0, 101);
+
+    @Container
+    private static final PostgreSQLContainer<?> postgresContainer =
+            new PostgreSQLContainer<>("postgres:16")
+                    .withDatabaseName("testdb")
+                    .withUsername("testuser")
+                    .withPassword("testpass");
+
+    @DynamicPropertySource
+    static void setDatasourceProperties(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", postgresContainer::getJdbcUrl);
+        registry.add("spring.datasource.username", postgresContainer::getUsername);
+        registry.add("spring.datasource.password", postgresContainer::getPassword);
+    }
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private DeviceRepository deviceRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private Instant cursorCreatedAt;
+    private UUID cursorId;
+
+    @BeforeAll
+    void seedDevices() {
+        jdbcTemplate.update("""
+                INSERT INTO devices (id, name, brand, state, created_at)
+                SELECT gen_random_uuid(),
+                       'Device ' || n,
+                       'Brand-' || (n % ?),
+                       (ARRAY['AVAILABLE', 'IN_USE', 'INACTIVE'])[n % 3 + 1],
+                       TIMESTAMPTZ '2024-01-01 00:00:00+00' + n * INTERVAL '1 second'
+                FROM generate_series(1, ?) AS n""", SEEDED_BRANDS, SEEDED_DEVICES);
+        jdbcTemplate.execute("ANALYZE devices");
+
+        // Cursor in the middle of the table, the position a client reaches after paging halfway through
+        jdbcTemplate.query("SELECT created_at, id FROM devices ORDER BY created_at, id OFFSET ? LIMIT 1",
+                rs -> {
+                    cursorCreatedAt = rs.getObject("created_at", OffsetDateTime.class).toInstant();
+                    cursorId = rs.getObject("id", UUID.class);
+                }, SEEDED_DEVICES / 2);
+    }
+
+    Stream<Arguments> repositoryQueries() {
+        return Stream.of(
+                Arguments.of("findResponseById",
+                        captured(() -> deviceRepository.findResponseById(cursorId))),
+                Arguments.of("findPage",
+                        captured(() -> deviceRepository.findPage(PAGE))),
+                Arguments.of("findPageAfter",
+                        captured(() -> deviceRepository.findPageAfter(cursorCreatedAt, cursorId, PAGE))),
+                Arguments.of("findPageByBrand",
+                        captured(() -> deviceRepository.findPageByBrand("Brand-7", PAGE))),
+                Arguments.of("findPageByBrandAfter",
+                        captured(() -> deviceRepository.findPageByBrandAfter("Brand-7", cursorCreatedAt, cursorId, PAGE))),
+                Arguments.of("findPageByState",
+                        captured(() -> deviceRepository.findPageByState(DeviceState.IN_USE, PAGE))),
+                Arguments.of("findPageByStateAfter",
+                        captured(() -> deviceRepository.findPageByStateAfter(DeviceState.IN_USE, cursorCreatedAt, cursorId, PAGE))),
+                Arguments.of("findPageByBrandAndState",
+                        captured(() -> deviceRepository.findPageByBrandAndState("Brand-7", DeviceState.AVAILABLE, PAGE))),
+                Arguments.of("findPageByBrandAndStateAfter",
+                        captured(() -> deviceRepository.findPageByBrandAndStateAfter(
+                                "Brand-7", DeviceState.AVAILABLE, cursorCreatedAt, cursorId, PAGE))),
+                Arguments.of("claimAvailable",
+                        captured(() -> deviceRepository.claimAvailable("Brand-7"))),
+                Arguments.of("search",
+                        captured(() -> deviceRepository.search("ice 4242", 101, 0))),
+                Arguments.of("search, deep page",
+                        captured(() -> deviceRepository.search("Dev", 101, 900)))
+        );
+    }
+
+    @ParameterizedTest(name = "{0} must not be planned as a sequential scan")
+    @MethodSource("repositoryQueries")
+    void repositoryQuery_usesIndex(String query, Supplier<String> sql) throws Exception {
+        String plan = jdbcTemplate.queryForObject("EXPLAIN (FORMAT JSON) " + sql.get(), String.class);
+
+        List<String> nodeTypes = new ArrayList<>();
+        collectNodeTypes(objectMapper.readTree(plan).get(0).get("Plan"), nodeTypes);
+        assertThat(nodeTypes)
+                .as("plan of %s: %s", query, plan)
+                .doesNotContain("Seq Scan");
+    }
+
+    /**
+     * The single statement {@code call} sends, with its parameters inlined as literals.
+     */
+    private Supplier<String> captured(Runnable call) {
+        return () -> {
+            List<String> statements = new ArrayList<>();
+            StatementCapture.CAPTURED.set(statements);
+            try {
+                new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+                    call.run();
+                    status.setRollbackOnly();
+                });
+            } finally {
+                StatementCapture.CAPTURED.remove();
+            }
+            assertThat(statements).as("statements sent").hasSize(1);
+            return statements.get(0);
+        };
+    }
+
+    private void collectNodeTypes(JsonNode plan, List<String> nodeTypes) {
+        nodeTypes.add(plan.get("Node Type").asText());
+        JsonNode children = plan.get("Plans");
+        if (children != null) {
+            children.forEach(child -> collectNodeTypes(child, nodeTypes));
+        }
+    }
+
+    /**
+     * Wraps the application's {@link DataSource} so statements executed on a capturing thread are recorded.
+     */
+    @TestConfiguration
+    static class StatementCapture implements QueryExecutionListener {
+
+        static final ThreadLocal<List<String>> CAPTURED = new ThreadLocal<>();
+
+        @Bean
+        static BeanPostProcessor capturingDataSource() {
+            return new BeanPostProcessor() {
+                @Override
+                public Object postProcessAfterInitialization(Object bean, String beanName) {
+                    if (bean instanceof DataSource dataSource && !(bean instanceof ProxyDataSource)) {
+                        return ProxyDataSourceBuilder.create(dataSource).listener(new StatementCapture()).build();
+                    }
+                    return bean;
+                }
+            };
+        }
+
+        @Override
+        public void beforeQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+        }
+
+        @Override
+        public void afterQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+            List<String> statements = CAPTURED.get();
+            if (statements == null) {
+                return;
+            }
+            for (QueryInfo query : queryInfoList) {
+                List<List<ParameterSetOperation>> parameters = query.getParametersList();
+                statements.add(inline(query.getQuery(), parameters.isEmpty() ? List.of() : parameters.get(0)));
+            }
+        }
+
+        /**
+         * Replaces every {@code ?} placeholder outside string literals by the literal of the value bound to it.
+         */
+        private static String inline(String sql, List<ParameterSetOperation> parameters) {
+            Map<Integer, Object> values = new HashMap<>();
+            for (ParameterSetOperation parameter : parameters) {
+                Object[] args = parameter.getArgs();
+                if (args[0] instanceof Integer index) {
+                    values.put(index, parameter.getMethod().getName().equals("setNull") ? null : args[1]);
+                }
+            }
+
+            StringBuilder inlined = new StringBuilder(sql.length());
+            boolean quoted = false;
+            int index = 0;
+            for (char c : sql.toCharArray()) {
+                if (c == '\'') {
+                    quoted = !quoted;
+                }
+                if (c == '?' && !quoted) {
+                    inlined.append(literal(values.get(++index)));
+                } else {
+                    inlined.append(c);
+                }
+            }
+            return inlined.toString();
+        }
+
+        private static String literal(Object value) {
+            return switch (value) {
+                case null -> "NULL";
+                case Number number -> number.toString();
+                case Boolean bool -> bool.toString();
+                case UUID uuid -> "'" + uuid + "'::uuid";
+                case Timestamp timestamp -> "'" + timestamp.toInstant() + "'::timestamptz";
+                case Instant instant -> "'" + instant + "'::timestamptz";
+                case OffsetDateTime dateTime -> "'" + dateTime + "'::timestamptz";
+                default -> "'" + value.toString().replace("'", "''") + "'";
+            };
+        }
+    }
+}
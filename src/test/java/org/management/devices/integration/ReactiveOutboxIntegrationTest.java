@@ -0,0 +1,123 @@
+package org.management.devices.integration;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.management.devices.domain.DeviceState;
+import org.management.devices.dto.DeviceCreateRequest;
+import org.management.devices.dto.DeviceResponse;
+import org.management.devices.dto.DeviceUpdateRequest;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.web.reactive.server.WebTestClient;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * The outbox in the reactive profile: a change and its outbox row are written in one R2DBC transaction, so neither
+ * commits without the other.
+ */
+@Testcontainers
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@ActiveProfiles("reactive")
+class ReactiveOutboxIntegrationTest {
+
+    private static final String API_PATH = "/devices";
+    private static final Path OUTBOX_FILE =
+            Path.of(System.getProperty("java.io.tmpdir"), "devices-reactive-outbox-" + UUID.randomUUID() + ".jsonl");
+
+    @Container
+    private static final PostgreSQLContainer<?> postgresContainer =
+            new PostgreSQLContainer<>("postgres:16")
+                    .withDatabaseName("testdb")
+                    .withUsername("testuser")
+                    .withPassword("testpass");
+
+    @DynamicPropertySource
+    static void setDatasourceProperties(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", postgresContainer::getJdbcUrl);
+        registry.add("spring.datasource.username", postgresContainer::getUsername);
+        registry.add("spring.datasource.password", postgresContainer::getPassword);
+        registry.add("devices.outbox.enabled", () -> "true");
+        registry.add("devices.outbox.sink", () -> "file");
+        registry.add("devices.outbox.poll-interval", () -> "100ms");
+        registry.add("devices.outbox.file", OUTBOX_FILE::toString);
+        registry.add("devices.invalidation.enabled", () -> "true");
+        registry.add("devices.invalidation.poll-timeout", () -> "100ms");
+    }
+
+    @Autowired
+    private WebTestClient webTestClient;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Test
+    @DisplayName("Should relay the changes of reactive writes, and roll a change back with its outbox row")
+    void shouldCommitChangesWithTheirOutboxRows() throws Exception {
+        DeviceResponse created = webTestClient.post().uri(API_PATH)
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(new DeviceCreateRequest("Outbox Phone", "ReactiveOutboxBrand", DeviceState.AVAILABLE))
+                .exchange()
+                .expectStatus().isCreated()
+                .expectBody(DeviceResponse.class)
+                .returnResult()
+                .getResponseBody();
+        assertThat(created).isNotNull();
+        UUID deviceId = created.id();
+
+        // The outbox row of this update cannot be written, so the update itself must not commit either
+        jdbcTemplate.execute("ALTER TABLE device_outbox RENAME TO device_outbox_unavailable");
+        try {
+            webTestClient.patch().uri(API_PATH + "/{id}", deviceId)
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .bodyValue(new DeviceUpdateRequest("Rolled Back Phone", null, null))
+                    .exchange()
+                    .expectStatus().is5xxServerError();
+        } finally {
+            jdbcTemplate.execute("ALTER TABLE device_outbox_unavailable RENAME TO device_outbox");
+        }
+        webTestClient.get().uri(API_PATH + "/{id}", deviceId)
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.name").isEqualTo("Outbox Phone")
+                .jsonPath("$.version").isEqualTo(0);
+
+        webTestClient.delete().uri(API_PATH + "/{id}", deviceId)
+                .exchange()
+                .expectStatus().isNoContent();
+
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+        List<String> relayed = List.of();
+        while (System.nanoTime() < deadline) {
+            relayed = Files.exists(OUTBOX_FILE) ? Files.readAllLines(OUTBOX_FILE).stream()
+                    .filter(line -> line.contains(deviceId.toString())).toList() : List.of();
+            if (relayed.size() == 2) {
+                break;
+            }
+            Thread.sleep(100);
+        }
+        assertThat(relayed).hasSize(2);
+        assertThat(objectMapper.readTree(relayed.get(0)).get("type").asText()).isEqualTo("CREATED");
+        assertThat(objectMapper.readTree(relayed.get(1)).get("type").asText()).isEqualTo("DELETED");
+        assertThat(relayed).noneMatch(line -> line.contains("Rolled Back Phone"));
+    }
+}
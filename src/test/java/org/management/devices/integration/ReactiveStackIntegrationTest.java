@@ -0,0 +1,214 @@
+package org.management.devices.integration;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.MethodOrderer;
+import org.junit.jupiter.api.Order;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestMethodOrder;
+import org.management.devices.domain.DeviceState;
+import org.management.devices.dto.DeviceCreateRequest;
+import org.management.devices.dto.DeviceResponse;
+import org.management.devices.dto.DeviceUpdateRequest;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.web.reactive.server.WebTestClient;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * The device API in the reactive profile: the same requests as {@link DeviceControllerIntegrationTest} must get the
+ * same statuses, headers and error bodies from WebFlux and R2DBC.
+ */
+@Testcontainers
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@ActiveProfiles("reactive")
+@TestMethodOrder(MethodOrderer.OrderAnnotation.class)
+class ReactiveStackIntegrationTest {
+
+    private static final String API_PATH = "/devices";
+    private static final String BRAND = "ReactiveBrand";
+
+    @Container
+    private static final PostgreSQLContainer<?> postgresContainer =
+            new PostgreSQLContainer<>("postgres:16")
+                    .withDatabaseName("testdb")
+                    .withUsername("testuser")
+                    .withPassword("testpass");
+
+    @DynamicPropertySource
+    static void setDatasourceProperties(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", postgresContainer::getJdbcUrl);
+        registry.add("spring.datasource.username", postgresContainer::getUsername);
+        registry.add("spring.datasource.password", postgresContainer::getPassword);
+    }
+
+    @Autowired
+    private WebTestClient webTestClient;
+
+    private static UUID createdDeviceId;
+
+    @Test
+    @Order(1)
+    @DisplayName("1. POST /devices - Should create a device over R2DBC")
+    void shouldCreateDevice() {
+        DeviceResponse created = webTestClient.post().uri(API_PATH)
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(new DeviceCreateRequest("Reactive Phone", BRAND, null))
+                .exchange()
+                .expectStatus().isCreated()
+                .expectBody(DeviceResponse.class)
+                .returnResult()
+                .getResponseBody();
+
+        assertThat(created).isNotNull();
+        assertThat(created.state()).isEqualTo(DeviceState.AVAILABLE);
+        assertThat(created.version()).isZero();
+        createdDeviceId = created.id();
+    }
+
+    @Test
+    @Order(2)
+    @DisplayName("2. POST /devices - Should answer validation errors like the servlet stack")
+    void shouldRejectInvalidDevice() {
+        webTestClient.post().uri(API_PATH)
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(new DeviceCreateRequest("", BRAND, null))
+                .exchange()
+                .expectStatus().isBadRequest()
+                .expectBody()
+                .jsonPath("$.error").isEqualTo("Validation Failed")
+                .jsonPath("$.details.name").exists();
+
+        webTestClient.post().uri(API_PATH)
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue("{\"name\":\"Phone\",\"brand\":\"" + BRAND + "\",\"state\":\"BROKEN\"}")
+                .exchange()
+                .expectStatus().isBadRequest()
+                .expectBody()
+                .jsonPath("$.message").value(message -> assertThat((String) message).contains("Invalid value 'BROKEN'"));
+    }
+
+    @Test
+    @Order(3)
+    @DisplayName("3. GET /devices/{id} - Should return the device with its ETag, and 404 for unknown ids")
+    void shouldGetDeviceById() {
+        webTestClient.get().uri(API_PATH + "/{id}", createdDeviceId)
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().valueEquals(HttpHeaders.ETAG, "\"0\"")
+                .expectBody()
+                .jsonPath("$.name").isEqualTo("Reactive Phone");
+
+        webTestClient.get().uri(API_PATH + "/{id}", UUID.randomUUID())
+                .exchange()
+                .expectStatus().isNotFound();
+    }
+
+    @Test
+    @Order(4)
+    @DisplayName("4. GET /devices - Should stream pages and continue after the last device received")
+    void shouldStreamPages() {
+        for (int i = 0; i < 4; i++) {
+            webTestClient.post().uri(API_PATH)
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .bodyValue(new DeviceCreateRequest("Reactive Tablet " + i, BRAND, DeviceState.INACTIVE))
+                    .exchange()
+                    .expectStatus().isCreated();
+        }
+
+        List<DeviceResponse> first = page("/devices?brand=" + BRAND + "&limit=3");
+        List<DeviceResponse> second = page("/devices?brand=" + BRAND + "&limit=3&after=" + first.get(2).id());
+
+        assertThat(first).hasSize(3);
+        assertThat(first.get(0).id()).isEqualTo(createdDeviceId);
+        assertThat(second).hasSize(2);
+        assertThat(second).extracting(DeviceResponse::id).doesNotContainAnyElementsOf(
+                first.stream().map(DeviceResponse::id).toList());
+        assertThat(page("/devices?brand=" + BRAND + "&state=inactive")).hasSize(4);
+    }
+
+    @Test
+    @Order(5)
+    @DisplayName("5. PATCH /devices/{id} - Should apply If-Match and answer a stale version with 412")
+    void shouldUpdateConditionally() {
+        webTestClient.patch().uri(API_PATH + "/{id}", createdDeviceId)
+                .header(HttpHeaders.IF_MATCH, "\"0\"")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(new DeviceUpdateRequest(null, null, DeviceState.IN_USE))
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().valueEquals(HttpHeaders.ETAG, "\"1\"");
+
+        webTestClient.patch().uri(API_PATH + "/{id}", createdDeviceId)
+                .header(HttpHeaders.IF_MATCH, "\"0\"")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(new DeviceUpdateRequest(null, null, DeviceState.AVAILABLE))
+                .exchange()
+                .expectStatus().isEqualTo(412);
+
+        webTestClient.patch().uri(API_PATH + "/{id}", createdDeviceId)
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(new DeviceUpdateRequest(null, "OtherBrand", null))
+                .exchange()
+                .expectStatus().isEqualTo(409);
+    }
+
+    @Test
+    @Order(6)
+    @DisplayName("6. DELETE /devices/{id} - Should refuse IN_USE devices and delete released ones")
+    void shouldDeleteReleasedDevice() {
+        webTestClient.delete().uri(API_PATH + "/{id}", createdDeviceId)
+                .exchange()
+                .expectStatus().isEqualTo(409);
+
+        webTestClient.post().uri(API_PATH + "/{id}/release", createdDeviceId)
+                .header(HttpHeaders.IF_MATCH, "\"1\"")
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().valueEquals(HttpHeaders.ETAG, "\"2\"");
+
+        webTestClient.delete().uri(API_PATH + "/{id}", createdDeviceId)
+                .exchange()
+                .expectStatus().isNoContent();
+
+        webTestClient.get().uri(API_PATH + "/{id}", createdDeviceId)
+                .exchange()
+                .expectStatus().isNotFound();
+    }
+
+    @Test
+    @Order(7)
+    @DisplayName("7. GET /devices/export - Should stream every device as NDJSON")
+    void shouldExportAsNdjson() {
+        List<DeviceResponse> exported = webTestClient.get().uri(API_PATH + "/export")
+                .accept(MediaType.APPLICATION_NDJSON)
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().contentTypeCompatibleWith(MediaType.APPLICATION_NDJSON)
+                .expectBodyList(DeviceResponse.class)
+                .returnResult()
+                .getResponseBody();
+
+        assertThat(exported).hasSize(4).allMatch(device -> device.brand().equals(BRAND));
+    }
+
+    private List<DeviceResponse> page(String uri) {
+        return webTestClient.get().uri(uri)
+                .exchange()
+                .expectStatus().isOk()
+                .expectBodyList(DeviceResponse.class)
+                .returnResult()
+                .getResponseBody();
+    }
+}
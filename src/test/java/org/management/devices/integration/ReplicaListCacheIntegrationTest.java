@@ -0,0 +1,135 @@
+package org.management.devices.integration;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.servlet.http.Cookie;
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.management.devices.domain.DeviceState;
+import org.management.devices.dto.DeviceCreateRequest;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * The list cache in front of read replicas. As in {@link ReplicaRoutingIntegrationTest}, the replica is a second,
+ * unreplicated instance: it never receives the primary's writes, like a replica lagging forever.
+ */
+@Testcontainers
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@AutoConfigureMockMvc
+class ReplicaListCacheIntegrationTest {
+
+    private static final String API_PATH = "/devices";
+    private static final String LAST_WRITE_COOKIE = "devices-last-write";
+
+    @Container
+    private static final PostgreSQLContainer<?> primaryContainer =
+            new PostgreSQLContainer<>("postgres:16")
+                    .withDatabaseName("testdb")
+                    .withUsername("testuser")
+                    .withPassword("testpass");
+
+    @Container
+    private static final PostgreSQLContainer<?> replicaContainer =
+            new PostgreSQLContainer<>("postgres:16")
+                    .withDatabaseName("testdb")
+                    .withUsername("testuser")
+                    .withPassword("testpass");
+
+    @DynamicPropertySource
+    static void setDatasourceProperties(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", primaryContainer::getJdbcUrl);
+        registry.add("spring.datasource.username", primaryContainer::getUsername);
+        registry.add("spring.datasource.password", primaryContainer::getPassword);
+        registry.add("devices.replicas.enabled", () -> "true");
+        registry.add("devices.replicas.urls[0]", replicaContainer::getJdbcUrl);
+        registry.add("devices.replicas.lag-check-interval", () -> "200ms");
+        registry.add("devices.list-cache.enabled", () -> "true");
+    }
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @BeforeAll
+    static void migrateReplica() {
+        Flyway.configure()
+                .dataSource(replicaContainer.getJdbcUrl(), replicaContainer.getUsername(), replicaContainer.getPassword())
+                .configuration(Map.of("flyway.postgresql.transactional.lock", "false"))
+                .load()
+                .migrate();
+    }
+
+    @Test
+    @DisplayName("Cached pages should be loaded on the primary, so pinned clients never get a replica's stale page")
+    void shouldLoadCachedPagesOnPrimary() throws Exception {
+        new JdbcTemplate(new DriverManagerDataSource(replicaContainer.getJdbcUrl(),
+                replicaContainer.getUsername(), replicaContainer.getPassword()))
+                .update("INSERT INTO devices (id, name, brand, state, created_at) "
+                        + "VALUES (gen_random_uuid(), 'Replica Phone', 'ReplicaOnly', 'AVAILABLE', now())");
+        // Searches are not cached; once one finds the replica's row, reads are routed to the replica
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+        while (deviceCount(mockMvc.perform(get(API_PATH + "/search").param("q", "Replica Phone")).andReturn()) != 1
+                && System.nanoTime() < deadline) {
+            Thread.sleep(100);
+        }
+        assertThat(deviceCount(mockMvc.perform(get(API_PATH + "/search").param("q", "Replica Phone"))
+                .andExpect(status().isOk())
+                .andReturn())).isEqualTo(1);
+
+        MvcResult created = mockMvc.perform(post(API_PATH)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(
+                                new DeviceCreateRequest("Primary Phone", "PrimaryOnly", DeviceState.AVAILABLE))))
+                .andExpect(status().isCreated())
+                .andReturn();
+        Cookie lastWrite = created.getResponse().getCookie(LAST_WRITE_COOKIE);
+        assertThat(lastWrite).isNotNull();
+
+        // An unpinned client misses the cache first; the page it renders must be the primary's
+        assertThat(deviceCount(mockMvc.perform(get(API_PATH).param("brand", "PrimaryOnly"))
+                .andExpect(status().isOk())
+                .andReturn())).isEqualTo(1);
+        assertThat(deviceCount(mockMvc.perform(get(API_PATH).param("brand", "ReplicaOnly"))
+                .andExpect(status().isOk())
+                .andReturn())).isZero();
+
+        MvcResult pinned = mockMvc.perform(get(API_PATH).param("brand", "PrimaryOnly").cookie(lastWrite))
+                .andExpect(status().isOk())
+                .andExpect(header().exists(HttpHeaders.ETAG))
+                .andReturn();
+        assertThat(deviceCount(pinned)).isEqualTo(1);
+
+        mockMvc.perform(get(API_PATH).param("brand", "PrimaryOnly").cookie(lastWrite)
+                        .header(HttpHeaders.IF_NONE_MATCH, pinned.getResponse().getHeader(HttpHeaders.ETAG)))
+                .andExpect(status().isNotModified());
+    }
+
+    private int deviceCount(MvcResult result) throws Exception {
+        return objectMapper.readTree(result.getResponse().getContentAsString()).size();
+    }
+}
@@ -0,0 +1,197 @@
+package org.management.devices.integration;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.servlet.http.Cookie;
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.MethodOrderer;
+import org.junit.jupiter.api.Order;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestMethodOrder;
+import org.management.devices.config.CacheConfig;
+import org.management.devices.domain.DeviceState;
+import org.management.devices.dto.DeviceCreateRequest;
+import org.management.devices.dto.DeviceResponse;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Two independent PostgreSQL instances stand in for a primary and its streaming replica. The replica gets the
+ * schema the way replication would give it, but no rows: a row written to one instance only tells which one
+ * answered a query.
+ */
+@Testcontainers
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@AutoConfigureMockMvc
+@TestMethodOrder(MethodOrderer.OrderAnnotation.class)
+class ReplicaRoutingIntegrationTest {
+
+    private static final String API_PATH = "/devices";
+    private static final String LAST_WRITE_COOKIE = "devices-last-write";
+
+    @Container
+    private static final PostgreSQLContainer<?> primaryContainer =
+            new PostgreSQLContainer<>("postgres:16")
+                    .withDatabaseName("testdb")
+                    .withUsername("testuser")
+                    .withPassword("testpass");
+
+    @Container
+    private static final PostgreSQLContainer<?> replicaContainer =
+            new PostgreSQLContainer<>("postgres:16")
+                    .withDatabaseName("testdb")
+                    .withUsername("testuser")
+                    .withPassword("testpass");
+
+    @DynamicPropertySource
+    static void setDatasourceProperties(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", primaryContainer::getJdbcUrl);
+        registry.add("spring.datasource.username", primaryContainer::getUsername);
+        registry.add("spring.datasource.password", primaryContainer::getPassword);
+        registry.add("devices.replicas.enabled", () -> "true");
+        registry.add("devices.replicas.urls[0]", replicaContainer::getJdbcUrl);
+        registry.add("devices.replicas.lag-check-interval", () -> "200ms");
+    }
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    private static Cookie lastWrite;
+
+    @BeforeAll
+    static void migrateReplica() {
+        Flyway.configure()
+                .dataSource(replicaContainer.getJdbcUrl(), replicaContainer.getUsername(), replicaContainer.getPassword())
+                .configuration(Map.of("flyway.postgresql.transactional.lock", "false"))
+                .load()
+                .migrate();
+    }
+
+    @Test
+    @Order(1)
+    @DisplayName("1. GET /devices - Read-only queries should be answered by the replica")
+    void shouldReadFromReplica() throws Exception {
+        replicaJdbcTemplate().update("INSERT INTO devices (id, name, brand, state, created_at) "
+                        + "VALUES (gen_random_uuid(), 'Replica Phone', 'ReplicaOnly', 'AVAILABLE', now())");
+
+        awaitDeviceCount(get(API_PATH).param("brand", "ReplicaOnly"), 1);
+    }
+
+    @Test
+    @Order(2)
+    @DisplayName("2. POST /devices - Writes should go to the primary and mark the client as a recent writer")
+    void shouldWriteToPrimary() throws Exception {
+        DeviceCreateRequest request = new DeviceCreateRequest("Primary Phone", "PrimaryOnly", DeviceState.AVAILABLE);
+
+        MvcResult result = mockMvc.perform(post(API_PATH)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isCreated())
+                .andReturn();
+
+        lastWrite = result.getResponse().getCookie(LAST_WRITE_COOKIE);
+        assertThat(lastWrite).isNotNull();
+        assertThat(deviceCount(get(API_PATH).param("brand", "PrimaryOnly"))).isZero();
+    }
+
+    @Test
+    @Order(3)
+    @DisplayName("3. GET /devices - A client that just wrote should read its write from the primary")
+    void shouldReadOwnWriteFromPrimary() throws Exception {
+        assertThat(deviceCount(get(API_PATH).param("brand", "PrimaryOnly").cookie(lastWrite))).isEqualTo(1);
+        assertThat(deviceCount(get(API_PATH).param("brand", "ReplicaOnly").cookie(lastWrite))).isZero();
+    }
+
+    @Test
+    @Order(4)
+    @DisplayName("4. GET /devices/{id} - An evicted device should be reloaded from the primary, not a lagging replica")
+    void shouldReloadEvictedDeviceFromPrimary() throws Exception {
+        UUID id = UUID.randomUUID();
+        String insert = "INSERT INTO devices (id, name, brand, state, created_at, version) "
+                + "VALUES (?, ?, 'LagBrand', 'AVAILABLE', now(), ?)";
+        // The replica has not replayed the rename yet
+        replicaJdbcTemplate().update(insert, id, "Stale Phone", 0L);
+        jdbcTemplate.update(insert, id, "Fresh Phone", 1L);
+
+        // What a write of another node does to this one's cache
+        Cache cache = cacheManager.getCache(CacheConfig.DEVICES_CACHE);
+        assertThat(cache).isNotNull();
+        cache.evict(id);
+
+        mockMvc.perform(get(API_PATH + "/{id}", id))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"1\""))
+                .andExpect(jsonPath("$.name").value("Fresh Phone"));
+        assertThat(cache.get(id, DeviceResponse.class)).extracting(DeviceResponse::name).isEqualTo("Fresh Phone");
+    }
+
+    @Test
+    @Order(5)
+    @DisplayName("5. GET /devices - Reads should fall back to the primary when no replica is usable")
+    void shouldFallBackToPrimary_WhenReplicaIsDown() throws Exception {
+        replicaContainer.stop();
+
+        awaitDeviceCount(get(API_PATH).param("brand", "PrimaryOnly"), 1);
+    }
+
+    private static JdbcTemplate replicaJdbcTemplate() {
+        return new JdbcTemplate(new DriverManagerDataSource(replicaContainer.getJdbcUrl(),
+                replicaContainer.getUsername(), replicaContainer.getPassword()));
+    }
+
+    private int deviceCount(MockHttpServletRequestBuilder request) throws Exception {
+        MvcResult result = mockMvc.perform(request)
+                .andExpect(status().isOk())
+                .andReturn();
+        return objectMapper.readTree(result.getResponse().getContentAsString()).size();
+    }
+
+    /**
+     * Replicas join, and leave, on the lag monitor's schedule rather than immediately.
+     */
+    private void awaitDeviceCount(MockHttpServletRequestBuilder request, int expected) throws Exception {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+        int count = deviceCount(request);
+        while (count != expected && System.nanoTime() < deadline) {
+            Thread.sleep(100);
+            count = deviceCount(request);
+        }
+        assertThat(count).isEqualTo(expected);
+    }
+}
@@ -0,0 +1,140 @@
+package org.management.devices.unit;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import jakarta.servlet.http.HttpServlet;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.management.devices.config.DeviceConcurrencyProperties;
+import org.management.devices.filter.ConcurrencyLimitFilter;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockAsyncContext;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ConcurrencyLimitFilterUnitTest {
+
+    private ConcurrencyLimitFilter filter;
+
+    @BeforeEach
+    void setUp() {
+        ObjectMapper objectMapper = new ObjectMapper().registerModule(new JavaTimeModule());
+        filter = new ConcurrencyLimitFilter(new DeviceConcurrencyProperties(true, 1, 1, Duration.ZERO), objectMapper);
+    }
+
+    @Test
+    void doFilter_ShouldPassRequest_WhenPermitIsFree() throws Exception {
+        // Given
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        MockFilterChain chain = new MockFilterChain();
+
+        // When
+        filter.doFilter(new MockHttpServletRequest("GET", "/devices"), response, chain);
+
+        // Then
+        assertThat(chain.getRequest()).isNotNull();
+        assertThat(response.getStatus()).isEqualTo(200);
+    }
+
+    @Test
+    void doFilter_ShouldReject_WhenAllPermitsAreInUse() throws Exception {
+        // Given - the nested request arrives while the outer one still holds the only permit
+        MockHttpServletResponse nestedResponse = new MockHttpServletResponse();
+        MockFilterChain nestedChain = new MockFilterChain();
+        MockFilterChain outerChain = new MockFilterChain(new HttpServlet() {
+        }, (request, response, chain) ->
+                filter.doFilter(new MockHttpServletRequest("GET", "/devices"), nestedResponse, nestedChain));
+
+        // When
+        filter.doFilter(new MockHttpServletRequest("GET", "/devices"), new MockHttpServletResponse(), outerChain);
+
+        // Then
+        assertThat(nestedResponse.getStatus()).isEqualTo(503);
+        assertThat(nestedResponse.getHeader(HttpHeaders.RETRY_AFTER)).isEqualTo("1");
+        assertThat(nestedResponse.getContentAsString()).contains("Too many concurrent requests");
+        assertThat(nestedChain.getRequest()).isNull();
+    }
+
+    @Test
+    void doFilter_ShouldReleasePermit_AfterRequestCompletes() throws Exception {
+        // Given
+        filter.doFilter(new MockHttpServletRequest("GET", "/devices"), new MockHttpServletResponse(), new MockFilterChain());
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        // When
+        filter.doFilter(new MockHttpServletRequest("GET", "/devices"), response, new MockFilterChain());
+
+        // Then
+        assertThat(response.getStatus()).isEqualTo(200);
+    }
+
+    @Test
+    void doFilter_ShouldHoldPermit_UntilAsyncRequestCompletes() throws Exception {
+        // Given - a streaming export whose body is still being written after the initial dispatch returned
+        MockHttpServletRequest export = new MockHttpServletRequest("GET", "/devices/export");
+        export.setAsyncSupported(true);
+        filter.doFilter(export, new MockHttpServletResponse(), new MockFilterChain(new HttpServlet() {
+            @Override
+            protected void service(HttpServletRequest request, HttpServletResponse response) {
+                request.startAsync();
+            }
+        }));
+        MockHttpServletResponse whileStreaming = new MockHttpServletResponse();
+        MockHttpServletResponse afterStreaming = new MockHttpServletResponse();
+
+        // When
+        filter.doFilter(new MockHttpServletRequest("GET", "/devices"), whileStreaming, new MockFilterChain());
+        ((MockAsyncContext) export.getAsyncContext()).complete();
+        filter.doFilter(new MockHttpServletRequest("GET", "/devices"), afterStreaming, new MockFilterChain());
+
+        // Then
+        assertThat(whileStreaming.getStatus()).isEqualTo(503);
+        assertThat(afterStreaming.getStatus()).isEqualTo(200);
+    }
+
+    @Test
+    void doFilter_ShouldBoundEventStreams_SeparatelyFromRequests() throws Exception {
+        // Given - one open subscription takes the only stream permit but no request permit
+        MockHttpServletRequest subscription = new MockHttpServletRequest("GET", "/devices/events");
+        subscription.setAsyncSupported(true);
+        filter.doFilter(subscription, new MockHttpServletResponse(), new MockFilterChain(new HttpServlet() {
+            @Override
+            protected void service(HttpServletRequest request, HttpServletResponse response) {
+                request.startAsync();
+            }
+        }));
+        MockHttpServletResponse request = new MockHttpServletResponse();
+        MockHttpServletResponse secondSubscription = new MockHttpServletResponse();
+
+        // When
+        filter.doFilter(new MockHttpServletRequest("GET", "/devices"), request, new MockFilterChain());
+        filter.doFilter(new MockHttpServletRequest("GET", "/devices/events"), secondSubscription, new MockFilterChain());
+
+        // Then
+        assertThat(request.getStatus()).isEqualTo(200);
+        assertThat(secondSubscription.getStatus()).isEqualTo(503);
+        assertThat(secondSubscription.getContentAsString()).contains("Too many open event streams");
+    }
+
+    @Test
+    void doFilter_ShouldNotLimit_RequestsOutsideDevicesApi() throws Exception {
+        // Given
+        MockHttpServletResponse nestedResponse = new MockHttpServletResponse();
+        MockFilterChain outerChain = new MockFilterChain(new HttpServlet() {
+        }, (request, response, chain) ->
+                filter.doFilter(new MockHttpServletRequest("GET", "/swagger-ui/index.html"), nestedResponse, new MockFilterChain()));
+
+        // When
+        filter.doFilter(new MockHttpServletRequest("GET", "/devices"), new MockHttpServletResponse(), outerChain);
+
+        // Then
+        assertThat(nestedResponse.getStatus()).isEqualTo(200);
+    }
+}
@@ -0,0 +1,170 @@
+package org.management.devices.unit;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.management.devices.domain.DeviceState;
+import org.management.devices.dto.DeviceCursor;
+import org.management.devices.dto.DevicePage;
+import org.management.devices.dto.DeviceResponse;
+import org.management.devices.event.DeviceChangeEvent;
+import org.management.devices.index.DeviceBitmapIndex;
+import org.management.devices.service.DeviceService;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+import java.util.function.Consumer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+
+@ExtendWith(MockitoExtension.class)
+class DeviceBitmapIndexUnitTest {
+
+    private static final Instant CREATED_AT = Instant.parse("2024-01-01T00:00:00Z");
+
+    @Mock
+    private DeviceService deviceService;
+
+    private DeviceBitmapIndex index;
+
+    private DeviceResponse appleAvailable;
+    private DeviceResponse appleInUse;
+    private DeviceResponse samsungAvailable;
+
+    @BeforeEach
+    void setUp() {
+        index = new DeviceBitmapIndex(deviceService);
+        appleAvailable = device("iPhone 15", "Apple", DeviceState.AVAILABLE, 1);
+        appleInUse = device("iPhone 14", "Apple", DeviceState.IN_USE, 2);
+        samsungAvailable = device("Galaxy S24", "Samsung", DeviceState.AVAILABLE, 3);
+    }
+
+    @Test
+    void page_ShouldBeEmpty_BeforeRebuild() {
+        assertThat(index.page(null, null, null, 10)).isEmpty();
+    }
+
+    @Test
+    void page_ShouldIntersectBrandAndStateBitmaps() {
+        // Given
+        rebuildWith(appleAvailable, appleInUse, samsungAvailable);
+
+        // When
+        DevicePage page = index.page("Apple", DeviceState.AVAILABLE, null, 10).orElseThrow();
+
+        // Then
+        assertThat(page.items()).containsExactly(appleAvailable);
+        assertThat(page.nextCursor()).isNull();
+    }
+
+    @Test
+    void page_ShouldReturnEmptyPage_WhenBrandIsUnknown() {
+        // Given
+        rebuildWith(appleAvailable);
+
+        // When
+        DevicePage page = index.page("Nokia", null, null, 10).orElseThrow();
+
+        // Then
+        assertThat(page.items()).isEmpty();
+    }
+
+    @Test
+    void page_ShouldResumeAfterCursor_InCreationOrder() {
+        // Given
+        rebuildWith(appleAvailable, appleInUse, samsungAvailable);
+
+        // When
+        DevicePage first = index.page(null, null, null, 2).orElseThrow();
+        DevicePage second = index.page(null, null, DeviceCursor.decode(first.nextCursor()), 2).orElseThrow();
+
+        // Then
+        assertThat(first.items()).containsExactly(appleAvailable, appleInUse);
+        assertThat(second.items()).containsExactly(samsungAvailable);
+        assertThat(second.nextCursor()).isNull();
+    }
+
+    @Test
+    void page_ShouldFallBack_WhenCursorDeviceIsUnknown() {
+        // Given
+        rebuildWith(appleAvailable);
+        DeviceCursor foreignCursor = new DeviceCursor(CREATED_AT, UUID.randomUUID());
+
+        // When & Then
+        assertThat(index.page(null, null, foreignCursor, 10)).isEmpty();
+    }
+
+    @Test
+    void onDeviceChange_ShouldMoveDeviceBetweenBitmaps_WhenUpdated() {
+        // Given
+        rebuildWith(appleAvailable);
+        DeviceResponse rebranded = new DeviceResponse(appleAvailable.id(), appleAvailable.name(), "Samsung",
+                DeviceState.INACTIVE, appleAvailable.createdAt(), appleAvailable.version() + 1);
+
+        // When
+        index.onDeviceChange(DeviceChangeEvent.updated(appleAvailable, rebranded));
+
+        // Then
+        assertThat(index.page("Apple", null, null, 10).orElseThrow().items()).isEmpty();
+        assertThat(index.page(null, DeviceState.AVAILABLE, null, 10).orElseThrow().items()).isEmpty();
+        assertThat(index.page("Samsung", DeviceState.INACTIVE, null, 10).orElseThrow().items()).containsExactly(rebranded);
+    }
+
+    @Test
+    void onDeviceChange_ShouldAppendCreatedAndDropDeletedDevices() {
+        // Given
+        rebuildWith(appleAvailable, appleInUse);
+
+        // When
+        index.onDeviceChange(DeviceChangeEvent.created(samsungAvailable));
+        index.onDeviceChange(DeviceChangeEvent.deleted(appleAvailable));
+
+        // Then
+        assertThat(index.page(null, null, null, 10).orElseThrow().items()).containsExactly(appleInUse, samsungAvailable);
+        assertThat(index.size()).isEqualTo(2);
+    }
+
+    @Test
+    void onDeviceChange_ShouldIgnoreStaleEvents_WhenDeliveredOutOfOrder() {
+        // Given
+        rebuildWith(appleAvailable, samsungAvailable);
+        DeviceResponse inUse = new DeviceResponse(appleAvailable.id(), appleAvailable.name(), appleAvailable.brand(),
+                DeviceState.IN_USE, appleAvailable.createdAt(), 1L);
+        DeviceResponse inactive = new DeviceResponse(appleAvailable.id(), appleAvailable.name(), appleAvailable.brand(),
+                DeviceState.INACTIVE, appleAvailable.createdAt(), 2L);
+        DeviceResponse renamed = new DeviceResponse(samsungAvailable.id(), "Galaxy S25", samsungAvailable.brand(),
+                samsungAvailable.state(), samsungAvailable.createdAt(), 1L);
+
+        // When
+        index.onDeviceChange(DeviceChangeEvent.updated(inUse, inactive));
+        index.onDeviceChange(DeviceChangeEvent.updated(appleAvailable, inUse));
+        index.onDeviceChange(DeviceChangeEvent.deleted(renamed));
+        index.onDeviceChange(DeviceChangeEvent.updated(samsungAvailable, renamed));
+        index.onDeviceChange(DeviceChangeEvent.deleted(appleInUse));
+        index.onDeviceChange(DeviceChangeEvent.created(appleInUse));
+
+        // Then
+        assertThat(index.page(null, null, null, 10).orElseThrow().items()).containsExactly(inactive);
+        assertThat(index.page(null, DeviceState.IN_USE, null, 10).orElseThrow().items()).isEmpty();
+        assertThat(index.size()).isEqualTo(1);
+    }
+
+    @SuppressWarnings("unchecked")
+    private void rebuildWith(DeviceResponse... devices) {
+        doAnswer(invocation -> {
+            Consumer<DeviceResponse> consumer = invocation.getArgument(0);
+            List.of(devices).forEach(consumer);
+            return null;
+        }).when(deviceService).exportAll(any(Consumer.class));
+        index.rebuild();
+    }
+
+    private DeviceResponse device(String name, String brand, DeviceState state, int secondsAfterStart) {
+        return new DeviceResponse(UUID.randomUUID(), name, brand, state, CREATED_AT.plusSeconds(secondsAfterStart), 0L);
+    }
+}
@@ -0,0 +1,232 @@
+package org.management.devices.unit;
+
+import jakarta.persistence.EntityManager;
+import jakarta.validation.Validation;
+import jakarta.validation.Validator;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.management.devices.config.DeviceBatchProperties;
+import org.management.devices.domain.Device;
+import org.management.devices.domain.DeviceState;
+import org.management.devices.dto.BatchCreateResponse;
+import org.management.devices.dto.BatchItemResult;
+import org.management.devices.dto.BatchItemStatus;
+import org.management.devices.dto.BulkRejection;
+import org.management.devices.dto.BulkUpdateRequest;
+import org.management.devices.dto.BulkUpdateResponse;
+import org.management.devices.dto.DeviceCreateRequest;
+import org.management.devices.dto.DeviceFilter;
+import org.management.devices.dto.DeviceResponse;
+import org.management.devices.dto.DeviceUpdateRequest;
+import org.management.devices.event.DeviceChangeEvent;
+import org.management.devices.exception.BatchSizeExceededException;
+import org.management.devices.exception.InvalidBulkRequestException;
+import org.management.devices.mapper.DeviceMapper;
+import org.management.devices.repository.DeviceRepository;
+import org.management.devices.repository.DeviceRowChange;
+import org.management.devices.repository.DeviceSelector;
+import org.management.devices.service.DeviceBulkServiceImpl;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.transaction.support.TransactionOperations;
+
+import java.time.Instant;
+import java.util.Collections;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class DeviceBulkServiceUnitTest {
+
+    private static final Validator VALIDATOR = Validation.buildDefaultValidatorFactory().getValidator();
+
+    @Mock
+    private DeviceRepository deviceRepository;
+
+    @Mock
+    private DeviceMapper mapper;
+
+    @Mock
+    private EntityManager entityManager;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    private DeviceBulkServiceImpl bulkService;
+
+    @BeforeEach
+    void setUp() {
+        bulkService = new DeviceBulkServiceImpl(deviceRepository, mapper, entityManager, VALIDATOR,
+                TransactionOperations.withoutTransaction(), eventPublisher, new DeviceBatchProperties(2, 5));
+        lenient().when(mapper.toEntity(any(DeviceCreateRequest.class))).thenAnswer(invocation -> {
+            DeviceCreateRequest request = invocation.getArgument(0);
+            Device device = new Device();
+            device.setName(request.name());
+            device.setBrand(request.brand());
+            device.setState(request.state() != null ? request.state() : DeviceState.AVAILABLE);
+            return device;
+        });
+        lenient().when(mapper.toResponse(any(Device.class))).thenAnswer(invocation -> {
+            Device device = invocation.getArgument(0);
+            return new DeviceResponse(UUID.randomUUID(), device.getName(), device.getBrand(), device.getState(), Instant.now(), 0L);
+        });
+    }
+
+    @Test
+    void createAll_ShouldCreateValidDevices_AndRejectInvalidOnes() {
+        // Given
+        List<DeviceCreateRequest> requests = List.of(
+                new DeviceCreateRequest("iPhone 15", "Apple", null),
+                new DeviceCreateRequest("", "Apple", null),
+                new DeviceCreateRequest("Galaxy S24", "Samsung", DeviceState.IN_USE)
+        );
+
+        // When
+        BatchCreateResponse response = bulkService.createAll(requests);
+
+        // Then
+        assertThat(response.created()).isEqualTo(2);
+        assertThat(response.rejected()).isEqualTo(1);
+        assertThat(response.results()).extracting(BatchItemResult::status)
+                .containsExactly(BatchItemStatus.CREATED, BatchItemStatus.REJECTED, BatchItemStatus.CREATED);
+        assertThat(response.results().get(1).errors()).containsKey("name");
+        assertThat(response.results().get(2).device().name()).isEqualTo("Galaxy S24");
+        verify(eventPublisher, times(2)).publishEvent(any(DeviceChangeEvent.class));
+    }
+
+    @Test
+    void createAll_ShouldInsertInChunks_AndClearPersistenceContextPerChunk() {
+        // Given
+        List<DeviceCreateRequest> requests = List.of(
+                new DeviceCreateRequest("Device 1", "Apple", null),
+                new DeviceCreateRequest("Device 2", "Apple", null),
+                new DeviceCreateRequest("Device 3", "Apple", null)
+        );
+
+        // When
+        BatchCreateResponse response = bulkService.createAll(requests);
+
+        // Then
+        assertThat(response.created()).isEqualTo(3);
+        verify(deviceRepository, times(2)).saveAll(anyList());
+        verify(entityManager, times(2)).flush();
+        verify(entityManager, times(2)).clear();
+    }
+
+    @Test
+    void createAll_ShouldReportFailedChunk_WithoutAffectingOtherChunks() {
+        // Given
+        List<DeviceCreateRequest> requests = List.of(
+                new DeviceCreateRequest("Device 1", "Apple", null),
+                new DeviceCreateRequest("Device 2", "Apple", null),
+                new DeviceCreateRequest("Device 3", "Apple", null)
+        );
+        doThrow(new DataIntegrityViolationException("duplicate"))
+                .doNothing()
+                .when(entityManager).flush();
+
+        // When
+        BatchCreateResponse response = bulkService.createAll(requests);
+
+        // Then
+        assertThat(response.failed()).isEqualTo(2);
+        assertThat(response.created()).isEqualTo(1);
+        assertThat(response.results()).extracting(BatchItemResult::status)
+                .containsExactly(BatchItemStatus.FAILED, BatchItemStatus.FAILED, BatchItemStatus.CREATED);
+    }
+
+    @Test
+    void createAll_ShouldThrowBatchSizeExceededException_WhenBatchIsTooLarge() {
+        // Given
+        List<DeviceCreateRequest> requests = Collections.nCopies(6, new DeviceCreateRequest("Device", "Apple", null));
+
+        // When & Then
+        assertThrows(BatchSizeExceededException.class, () -> {
+            bulkService.createAll(requests);
+        });
+
+        verifyNoInteractions(deviceRepository);
+    }
+
+    @Test
+    void updateAll_ShouldReportUpdatedInUseAndUnknownIds() {
+        // Given
+        UUID availableId = UUID.randomUUID();
+        UUID inUseId = UUID.randomUUID();
+        UUID unknownId = UUID.randomUUID();
+        DeviceResponse before = new DeviceResponse(availableId, "iPhone 15", "Apple", DeviceState.AVAILABLE, Instant.now(), 0L);
+        DeviceResponse after = new DeviceResponse(availableId, "iPhone 15", "Samsung", DeviceState.AVAILABLE, before.createdAt(), 1L);
+        DeviceResponse inUse = new DeviceResponse(inUseId, "iPhone 14", "Apple", DeviceState.IN_USE, Instant.now(), 0L);
+        BulkUpdateRequest request = new BulkUpdateRequest(List.of(availableId, inUseId, unknownId), null,
+                new DeviceUpdateRequest(null, "Samsung", null));
+
+        when(deviceRepository.updateMatching(any(DeviceSelector.class), isNull(), eq("Samsung"), isNull()))
+                .thenReturn(List.of(new DeviceRowChange(before, after)));
+        when(deviceRepository.findGuardViolations(any(DeviceSelector.class), isNull(), eq("Samsung")))
+                .thenReturn(List.of(inUse));
+
+        // When
+        BulkUpdateResponse response = bulkService.updateAll(request);
+
+        // Then
+        assertThat(response.updated()).containsExactly(availableId);
+        assertThat(response.rejected()).containsExactly(
+                new BulkRejection(inUseId, "Cannot update 'brand' for device " + inUseId + " because its state is IN_USE."),
+                new BulkRejection(unknownId, "Device not found with id: " + unknownId));
+        verify(eventPublisher).publishEvent(DeviceChangeEvent.updated(before, after));
+    }
+
+    @Test
+    void updateAll_ShouldSelectByFilter() {
+        // Given
+        BulkUpdateRequest request = new BulkUpdateRequest(null, new DeviceFilter("Apple", null),
+                new DeviceUpdateRequest(null, null, DeviceState.INACTIVE));
+
+        // When
+        BulkUpdateResponse response = bulkService.updateAll(request);
+
+        // Then
+        assertThat(response.updated()).isEmpty();
+        assertThat(response.rejected()).isEmpty();
+        verify(deviceRepository).updateMatching(DeviceSelector.ofFilter("Apple", null), null, null, DeviceState.INACTIVE);
+    }
+
+    @Test
+    void updateAll_ShouldThrowInvalidBulkRequestException_WhenSelectionIsAmbiguous() {
+        // Given
+        BulkUpdateRequest request = new BulkUpdateRequest(List.of(UUID.randomUUID()), new DeviceFilter("Apple", null),
+                new DeviceUpdateRequest(null, null, DeviceState.INACTIVE));
+
+        // When & Then
+        assertThrows(InvalidBulkRequestException.class, () -> {
+            bulkService.updateAll(request);
+        });
+
+        verifyNoInteractions(deviceRepository);
+    }
+
+    @Test
+    void updateAll_ShouldThrowInvalidBulkRequestException_WhenChangesAreEmpty() {
+        // Given
+        BulkUpdateRequest request = new BulkUpdateRequest(null, new DeviceFilter(null, DeviceState.AVAILABLE),
+                new DeviceUpdateRequest(null, null, null));
+
+        // When & Then
+        assertThrows(InvalidBulkRequestException.class, () -> {
+            bulkService.updateAll(request);
+        });
+
+        verifyNoInteractions(deviceRepository);
+    }
+}
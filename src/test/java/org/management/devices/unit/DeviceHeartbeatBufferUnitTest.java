@@ -0,0 +1,128 @@
+package org.management.devices.unit;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.management.devices.config.DeviceHeartbeatProperties;
+import org.management.devices.heartbeat.DeviceHeartbeatBuffer;
+import org.management.devices.repository.DeviceHeartbeatRepository;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.scheduling.TaskScheduler;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class DeviceHeartbeatBufferUnitTest {
+
+    private static final Instant SEEN_AT = Instant.parse("2024-01-01T00:00:00Z");
+
+    @Mock
+    private DeviceHeartbeatRepository heartbeatRepository;
+
+    @Mock
+    private TaskScheduler taskScheduler;
+
+    private DeviceHeartbeatBuffer buffer;
+
+    @BeforeEach
+    void setUp() {
+        buffer = new DeviceHeartbeatBuffer(heartbeatRepository, new DeviceHeartbeatProperties(Duration.ofSeconds(1), 2, 4, 5),
+                taskScheduler, new SimpleMeterRegistry());
+    }
+
+    @Test
+    void flush_ShouldWriteOnlyTheNewestHeartbeatPerDevice() {
+        // Given
+        UUID deviceId = UUID.randomUUID();
+        buffer.record(deviceId, SEEN_AT.plusSeconds(5));
+        buffer.record(deviceId, SEEN_AT);
+        buffer.record(deviceId, SEEN_AT.plusSeconds(3));
+        when(heartbeatRepository.updateLastSeen(anyList())).thenReturn(1);
+
+        // When
+        int updated = buffer.flush();
+
+        // Then
+        assertThat(updated).isEqualTo(1);
+        verify(heartbeatRepository).updateLastSeen(List.of(Map.entry(deviceId, SEEN_AT.plusSeconds(5))));
+        assertThat(buffer.pending()).isZero();
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void flush_ShouldSplitHeartbeatsIntoBatches() {
+        // Given
+        for (int i = 0; i < 5; i++) {
+            buffer.record(UUID.randomUUID(), SEEN_AT);
+        }
+        when(heartbeatRepository.updateLastSeen(anyList())).thenAnswer(invocation -> ((List<?>) invocation.getArgument(0)).size());
+
+        // When
+        int updated = buffer.flush();
+
+        // Then
+        ArgumentCaptor<List<Map.Entry<UUID, Instant>>> batches = ArgumentCaptor.forClass(List.class);
+        verify(heartbeatRepository, times(3)).updateLastSeen(batches.capture());
+        assertThat(batches.getAllValues()).extracting(List::size).containsExactly(2, 2, 1);
+        assertThat(updated).isEqualTo(5);
+    }
+
+    @Test
+    void flush_ShouldKeepHeartbeats_WhenWriteFails() {
+        // Given
+        UUID deviceId = UUID.randomUUID();
+        buffer.record(deviceId, SEEN_AT);
+        when(heartbeatRepository.updateLastSeen(anyList())).thenThrow(new DataAccessResourceFailureException("down"));
+
+        // When
+        int updated = buffer.flush();
+
+        // Then
+        assertThat(updated).isZero();
+        assertThat(buffer.pending()).isEqualTo(1);
+    }
+
+    @Test
+    void record_ShouldDropHeartbeatsOfNewDevices_WhenBufferIsFull() {
+        // Given
+        for (int i = 0; i < 5; i++) {
+            buffer.record(UUID.randomUUID(), SEEN_AT);
+        }
+        UUID buffered = UUID.randomUUID();
+        buffer.flush();
+        buffer.record(buffered, SEEN_AT);
+        for (int i = 0; i < 10; i++) {
+            buffer.record(UUID.randomUUID(), SEEN_AT);
+        }
+
+        // When - newer heartbeats of a buffered device still coalesce into its slot
+        buffer.record(buffered, SEEN_AT.plusSeconds(1));
+
+        // Then
+        assertThat(buffer.pending()).isEqualTo(5);
+    }
+
+    @Test
+    void flush_ShouldNotTouchDatabase_WhenNothingIsBuffered() {
+        // When
+        buffer.flush();
+
+        // Then
+        verifyNoInteractions(heartbeatRepository);
+    }
+}
@@ -4,28 +4,44 @@ import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.management.devices.domain.DeviceState;
+import org.management.devices.dto.DeviceCursor;
+import org.management.devices.dto.DevicePage;
 import org.management.devices.dto.DeviceResponse;
 import org.management.devices.dto.DeviceUpdateRequest;
+import org.management.devices.event.DeviceChangeEvent;
 import org.management.devices.exception.DeviceDeletionException;
 import org.management.devices.exception.DeviceNotFoundException;
 import org.management.devices.exception.DeviceUpdateValidationException;
+import org.management.devices.exception.DeviceVersionMismatchException;
+import org.management.devices.exception.InvalidCursorException;
+import org.management.devices.exception.InvalidSearchQueryException;
 import org.management.devices.service.DeviceServiceImpl;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.management.devices.domain.Device;
 import org.management.devices.dto.DeviceCreateRequest;
+import org.management.devices.index.DeviceBitmapIndex;
 import org.management.devices.mapper.DeviceMapper;
 import org.management.devices.repository.DeviceRepository;
+import org.management.devices.repository.DeviceRowChange;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
 
 import java.time.Instant;
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
+import java.util.Optional;
 import java.util.UUID;
+import java.util.stream.Stream;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -35,6 +51,7 @@ class DeviceServiceUnitTest {
     private static final String DEVICE_NAME = "iPhone 15";
     private static final String DEVICE_BRAND = "Apple";
     private static final DeviceState DEVICE_STATE = DeviceState.AVAILABLE;
+    private static final int PAGE_SIZE = 100;
 
     @Mock
     private DeviceRepository deviceRepository;
@@ -42,6 +59,12 @@ class DeviceServiceUnitTest {
     @Mock
     private DeviceMapper mapper;
 
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @Mock
+    private ObjectProvider<DeviceBitmapIndex> bitmapIndex;
+
     @InjectMocks
     private DeviceServiceImpl deviceService;
 
@@ -118,6 +141,20 @@ class DeviceServiceUnitTest {
         verify(mapper, times(1)).toResponse(savedDevice);
     }
 
+    @Test
+    void create_ShouldPublishCreatedEvent_WithSavedDevice() {
+        // Given
+        when(mapper.toEntity(createRequest)).thenReturn(device);
+        when(deviceRepository.save(device)).thenReturn(savedDevice);
+        when(mapper.toResponse(savedDevice)).thenReturn(expectedResponse);
+
+        // When
+        deviceService.create(createRequest);
+
+        // Then
+        verify(eventPublisher).publishEvent(DeviceChangeEvent.created(expectedResponse));
+    }
+
     @Test
     void create_ShouldUseDefaultAvailableState_WhenStateNotSpecified() {
         // Given
@@ -141,8 +178,7 @@ class DeviceServiceUnitTest {
     @Test
     void getById_ShouldReturnDeviceResponse_WhenDeviceExists() {
         // Given
-        when(deviceRepository.findById(DEVICE_ID)).thenReturn(java.util.Optional.of(savedDevice));
-        when(mapper.toResponse(savedDevice)).thenReturn(expectedResponse);
+        when(deviceRepository.findResponseById(DEVICE_ID)).thenReturn(Optional.of(expectedResponse));
 
         // When
         DeviceResponse result = deviceService.getById(DEVICE_ID);
@@ -153,204 +189,232 @@ class DeviceServiceUnitTest {
         assertThat(result.name()).isEqualTo(DEVICE_NAME);
         assertThat(result.brand()).isEqualTo(DEVICE_BRAND);
         assertThat(result.state()).isEqualTo(DEVICE_STATE);
-        verify(deviceRepository, times(1)).findById(DEVICE_ID);
-        verify(mapper, times(1)).toResponse(savedDevice);
+        verify(deviceRepository, times(1)).findResponseById(DEVICE_ID);
     }
 
     @Test
     void getById_ShouldThrowDeviceNotFoundException_WhenDeviceNotFound() {
         // Given
         UUID nonExistentId = UUID.randomUUID();
-        when(deviceRepository.findById(nonExistentId)).thenReturn(java.util.Optional.empty());
+        when(deviceRepository.findResponseById(nonExistentId)).thenReturn(Optional.empty());
 
         // When & Then
         assertThrows(DeviceNotFoundException.class, () -> {
             deviceService.getById(nonExistentId);
         });
 
-        verify(deviceRepository, times(1)).findById(nonExistentId);
-        verify(mapper, never()).toResponse(any());
+        verify(deviceRepository, times(1)).findResponseById(nonExistentId);
     }
 
     @Test
-    void getById_ShouldCallRepositoryFindById_WithCorrectId() {
+    void getById_ShouldReturnProjection_WithoutLoadingEntity() {
         // Given
-        when(deviceRepository.findById(DEVICE_ID)).thenReturn(java.util.Optional.of(savedDevice));
-        when(mapper.toResponse(savedDevice)).thenReturn(expectedResponse);
+        when(deviceRepository.findResponseById(DEVICE_ID)).thenReturn(Optional.of(expectedResponse));
 
         // When
-        deviceService.getById(DEVICE_ID);
+        DeviceResponse result = deviceService.getById(DEVICE_ID);
 
         // Then
-        verify(deviceRepository).findById(DEVICE_ID);
+        assertThat(result).isSameAs(expectedResponse);
+        verify(deviceRepository, never()).findById(any());
+        verifyNoInteractions(mapper);
     }
 
     @Test
-    void getById_ShouldCallMapperToResponse_WithFoundDevice() {
+    void getAll_ShouldReturnEmptyList_WhenNoDevicesExist() {
         // Given
-        when(deviceRepository.findById(DEVICE_ID)).thenReturn(java.util.Optional.of(savedDevice));
-        when(mapper.toResponse(savedDevice)).thenReturn(expectedResponse);
+        when(deviceRepository.findPage(any(Pageable.class))).thenReturn(Collections.emptyList());
 
         // When
-        deviceService.getById(DEVICE_ID);
+        DevicePage result = deviceService.getAll(null, PAGE_SIZE);
 
         // Then
-        verify(mapper).toResponse(argThat(d ->
-                d.getId().equals(DEVICE_ID) &&
-                        d.getName().equals(DEVICE_NAME) &&
-                        d.getBrand().equals(DEVICE_BRAND) &&
-                        d.getState().equals(DEVICE_STATE)
-        ));
+        assertThat(result.items()).isEmpty();
+        verify(deviceRepository, times(1)).findPage(any(Pageable.class));
     }
 
     @Test
-    void getAll_ShouldReturnEmptyList_WhenNoDevicesExist() {
+    void getAll_ShouldReturnSingleDevice_WhenOneDeviceExists() {
         // Given
-        when(deviceRepository.findAll()).thenReturn(Collections.emptyList());
+        when(deviceRepository.findPage(any(Pageable.class))).thenReturn(List.of(expectedResponse));
 
         // When
-        List<DeviceResponse> result = deviceService.getAll();
+        DevicePage result = deviceService.getAll(null, PAGE_SIZE);
 
         // Then
-        assertThat(result).isEmpty();
-        verify(deviceRepository, times(1)).findAll();
-        verify(mapper, never()).toResponse(any());
+        assertThat(result.items()).hasSize(1);
+        assertThat(result.items().get(0).id()).isEqualTo(DEVICE_ID);
+        assertThat(result.items().get(0).name()).isEqualTo(DEVICE_NAME);
+        assertThat(result.items().get(0).brand()).isEqualTo(DEVICE_BRAND);
+        assertThat(result.items().get(0).state()).isEqualTo(DEVICE_STATE);
+        verify(deviceRepository, times(1)).findPage(any(Pageable.class));
     }
 
     @Test
-    void getAll_ShouldReturnSingleDevice_WhenOneDeviceExists() {
+    void getAll_ShouldReturnMultipleDevices_WhenMultipleDevicesExist() {
         // Given
-        List<Device> devices = List.of(savedDevice);
-        when(deviceRepository.findAll()).thenReturn(devices);
-        when(mapper.toResponse(savedDevice)).thenReturn(expectedResponse);
+        UUID deviceIdTwo = UUID.randomUUID();
+        DeviceResponse responseTwo = createSecondDeviceResponse(deviceIdTwo);
+
+        when(deviceRepository.findPage(any(Pageable.class))).thenReturn(List.of(expectedResponse, responseTwo));
 
         // When
-        List<DeviceResponse> result = deviceService.getAll();
+        DevicePage result = deviceService.getAll(null, PAGE_SIZE);
 
         // Then
-        assertThat(result).hasSize(1);
-        assertThat(result.get(0).id()).isEqualTo(DEVICE_ID);
-        assertThat(result.get(0).name()).isEqualTo(DEVICE_NAME);
-        assertThat(result.get(0).brand()).isEqualTo(DEVICE_BRAND);
-        assertThat(result.get(0).state()).isEqualTo(DEVICE_STATE);
-        verify(deviceRepository, times(1)).findAll();
-        verify(mapper, times(1)).toResponse(savedDevice);
+        assertThat(result.items()).hasSize(2);
+        assertThat(result.items().get(0).id()).isEqualTo(DEVICE_ID);
+        assertThat(result.items().get(1).id()).isEqualTo(deviceIdTwo);
+        verify(deviceRepository, times(1)).findPage(any(Pageable.class));
     }
 
     @Test
-    void getAll_ShouldReturnMultipleDevices_WhenMultipleDevicesExist() {
+    void getAll_ShouldReturnProjectedRows_WithoutMapping() {
+        // Given
+        List<DeviceResponse> devices = List.of(expectedResponse,
+                createSecondDeviceResponse(UUID.randomUUID()), createThirdDeviceResponse(UUID.randomUUID()));
+        when(deviceRepository.findPage(any(Pageable.class))).thenReturn(devices);
+
+        // When
+        DevicePage result = deviceService.getAll(null, PAGE_SIZE);
+
+        // Then
+        assertThat(result.items()).containsExactlyElementsOf(devices);
+        verifyNoInteractions(mapper);
+    }
+
+    @Test
+    void getAll_ShouldReturnNextCursor_WhenMoreDevicesThanLimitExist() {
         // Given
         UUID deviceIdTwo = UUID.randomUUID();
-        Device deviceTwo = createSecondDevice(deviceIdTwo);
         DeviceResponse responseTwo = createSecondDeviceResponse(deviceIdTwo);
 
-        List<Device> devices = List.of(savedDevice, deviceTwo);
-        when(deviceRepository.findAll()).thenReturn(devices);
-        when(mapper.toResponse(savedDevice)).thenReturn(expectedResponse);
-        when(mapper.toResponse(deviceTwo)).thenReturn(responseTwo);
+        when(deviceRepository.findPage(any(Pageable.class))).thenReturn(List.of(expectedResponse, responseTwo));
 
         // When
-        List<DeviceResponse> result = deviceService.getAll();
+        DevicePage result = deviceService.getAll(null, 1);
 
         // Then
-        assertThat(result).hasSize(2);
-        assertThat(result.get(0).id()).isEqualTo(DEVICE_ID);
-        assertThat(result.get(1).id()).isEqualTo(deviceIdTwo);
-        verify(deviceRepository, times(1)).findAll();
-        verify(mapper, times(2)).toResponse(any(Device.class));
+        assertThat(result.items()).containsExactly(expectedResponse);
+        assertThat(result.nextCursor()).isEqualTo(DeviceCursor.of(expectedResponse).encode());
+        verify(deviceRepository).findPage(PageRequest.ofSize(2));
     }
 
     @Test
-    void getAll_ShouldCallMapperForEachDevice() {
+    void getAll_ShouldQueryAfterCursor_WhenCursorProvided() {
         // Given
-        UUID deviceIdTwo = UUID.randomUUID();
-        UUID deviceIdThree = UUID.randomUUID();
-        Device deviceTwo = createSecondDevice(deviceIdTwo);
-        Device deviceThree = createThirdDevice(deviceIdThree);
+        DeviceCursor cursor = DeviceCursor.of(expectedResponse);
+        when(deviceRepository.findPageAfter(eq(cursor.createdAt()), eq(cursor.id()), any(Pageable.class)))
+                .thenReturn(Collections.emptyList());
+
+        // When
+        DevicePage result = deviceService.getAll(cursor.encode(), PAGE_SIZE);
+
+        // Then
+        assertThat(result.items()).isEmpty();
+        assertThat(result.nextCursor()).isNull();
+        verify(deviceRepository, never()).findPage(any());
+    }
+
+    @Test
+    void getAll_ShouldThrowInvalidCursorException_WhenCursorIsMalformed() {
+        // When & Then
+        assertThrows(InvalidCursorException.class, () -> {
+            deviceService.getAll("not-a-cursor", PAGE_SIZE);
+        });
 
-        List<Device> devices = List.of(savedDevice, deviceTwo, deviceThree);
-        when(deviceRepository.findAll()).thenReturn(devices);
-        when(mapper.toResponse(any(Device.class))).thenReturn(expectedResponse);
+        verifyNoInteractions(deviceRepository);
+    }
+
+    @Test
+    void search_ShouldReturnNextCursor_WhenMoreMatchesExist() {
+        // Given
+        List<DeviceResponse> matches = List.of(expectedResponse, createThirdDeviceResponse(UUID.randomUUID()));
+        when(deviceRepository.search(DEVICE_BRAND, 2, 0)).thenReturn(matches);
 
         // When
-        deviceService.getAll();
+        DevicePage page = deviceService.search("  " + DEVICE_BRAND + " ", null, 1);
 
         // Then
-        verify(mapper, times(3)).toResponse(any(Device.class));
-        verify(mapper).toResponse(savedDevice);
-        verify(mapper).toResponse(deviceTwo);
-        verify(mapper).toResponse(deviceThree);
+        assertThat(page.items()).containsExactly(expectedResponse);
+        assertThat(page.nextCursor()).isNotNull();
+
+        // When the next page is requested, Then the search resumes behind the first result
+        when(deviceRepository.search(DEVICE_BRAND, 2, 1)).thenReturn(List.of(matches.get(1)));
+        DevicePage next = deviceService.search(DEVICE_BRAND, page.nextCursor(), 1);
+        assertThat(next.items()).containsExactly(matches.get(1));
+        assertThat(next.nextCursor()).isNull();
+    }
+
+    @Test
+    void search_ShouldThrowInvalidSearchQueryException_WhenQueryIsTooShort() {
+        // When & Then
+        assertThrows(InvalidSearchQueryException.class, () -> deviceService.search(" ab ", null, PAGE_SIZE));
+
+        verifyNoInteractions(deviceRepository);
     }
 
     @Test
     void getByBrand_ShouldReturnEmptyList_WhenNoBrandDevicesExist() {
         // Given
-        when(deviceRepository.findByBrand(DEVICE_BRAND)).thenReturn(Collections.emptyList());
+        when(deviceRepository.findPageByBrand(eq(DEVICE_BRAND), any(Pageable.class))).thenReturn(Collections.emptyList());
 
         // When
-        List<DeviceResponse> result = deviceService.getByBrand(DEVICE_BRAND);
+        DevicePage result = deviceService.getByBrand(DEVICE_BRAND, null, PAGE_SIZE);
 
         // Then
-        assertThat(result).isEmpty();
-        verify(deviceRepository, times(1)).findByBrand(DEVICE_BRAND);
-        verify(mapper, never()).toResponse(any());
+        assertThat(result.items()).isEmpty();
+        verify(deviceRepository, times(1)).findPageByBrand(eq(DEVICE_BRAND), any(Pageable.class));
     }
 
     @Test
     void getByBrand_ShouldReturnMultipleDevices_WhenMultipleBrandDevicesExist() {
         // Given
         UUID deviceIdTwo = UUID.randomUUID();
-        Device appleDeviceTwo = createAppleDevice(deviceIdTwo);
         DeviceResponse responseTwo = createAppleDeviceResponse(deviceIdTwo);
 
-        List<Device> devices = List.of(savedDevice, appleDeviceTwo);
-        when(deviceRepository.findByBrand(DEVICE_BRAND)).thenReturn(devices);
-        when(mapper.toResponse(savedDevice)).thenReturn(expectedResponse);
-        when(mapper.toResponse(appleDeviceTwo)).thenReturn(responseTwo);
+        when(deviceRepository.findPageByBrand(eq(DEVICE_BRAND), any(Pageable.class)))
+                .thenReturn(List.of(expectedResponse, responseTwo));
 
         // When
-        List<DeviceResponse> result = deviceService.getByBrand(DEVICE_BRAND);
+        DevicePage result = deviceService.getByBrand(DEVICE_BRAND, null, PAGE_SIZE);
 
         // Then
-        assertThat(result).hasSize(2);
-        assertThat(result.get(0).brand()).isEqualTo(DEVICE_BRAND);
-        assertThat(result.get(1).brand()).isEqualTo(DEVICE_BRAND);
-        verify(deviceRepository, times(1)).findByBrand(DEVICE_BRAND);
-        verify(mapper, times(2)).toResponse(any(Device.class));
+        assertThat(result.items()).hasSize(2);
+        assertThat(result.items().get(0).brand()).isEqualTo(DEVICE_BRAND);
+        assertThat(result.items().get(1).brand()).isEqualTo(DEVICE_BRAND);
+        verify(deviceRepository, times(1)).findPageByBrand(eq(DEVICE_BRAND), any(Pageable.class));
+        verifyNoInteractions(mapper);
     }
 
     @Test
-    void getByBrand_ShouldCallMapperForEachDevice() {
+    void getByBrand_ShouldAnswerFromBitmapIndex_WhenIndexIsAvailable() {
         // Given
-        UUID deviceIdTwo = UUID.randomUUID();
-        Device appleDeviceTwo = createAppleDevice(deviceIdTwo);
-        List<Device> devices = List.of(savedDevice, appleDeviceTwo);
-
-        when(deviceRepository.findByBrand(DEVICE_BRAND)).thenReturn(devices);
-        when(mapper.toResponse(any(Device.class))).thenReturn(expectedResponse);
+        DeviceBitmapIndex index = mock(DeviceBitmapIndex.class);
+        DevicePage indexedPage = new DevicePage(List.of(expectedResponse), null);
+        when(bitmapIndex.getIfAvailable()).thenReturn(index);
+        when(index.page(DEVICE_BRAND, null, null, PAGE_SIZE)).thenReturn(java.util.Optional.of(indexedPage));
 
         // When
-        deviceService.getByBrand(DEVICE_BRAND);
+        DevicePage result = deviceService.getByBrand(DEVICE_BRAND, null, PAGE_SIZE);
 
         // Then
-        verify(mapper, times(2)).toResponse(any(Device.class));
-        verify(mapper).toResponse(savedDevice);
-        verify(mapper).toResponse(appleDeviceTwo);
+        assertThat(result).isSameAs(indexedPage);
+        verifyNoInteractions(deviceRepository);
     }
 
     @Test
     void getByState_ShouldReturnEmptyList_WhenNoStateDevicesExist() {
         // Given
         String state = "AVAILABLE";
-        when(deviceRepository.findByState(DeviceState.AVAILABLE)).thenReturn(Collections.emptyList());
+        when(deviceRepository.findPageByState(eq(DeviceState.AVAILABLE), any(Pageable.class))).thenReturn(Collections.emptyList());
 
         // When
-        List<DeviceResponse> result = deviceService.getByState(state);
+        DevicePage result = deviceService.getByState(state, null, PAGE_SIZE);
 
         // Then
-        assertThat(result).isEmpty();
-        verify(deviceRepository, times(1)).findByState(DeviceState.AVAILABLE);
-        verify(mapper, never()).toResponse(any());
+        assertThat(result.items()).isEmpty();
+        verify(deviceRepository, times(1)).findPageByState(eq(DeviceState.AVAILABLE), any(Pageable.class));
     }
 
     @Test
@@ -358,55 +422,49 @@ class DeviceServiceUnitTest {
         // Given
         String state = "AVAILABLE";
         UUID deviceIdTwo = UUID.randomUUID();
-        Device deviceTwo = createSecondDevice(deviceIdTwo);
         DeviceResponse responseTwo = createSecondDeviceResponse(deviceIdTwo);
 
-        List<Device> devices = List.of(savedDevice, deviceTwo);
-        when(deviceRepository.findByState(DeviceState.AVAILABLE)).thenReturn(devices);
-        when(mapper.toResponse(savedDevice)).thenReturn(expectedResponse);
-        when(mapper.toResponse(deviceTwo)).thenReturn(responseTwo);
+        when(deviceRepository.findPageByState(eq(DeviceState.AVAILABLE), any(Pageable.class)))
+                .thenReturn(List.of(expectedResponse, responseTwo));
 
         // When
-        List<DeviceResponse> result = deviceService.getByState(state);
+        DevicePage result = deviceService.getByState(state, null, PAGE_SIZE);
 
         // Then
-        assertThat(result).hasSize(2);
-        assertThat(result.get(0).state()).isEqualTo(DeviceState.AVAILABLE);
-        assertThat(result.get(1).state()).isEqualTo(DeviceState.AVAILABLE);
-        verify(deviceRepository, times(1)).findByState(DeviceState.AVAILABLE);
-        verify(mapper, times(2)).toResponse(any(Device.class));
+        assertThat(result.items()).hasSize(2);
+        assertThat(result.items().get(0).state()).isEqualTo(DeviceState.AVAILABLE);
+        assertThat(result.items().get(1).state()).isEqualTo(DeviceState.AVAILABLE);
+        verify(deviceRepository, times(1)).findPageByState(eq(DeviceState.AVAILABLE), any(Pageable.class));
     }
 
     @Test
     void getByState_ShouldHandleLowercaseState() {
         // Given
         String state = "available";
-        List<Device> devices = List.of(savedDevice);
-        when(deviceRepository.findByState(DeviceState.AVAILABLE)).thenReturn(devices);
-        when(mapper.toResponse(savedDevice)).thenReturn(expectedResponse);
+        when(deviceRepository.findPageByState(eq(DeviceState.AVAILABLE), any(Pageable.class)))
+                .thenReturn(List.of(expectedResponse));
 
         // When
-        List<DeviceResponse> result = deviceService.getByState(state);
+        DevicePage result = deviceService.getByState(state, null, PAGE_SIZE);
 
         // Then
-        assertThat(result).hasSize(1);
-        verify(deviceRepository, times(1)).findByState(DeviceState.AVAILABLE);
+        assertThat(result.items()).hasSize(1);
+        verify(deviceRepository, times(1)).findPageByState(eq(DeviceState.AVAILABLE), any(Pageable.class));
     }
 
     @Test
     void getByState_ShouldHandleMixedCaseState() {
         // Given
         String state = "AvAiLaBlE";
-        List<Device> devices = List.of(savedDevice);
-        when(deviceRepository.findByState(DeviceState.AVAILABLE)).thenReturn(devices);
-        when(mapper.toResponse(savedDevice)).thenReturn(expectedResponse);
+        when(deviceRepository.findPageByState(eq(DeviceState.AVAILABLE), any(Pageable.class)))
+                .thenReturn(List.of(expectedResponse));
 
         // When
-        List<DeviceResponse> result = deviceService.getByState(state);
+        DevicePage result = deviceService.getByState(state, null, PAGE_SIZE);
 
         // Then
-        assertThat(result).hasSize(1);
-        verify(deviceRepository, times(1)).findByState(DeviceState.AVAILABLE);
+        assertThat(result.items()).hasSize(1);
+        verify(deviceRepository, times(1)).findPageByState(eq(DeviceState.AVAILABLE), any(Pageable.class));
     }
 
     @Test
@@ -416,30 +474,27 @@ class DeviceServiceUnitTest {
 
         // When & Then
         assertThrows(IllegalArgumentException.class, () -> {
-            deviceService.getByState(invalidState);
+            deviceService.getByState(invalidState, null, PAGE_SIZE);
         });
 
-        verify(deviceRepository, never()).findByState(any());
-        verify(mapper, never()).toResponse(any());
+        verify(deviceRepository, never()).findPageByState(any(), any());
     }
 
     @Test
-    void getByState_ShouldCallMapperForEachDevice() {
+    void getByState_ShouldReturnProjectedRows_WithoutMapping() {
         // Given
         String state = "IN_USE";
-        UUID deviceIdTwo = UUID.randomUUID();
-        Device deviceTwo = createThirdDevice(deviceIdTwo);
-        List<Device> devices = List.of(deviceTwo);
+        DeviceResponse inUseResponse = createThirdDeviceResponse(UUID.randomUUID());
 
-        when(deviceRepository.findByState(DeviceState.IN_USE)).thenReturn(devices);
-        when(mapper.toResponse(any(Device.class))).thenReturn(expectedResponse);
+        when(deviceRepository.findPageByState(eq(DeviceState.IN_USE), any(Pageable.class)))
+                .thenReturn(List.of(inUseResponse));
 
         // When
-        deviceService.getByState(state);
+        DevicePage result = deviceService.getByState(state, null, PAGE_SIZE);
 
         // Then
-        verify(mapper, times(1)).toResponse(any(Device.class));
-        verify(mapper).toResponse(deviceTwo);
+        assertThat(result.items()).containsExactly(inUseResponse);
+        verifyNoInteractions(mapper);
     }
 
     @Test
@@ -448,26 +503,21 @@ class DeviceServiceUnitTest {
         String brand = "Apple";
         String state = "AVAILABLE";
         UUID deviceIdTwo = UUID.randomUUID();
-        Device appleDeviceTwo = createAppleDevice(deviceIdTwo);
         DeviceResponse responseTwo = createAppleDeviceResponse(deviceIdTwo);
 
-        List<Device> devices = List.of(savedDevice, appleDeviceTwo);
-        when(deviceRepository.findByBrandAndState(brand, DeviceState.AVAILABLE))
-                .thenReturn(devices);
-        when(mapper.toResponse(savedDevice)).thenReturn(expectedResponse);
-        when(mapper.toResponse(appleDeviceTwo)).thenReturn(responseTwo);
+        when(deviceRepository.findPageByBrandAndState(eq(brand), eq(DeviceState.AVAILABLE), any(Pageable.class)))
+                .thenReturn(List.of(expectedResponse, responseTwo));
 
         // When
-        List<DeviceResponse> result = deviceService.getByBrandAndState(brand, state);
+        DevicePage result = deviceService.getByBrandAndState(brand, state, null, PAGE_SIZE);
 
         // Then
-        assertThat(result).hasSize(2);
-        assertThat(result.get(0).brand()).isEqualTo(brand);
-        assertThat(result.get(0).state()).isEqualTo(DeviceState.AVAILABLE);
-        assertThat(result.get(1).brand()).isEqualTo(brand);
-        assertThat(result.get(1).state()).isEqualTo(DeviceState.AVAILABLE);
-        verify(deviceRepository, times(1)).findByBrandAndState(brand, DeviceState.AVAILABLE);
-        verify(mapper, times(2)).toResponse(any(Device.class));
+        assertThat(result.items()).hasSize(2);
+        assertThat(result.items().get(0).brand()).isEqualTo(brand);
+        assertThat(result.items().get(0).state()).isEqualTo(DeviceState.AVAILABLE);
+        assertThat(result.items().get(1).brand()).isEqualTo(brand);
+        assertThat(result.items().get(1).state()).isEqualTo(DeviceState.AVAILABLE);
+        verify(deviceRepository, times(1)).findPageByBrandAndState(eq(brand), eq(DeviceState.AVAILABLE), any(Pageable.class));
     }
 
     @Test
@@ -478,11 +528,10 @@ class DeviceServiceUnitTest {
 
         // When & Then
         assertThrows(IllegalArgumentException.class, () -> {
-            deviceService.getByBrandAndState(brand, invalidState);
+            deviceService.getByBrandAndState(brand, invalidState, null, PAGE_SIZE);
         });
 
-        verify(deviceRepository, never()).findByBrandAndState(any(), any());
-        verify(mapper, never()).toResponse(any());
+        verify(deviceRepository, never()).findPageByBrandAndState(any(), any(), any());
     }
 
     @Test
@@ -490,77 +539,153 @@ class DeviceServiceUnitTest {
         // Given
         String brand = "Apple";
         String state = "available";
-        List<Device> devices = List.of(savedDevice);
-        when(deviceRepository.findByBrandAndState(brand, DeviceState.AVAILABLE))
-                .thenReturn(devices);
-        when(mapper.toResponse(savedDevice)).thenReturn(expectedResponse);
+        when(deviceRepository.findPageByBrandAndState(eq(brand), eq(DeviceState.AVAILABLE), any(Pageable.class)))
+                .thenReturn(List.of(expectedResponse));
 
         // When
-        List<DeviceResponse> result = deviceService.getByBrandAndState(brand, state);
+        DevicePage result = deviceService.getByBrandAndState(brand, state, null, PAGE_SIZE);
 
         // Then
-        assertThat(result).hasSize(1);
-        verify(deviceRepository, times(1)).findByBrandAndState(brand, DeviceState.AVAILABLE);
+        assertThat(result.items()).hasSize(1);
+        verify(deviceRepository, times(1)).findPageByBrandAndState(eq(brand), eq(DeviceState.AVAILABLE), any(Pageable.class));
+    }
+
+    @Test
+    void exportAll_ShouldPassEachDeviceToConsumer() {
+        // Given
+        UUID deviceIdTwo = UUID.randomUUID();
+        DeviceResponse responseTwo = createSecondDeviceResponse(deviceIdTwo);
+        List<DeviceResponse> exported = new ArrayList<>();
+
+        when(deviceRepository.streamAll()).thenReturn(Stream.of(expectedResponse, responseTwo));
+
+        // When
+        deviceService.exportAll(exported::add);
+
+        // Then
+        assertThat(exported).containsExactly(expectedResponse, responseTwo);
+        verifyNoInteractions(mapper);
     }
 
     @Test
     void delete_ShouldDeleteDevice_WhenDeviceExistsAndNotInUse() {
         // Given
-        when(deviceRepository.findById(DEVICE_ID)).thenReturn(java.util.Optional.of(savedDevice));
+        when(deviceRepository.deleteIfNotInUse(DEVICE_ID)).thenReturn(Optional.of(expectedResponse));
+
+        // When
+        deviceService.delete(DEVICE_ID);
+
+        // Then
+        verify(deviceRepository, times(1)).deleteIfNotInUse(DEVICE_ID);
+        verify(deviceRepository, never()).findResponseById(any());
+        verify(deviceRepository, never()).existsById(any());
+    }
+
+    @Test
+    void delete_ShouldPublishDeletedEvent_WithPreviousState() {
+        // Given
+        when(deviceRepository.deleteIfNotInUse(DEVICE_ID)).thenReturn(Optional.of(expectedResponse));
 
         // When
         deviceService.delete(DEVICE_ID);
 
         // Then
-        verify(deviceRepository, times(1)).findById(DEVICE_ID);
-        verify(deviceRepository, times(1)).delete(savedDevice);
+        verify(eventPublisher).publishEvent(DeviceChangeEvent.deleted(expectedResponse));
     }
 
     @Test
     void delete_ShouldThrowDeviceDeletionException_WhenDeviceIsInUse() {
         // Given
-        Device inUseDevice = createSavedDevice();
-        inUseDevice.setState(DeviceState.IN_USE);
-        when(deviceRepository.findById(DEVICE_ID)).thenReturn(java.util.Optional.of(inUseDevice));
+        when(deviceRepository.deleteIfNotInUse(DEVICE_ID)).thenReturn(Optional.empty());
+        when(deviceRepository.existsById(DEVICE_ID)).thenReturn(true);
 
         // When & Then
         DeviceDeletionException exception = assertThrows(DeviceDeletionException.class, () -> {
             deviceService.delete(DEVICE_ID);
         });
 
-        verify(deviceRepository, times(1)).findById(DEVICE_ID);
         assertThat(exception.getMessage()).isEqualTo("Cannot delete device with ID " + DEVICE_ID + " because its state is IN_USE.");
-        verify(deviceRepository, never()).delete(any());
+        verify(eventPublisher, never()).publishEvent(any(DeviceChangeEvent.class));
     }
 
     @Test
     void delete_ShouldThrowDeviceNotFoundException_WhenDeviceDoesNotExist() {
         // Given
         UUID nonExistentId = UUID.randomUUID();
-        when(deviceRepository.findById(nonExistentId)).thenReturn(java.util.Optional.empty());
+        when(deviceRepository.deleteIfNotInUse(nonExistentId)).thenReturn(Optional.empty());
+        when(deviceRepository.existsById(nonExistentId)).thenReturn(false);
 
         // When & Then
         assertThrows(DeviceNotFoundException.class, () -> {
             deviceService.delete(nonExistentId);
         });
 
-        verify(deviceRepository, times(1)).findById(nonExistentId);
-        verify(deviceRepository, never()).delete(any());
+        verify(eventPublisher, never()).publishEvent(any(DeviceChangeEvent.class));
+    }
+
+    @Test
+    void claim_ShouldReturnClaimedDevice_AndPublishUpdatedEvent() {
+        // Given
+        DeviceResponse claimed = new DeviceResponse(DEVICE_ID, DEVICE_NAME, DEVICE_BRAND, DeviceState.IN_USE,
+                expectedResponse.createdAt(), 1L);
+        DeviceRowChange change = new DeviceRowChange(expectedResponse, claimed);
+        when(deviceRepository.claimAvailable(DEVICE_BRAND)).thenReturn(Optional.of(change));
+
+        // When
+        DeviceResponse result = deviceService.claim(DEVICE_BRAND);
+
+        // Then
+        assertThat(result).isEqualTo(claimed);
+        verify(eventPublisher).publishEvent(DeviceChangeEvent.updated(expectedResponse, claimed));
+    }
+
+    @Test
+    void claim_ShouldThrowDeviceNotFoundException_WhenNoDeviceIsAvailable() {
+        // Given
+        when(deviceRepository.claimAvailable(null)).thenReturn(Optional.empty());
+
+        // When & Then
+        assertThrows(DeviceNotFoundException.class, () -> deviceService.claim(" "));
+        verify(eventPublisher, never()).publishEvent(any(DeviceChangeEvent.class));
+    }
+
+    @Test
+    void release_ShouldThrowDeviceUpdateValidationException_WhenDeviceIsNotInUse() {
+        // Given
+        when(deviceRepository.releaseIfInUse(DEVICE_ID, null)).thenReturn(Optional.empty());
+        when(deviceRepository.findResponseById(DEVICE_ID)).thenReturn(Optional.of(expectedResponse));
+
+        // When & Then
+        DeviceUpdateValidationException ex = assertThrows(DeviceUpdateValidationException.class,
+                () -> deviceService.release(DEVICE_ID, null));
+        assertThat(ex.getMessage()).contains("not IN_USE");
+    }
+
+    @Test
+    void release_ShouldThrowDeviceVersionMismatchException_WhenClaimedAgainSince() {
+        // Given
+        when(deviceRepository.releaseIfInUse(DEVICE_ID, 1L)).thenReturn(Optional.empty());
+        DeviceResponse reclaimed = new DeviceResponse(DEVICE_ID, DEVICE_NAME, DEVICE_BRAND, DeviceState.IN_USE,
+                expectedResponse.createdAt(), 3L);
+        when(deviceRepository.findResponseById(DEVICE_ID)).thenReturn(Optional.of(reclaimed));
+
+        // When & Then
+        assertThrows(DeviceVersionMismatchException.class, () -> deviceService.release(DEVICE_ID, 1L));
     }
 
     @Test
     void delete_ShouldDeleteDevice_WhenDeviceStateIsInactive() {
         // Given
-        Device retiredDevice = createSavedDevice();
-        retiredDevice.setState(DeviceState.INACTIVE);
-        when(deviceRepository.findById(DEVICE_ID)).thenReturn(java.util.Optional.of(retiredDevice));
+        DeviceResponse retiredDevice = new DeviceResponse(
+                DEVICE_ID, DEVICE_NAME, DEVICE_BRAND, DeviceState.INACTIVE, Instant.now(), 0L);
+        when(deviceRepository.deleteIfNotInUse(DEVICE_ID)).thenReturn(Optional.of(retiredDevice));
 
         // When
         deviceService.delete(DEVICE_ID);
 
         // Then
-        verify(deviceRepository, times(1)).findById(DEVICE_ID);
-        verify(deviceRepository, times(1)).delete(retiredDevice);
+        verify(deviceRepository, times(1)).deleteIfNotInUse(DEVICE_ID);
+        verify(eventPublisher).publishEvent(DeviceChangeEvent.deleted(retiredDevice));
     }
 
     @Test
@@ -571,31 +696,28 @@ class DeviceServiceUnitTest {
                 "Apple",
                 DeviceState.INACTIVE
         );
-        Device updatedDevice = createSavedDevice();
-        updatedDevice.setName("iPhone 16 Pro");
-        updatedDevice.setState(DeviceState.INACTIVE);
         DeviceResponse updatedResponse = new DeviceResponse(
                 DEVICE_ID,
                 "iPhone 16 Pro",
                 DEVICE_BRAND,
                 DeviceState.INACTIVE,
-                Instant.now()
+                Instant.now(),
+                1L
         );
 
-        when(deviceRepository.findById(DEVICE_ID)).thenReturn(java.util.Optional.of(savedDevice));
-        when(deviceRepository.save(any(Device.class))).thenReturn(updatedDevice);
-        when(mapper.toResponse(updatedDevice)).thenReturn(updatedResponse);
+        when(deviceRepository.updateIfMatches(DEVICE_ID, null, "iPhone 16 Pro", "Apple", DeviceState.INACTIVE))
+                .thenReturn(Optional.of(new DeviceRowChange(expectedResponse, updatedResponse)));
 
         // When
-        DeviceResponse result = deviceService.update(DEVICE_ID, updateRequest);
+        DeviceResponse result = deviceService.update(DEVICE_ID, null, updateRequest);
 
         // Then
         assertThat(result).isNotNull();
         assertThat(result.name()).isEqualTo("iPhone 16 Pro");
         assertThat(result.state()).isEqualTo(DeviceState.INACTIVE);
-        verify(deviceRepository, times(1)).findById(DEVICE_ID);
-        verify(deviceRepository, times(1)).save(any(Device.class));
-        verify(mapper, times(1)).toResponse(updatedDevice);
+        verify(deviceRepository, never()).findResponseById(any());
+        verify(deviceRepository, never()).save(any());
+        verify(eventPublisher, times(1)).publishEvent(DeviceChangeEvent.updated(expectedResponse, updatedResponse));
     }
 
     @Test
@@ -609,72 +731,71 @@ class DeviceServiceUnitTest {
 
         // When & Then
         DeviceUpdateValidationException exception = assertThrows(DeviceUpdateValidationException.class, () -> {
-            deviceService.update(DEVICE_ID, updateRequest);
+            deviceService.update(DEVICE_ID, null, updateRequest);
         });
 
         assertThat(exception.getMessage())
                 .isEqualTo("PUT request requires 'name', 'brand', and 'state' fields to be present.");
-        verify(deviceRepository, never()).findById(any());
-        verify(deviceRepository, never()).save(any());
+        verifyNoInteractions(deviceRepository);
     }
 
     @Test
     void update_ShouldThrowException_WhenUpdatingNameOrBrandOfInUseDevice() {
         // Given
-        Device inUseDevice = createSavedDevice();
-        inUseDevice.setState(DeviceState.IN_USE);
+        DeviceResponse inUseDevice = createInUseResponse();
         DeviceUpdateRequest updateRequest = new DeviceUpdateRequest(
                 "iPhone 16 Pro", // Different name
                 DEVICE_BRAND,
                 DeviceState.IN_USE
         );
 
-        when(deviceRepository.findById(DEVICE_ID)).thenReturn(java.util.Optional.of(inUseDevice));
+        when(deviceRepository.updateIfMatches(DEVICE_ID, null, "iPhone 16 Pro", DEVICE_BRAND, DeviceState.IN_USE))
+                .thenReturn(Optional.empty());
+        when(deviceRepository.findResponseById(DEVICE_ID)).thenReturn(Optional.of(inUseDevice));
 
         // When & Then
         DeviceUpdateValidationException exception = assertThrows(DeviceUpdateValidationException.class, () -> {
-            deviceService.update(DEVICE_ID, updateRequest);
+            deviceService.update(DEVICE_ID, null, updateRequest);
         });
 
         assertThat(exception.getMessage())
                 .isEqualTo("Cannot update 'name' for device " + DEVICE_ID + " because its state is IN_USE.");
-        verify(deviceRepository, times(1)).findById(DEVICE_ID);
-        verify(deviceRepository, never()).save(any());
+        verify(eventPublisher, never()).publishEvent(any(DeviceChangeEvent.class));
     }
 
     @Test
-    void update_ShouldAllowStateUpdate_WhenDeviceIsInUseButNameAndBrandUnchanged() {
+    void update_ShouldThrowDeviceNotFoundException_WhenDeviceDoesNotExist() {
         // Given
-        Device inUseDevice = createSavedDevice();
-        inUseDevice.setState(DeviceState.IN_USE);
-        DeviceUpdateRequest updateRequest = new DeviceUpdateRequest(
-                DEVICE_NAME, // Same name
-                DEVICE_BRAND, // Same brand
-                DeviceState.AVAILABLE // Different state
-        );
-        Device updatedDevice = createSavedDevice();
-        updatedDevice.setState(DeviceState.AVAILABLE);
-        DeviceResponse updatedResponse = new DeviceResponse(
-                DEVICE_ID,
-                DEVICE_NAME,
-                DEVICE_BRAND,
-                DeviceState.AVAILABLE,
-                Instant.now()
-        );
+        DeviceUpdateRequest updateRequest = new DeviceUpdateRequest(DEVICE_NAME, DEVICE_BRAND, DeviceState.INACTIVE);
 
-        when(deviceRepository.findById(DEVICE_ID)).thenReturn(java.util.Optional.of(inUseDevice));
-        when(deviceRepository.save(any(Device.class))).thenReturn(updatedDevice);
-        when(mapper.toResponse(updatedDevice)).thenReturn(updatedResponse);
+        when(deviceRepository.updateIfMatches(DEVICE_ID, null, DEVICE_NAME, DEVICE_BRAND, DeviceState.INACTIVE))
+                .thenReturn(Optional.empty());
+        when(deviceRepository.findResponseById(DEVICE_ID)).thenReturn(Optional.empty());
 
-        // When
-        DeviceResponse result = deviceService.update(DEVICE_ID, updateRequest);
+        // When & Then
+        DeviceNotFoundException exception = assertThrows(DeviceNotFoundException.class, () -> {
+            deviceService.update(DEVICE_ID, null, updateRequest);
+        });
 
-        // Then
-        assertThat(result).isNotNull();
-        assertThat(result.state()).isEqualTo(DeviceState.AVAILABLE);
-        verify(deviceRepository, times(1)).findById(DEVICE_ID);
-        verify(deviceRepository, times(1)).save(any(Device.class));
-        verify(mapper, times(1)).toResponse(updatedDevice);
+        assertThat(exception.getMessage()).isEqualTo("Device not found with id: " + DEVICE_ID);
+    }
+
+    @Test
+    void update_ShouldThrowDeviceVersionMismatchException_WhenExpectedVersionIsStale() {
+        // Given
+        DeviceResponse changedDevice = new DeviceResponse(DEVICE_ID, DEVICE_NAME, DEVICE_BRAND, DEVICE_STATE, Instant.now(), 4L);
+        DeviceUpdateRequest updateRequest = new DeviceUpdateRequest(DEVICE_NAME, DEVICE_BRAND, DeviceState.INACTIVE);
+
+        when(deviceRepository.updateIfMatches(DEVICE_ID, 3L, DEVICE_NAME, DEVICE_BRAND, DeviceState.INACTIVE))
+                .thenReturn(Optional.empty());
+        when(deviceRepository.findResponseById(DEVICE_ID)).thenReturn(Optional.of(changedDevice));
+
+        // When & Then
+        assertThrows(DeviceVersionMismatchException.class, () -> {
+            deviceService.update(DEVICE_ID, 3L, updateRequest);
+        });
+
+        verify(eventPublisher, never()).publishEvent(any(DeviceChangeEvent.class));
     }
 
     @Test
@@ -685,124 +806,90 @@ class DeviceServiceUnitTest {
                 "Samsung",
                 null
         );
-        Device updatedDevice = createSavedDevice();
-        updatedDevice.setBrand("Samsung");
         DeviceResponse updatedResponse = new DeviceResponse(
                 DEVICE_ID,
                 DEVICE_NAME, // unchanged
                 "Samsung", // updated
                 DEVICE_STATE, // unchanged
-                Instant.now()
+                Instant.now(),
+                1L
         );
 
-        when(deviceRepository.findById(DEVICE_ID)).thenReturn(java.util.Optional.of(savedDevice));
-        when(deviceRepository.save(any(Device.class))).thenReturn(updatedDevice);
-        when(mapper.toResponse(updatedDevice)).thenReturn(updatedResponse);
+        when(deviceRepository.updateIfMatches(DEVICE_ID, null, null, "Samsung", null))
+                .thenReturn(Optional.of(new DeviceRowChange(expectedResponse, updatedResponse)));
 
         // When
-        DeviceResponse result = deviceService.partialUpdate(DEVICE_ID, updateRequest);
+        DeviceResponse result = deviceService.partialUpdate(DEVICE_ID, null, updateRequest);
 
         // Then
         assertThat(result).isNotNull();
         assertThat(result.name()).isEqualTo(DEVICE_NAME); // unchanged
         assertThat(result.brand()).isEqualTo("Samsung"); // updated
         assertThat(result.state()).isEqualTo(DEVICE_STATE); // unchanged
-        verify(deviceRepository, times(1)).findById(DEVICE_ID);
-        verify(deviceRepository, times(1)).save(any(Device.class));
+        verify(deviceRepository, never()).findResponseById(any());
+        verify(deviceRepository, never()).save(any());
+    }
+
+    @Test
+    void partialUpdate_ShouldPassExpectedVersion_ToConditionalUpdate() {
+        // Given
+        DeviceUpdateRequest updateRequest = new DeviceUpdateRequest(null, null, DeviceState.INACTIVE);
+        DeviceResponse updatedResponse = new DeviceResponse(
+                DEVICE_ID, DEVICE_NAME, DEVICE_BRAND, DeviceState.INACTIVE, Instant.now(), 8L);
+
+        when(deviceRepository.updateIfMatches(DEVICE_ID, 7L, null, null, DeviceState.INACTIVE))
+                .thenReturn(Optional.of(new DeviceRowChange(expectedResponse, updatedResponse)));
+
+        // When
+        DeviceResponse result = deviceService.partialUpdate(DEVICE_ID, 7L, updateRequest);
+
+        // Then
+        assertThat(result.version()).isEqualTo(8L);
     }
 
     @Test
     void partialUpdate_ShouldThrowException_WhenUpdatingNameOfInUseDevice() {
         // Given
-        Device inUseDevice = createSavedDevice();
-        inUseDevice.setState(DeviceState.IN_USE);
+        DeviceResponse inUseDevice = createInUseResponse();
         DeviceUpdateRequest updateRequest = new DeviceUpdateRequest(
                 "New Name", // trying to change name
                 null,
                 null
         );
 
-        when(deviceRepository.findById(DEVICE_ID)).thenReturn(java.util.Optional.of(inUseDevice));
+        when(deviceRepository.updateIfMatches(DEVICE_ID, null, "New Name", null, null)).thenReturn(Optional.empty());
+        when(deviceRepository.findResponseById(DEVICE_ID)).thenReturn(Optional.of(inUseDevice));
 
         // When & Then
         DeviceUpdateValidationException exception = assertThrows(DeviceUpdateValidationException.class, () -> {
-            deviceService.partialUpdate(DEVICE_ID, updateRequest);
+            deviceService.partialUpdate(DEVICE_ID, null, updateRequest);
         });
 
         assertThat(exception.getMessage())
                 .isEqualTo("Cannot update 'name' for device " + DEVICE_ID + " because its state is IN_USE.");
-        verify(deviceRepository, times(1)).findById(DEVICE_ID);
         verify(deviceRepository, never()).save(any());
     }
 
     @Test
-    void partialUpdate_ShouldAllowStateUpdate_WhenDeviceIsInUse() {
+    void partialUpdate_ShouldThrowException_WhenUpdatingBrandOfInUseDevice() {
         // Given
-        Device inUseDevice = createSavedDevice();
-        inUseDevice.setState(DeviceState.IN_USE);
-        DeviceUpdateRequest updateRequest = new DeviceUpdateRequest(
-                null, // not changing name
-                null, // not changing brand
-                DeviceState.AVAILABLE // only changing state
-        );
-        Device updatedDevice = createSavedDevice();
-        updatedDevice.setState(DeviceState.AVAILABLE);
-        DeviceResponse updatedResponse = new DeviceResponse(
-                DEVICE_ID,
-                DEVICE_NAME,
-                DEVICE_BRAND,
-                DeviceState.AVAILABLE,
-                Instant.now()
-        );
-
-        when(deviceRepository.findById(DEVICE_ID)).thenReturn(java.util.Optional.of(inUseDevice));
-        when(deviceRepository.save(any(Device.class))).thenReturn(updatedDevice);
-        when(mapper.toResponse(updatedDevice)).thenReturn(updatedResponse);
-
-        // When
-        DeviceResponse result = deviceService.partialUpdate(DEVICE_ID, updateRequest);
-
-        // Then
-        assertThat(result).isNotNull();
-        assertThat(result.state()).isEqualTo(DeviceState.AVAILABLE);
-        verify(deviceRepository, times(1)).findById(DEVICE_ID);
-        verify(deviceRepository, times(1)).save(any(Device.class));
-    }
-
-    @Test
-    void partialUpdate_ShouldAllowSameNameAndBrand_WhenDeviceIsInUse() {
-        // Given
-        Device inUseDevice = createSavedDevice();
-        inUseDevice.setState(DeviceState.IN_USE);
+        DeviceResponse inUseDevice = createInUseResponse();
         DeviceUpdateRequest updateRequest = new DeviceUpdateRequest(
                 DEVICE_NAME, // same name
-                DEVICE_BRAND, // same brand
-                DeviceState.INACTIVE // changing state
-        );
-        Device updatedDevice = createSavedDevice();
-        updatedDevice.setState(DeviceState.INACTIVE);
-        DeviceResponse updatedResponse = new DeviceResponse(
-                DEVICE_ID,
-                DEVICE_NAME,
-                DEVICE_BRAND,
-                DeviceState.INACTIVE,
-                Instant.now()
+                "Samsung", // trying to change brand
+                null
         );
 
-        when(deviceRepository.findById(DEVICE_ID)).thenReturn(java.util.Optional.of(inUseDevice));
-        when(deviceRepository.save(any(Device.class))).thenReturn(updatedDevice);
-        when(mapper.toResponse(updatedDevice)).thenReturn(updatedResponse);
+        when(deviceRepository.updateIfMatches(DEVICE_ID, null, DEVICE_NAME, "Samsung", null)).thenReturn(Optional.empty());
+        when(deviceRepository.findResponseById(DEVICE_ID)).thenReturn(Optional.of(inUseDevice));
 
-        // When
-        DeviceResponse result = deviceService.partialUpdate(DEVICE_ID, updateRequest);
+        // When & Then
+        DeviceUpdateValidationException exception = assertThrows(DeviceUpdateValidationException.class, () -> {
+            deviceService.partialUpdate(DEVICE_ID, null, updateRequest);
+        });
 
-        // Then
-        assertThat(result).isNotNull();
-        assertThat(result.name()).isEqualTo(DEVICE_NAME);
-        assertThat(result.brand()).isEqualTo(DEVICE_BRAND);
-        assertThat(result.state()).isEqualTo(DeviceState.INACTIVE);
-        verify(deviceRepository, times(1)).findById(DEVICE_ID);
-        verify(deviceRepository, times(1)).save(any(Device.class));
+        assertThat(exception.getMessage())
+                .isEqualTo("Cannot update 'brand' for device " + DEVICE_ID + " because its state is IN_USE.");
     }
 
     private DeviceCreateRequest createDeviceRequestWithState() {
@@ -849,7 +936,11 @@ class DeviceServiceUnitTest {
     }
 
     private DeviceResponse createExpectedResponse() {
-        return new DeviceResponse(DEVICE_ID, DEVICE_NAME, DEVICE_BRAND, DEVICE_STATE, Instant.now());
+        return new DeviceResponse(DEVICE_ID, DEVICE_NAME, DEVICE_BRAND, DEVICE_STATE, Instant.now(), 0L);
+    }
+
+    private DeviceResponse createInUseResponse() {
+        return new DeviceResponse(DEVICE_ID, DEVICE_NAME, DEVICE_BRAND, DeviceState.IN_USE, Instant.now(), 0L);
     }
 
     private Device createSecondDevice(UUID deviceIdTwo) {
@@ -879,7 +970,20 @@ class DeviceServiceUnitTest {
                 device.getName(),
                 device.getBrand(),
                 device.getState(),
-                device.getCreatedAt()
+                device.getCreatedAt(),
+                device.getVersion()
+        );
+    }
+
+    private DeviceResponse createThirdDeviceResponse(UUID deviceIdThree) {
+        Device device = createThirdDevice(deviceIdThree);
+        return new DeviceResponse(
+                device.getId(),
+                device.getName(),
+                device.getBrand(),
+                device.getState(),
+                device.getCreatedAt(),
+                device.getVersion()
         );
     }
 
@@ -900,7 +1004,8 @@ class DeviceServiceUnitTest {
                 device.getName(),
                 device.getBrand(),
                 device.getState(),
-                device.getCreatedAt()
+                device.getCreatedAt(),
+                device.getVersion()
         );
     }
 }
@@ -0,0 +1,103 @@
+package org.management.devices.unit;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.management.devices.config.DeviceStatsProperties;
+import org.management.devices.domain.DeviceState;
+import org.management.devices.dto.DeviceResponse;
+import org.management.devices.dto.DeviceStatsResponse;
+import org.management.devices.event.DeviceChangeEvent;
+import org.management.devices.repository.DeviceCount;
+import org.management.devices.repository.DeviceRepository;
+import org.management.devices.stats.DeviceStatistics;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.scheduling.TaskScheduler;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class DeviceStatisticsUnitTest {
+
+    @Mock
+    private DeviceRepository deviceRepository;
+
+    @Mock
+    private TaskScheduler taskScheduler;
+
+    private DeviceStatistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        statistics = new DeviceStatistics(deviceRepository, new DeviceStatsProperties(Duration.ofMinutes(5)), taskScheduler);
+    }
+
+    @Test
+    void snapshot_ShouldCountCreatedDevices_PerBrandAndState() {
+        // Given
+        statistics.onDeviceChange(DeviceChangeEvent.created(device("Apple", DeviceState.AVAILABLE)));
+        statistics.onDeviceChange(DeviceChangeEvent.created(device("Apple", DeviceState.IN_USE)));
+        statistics.onDeviceChange(DeviceChangeEvent.created(device("Samsung", DeviceState.AVAILABLE)));
+
+        // When
+        DeviceStatsResponse stats = statistics.snapshot();
+
+        // Then
+        assertThat(stats.total()).isEqualTo(3);
+        assertThat(stats.byBrand()).containsEntry("Apple", 2L).containsEntry("Samsung", 1L);
+        assertThat(stats.byState())
+                .containsEntry(DeviceState.AVAILABLE, 2L)
+                .containsEntry(DeviceState.IN_USE, 1L)
+                .containsEntry(DeviceState.INACTIVE, 0L);
+    }
+
+    @Test
+    void snapshot_ShouldMoveDevice_WhenUpdatedAndDropIt_WhenDeleted() {
+        // Given
+        DeviceResponse apple = device("Apple", DeviceState.AVAILABLE);
+        DeviceResponse rebranded = new DeviceResponse(apple.id(), apple.name(), "Samsung", DeviceState.INACTIVE,
+                apple.createdAt(), apple.version() + 1);
+        statistics.onDeviceChange(DeviceChangeEvent.created(apple));
+        statistics.onDeviceChange(DeviceChangeEvent.created(device("Google", DeviceState.IN_USE)));
+
+        // When
+        statistics.onDeviceChange(DeviceChangeEvent.updated(apple, rebranded));
+        statistics.onDeviceChange(DeviceChangeEvent.deleted(rebranded));
+        DeviceStatsResponse stats = statistics.snapshot();
+
+        // Then
+        assertThat(stats.total()).isEqualTo(1);
+        assertThat(stats.byBrand()).containsOnlyKeys("Google");
+        assertThat(stats.byState()).containsEntry(DeviceState.AVAILABLE, 0L).containsEntry(DeviceState.INACTIVE, 0L);
+    }
+
+    @Test
+    void reconcile_ShouldCorrectDrift_FromWritesNotObserved() {
+        // Given
+        statistics.onDeviceChange(DeviceChangeEvent.created(device("Apple", DeviceState.AVAILABLE)));
+        statistics.onDeviceChange(DeviceChangeEvent.created(device("Nokia", DeviceState.INACTIVE)));
+        when(deviceRepository.countByBrandAndState()).thenReturn(List.of(
+                new DeviceCount("Apple", DeviceState.AVAILABLE, 5),
+                new DeviceCount("Samsung", DeviceState.IN_USE, 2)));
+
+        // When
+        statistics.reconcile();
+        DeviceStatsResponse stats = statistics.snapshot();
+
+        // Then
+        assertThat(stats.total()).isEqualTo(7);
+        assertThat(stats.byBrand()).containsOnlyKeys("Apple", "Samsung");
+        assertThat(stats.reconciledAt()).isNotNull();
+    }
+
+    private DeviceResponse device(String brand, DeviceState state) {
+        return new DeviceResponse(UUID.randomUUID(), "Device", brand, state, Instant.now(), 0L);
+    }
+}